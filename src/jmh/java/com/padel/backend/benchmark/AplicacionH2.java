@@ -0,0 +1,81 @@
+package com.padel.backend.benchmark;
+
+import com.padel.backend.ReservasPadelApp;
+import com.padel.backend.domain.Cancha;
+import com.padel.backend.domain.Reserva;
+import com.padel.backend.domain.Usuario;
+import com.padel.backend.repository.CanchaRepository;
+import com.padel.backend.repository.ReservaRepository;
+import com.padel.backend.repository.UsuarioRepository;
+import com.padel.backend.service.ProcesoReservaService;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Levanta la aplicación completa (perfiles de test) contra una base H2 en memoria y carga
+ * una cancha, un usuario y un día de reservas. Se comparte entre todos los hilos del benchmark.
+ */
+@State(Scope.Benchmark)
+public class AplicacionH2 {
+
+    static final LocalDate FECHA_OCUPADA = LocalDate.of(2030, 1, 7);
+
+    ConfigurableApplicationContext contexto;
+
+    ProcesoReservaService procesoReservaService;
+
+    Long canchaId;
+
+    Long usuarioId;
+
+    Long reservaId;
+
+    @Setup(Level.Trial)
+    public void iniciar() {
+        contexto = new SpringApplicationBuilder(ReservasPadelApp.class)
+            .profiles("test", "testdev")
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:jmh;DB_CLOSE_DELAY=-1",
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "logging.level.ROOT=WARN",
+                "logging.level.com.padel.backend=WARN"
+            )
+            .run();
+        procesoReservaService = contexto.getBean(ProcesoReservaService.class);
+
+        Cancha cancha = contexto.getBean(CanchaRepository.class).save(new Cancha().nombre("Cancha benchmark").precio(BigDecimal.TEN));
+        Usuario usuario = contexto.getBean(UsuarioRepository.class).save(new Usuario().nombre("Jugador").email("jmh@padel.test"));
+        canchaId = cancha.getId();
+        usuarioId = usuario.getId();
+
+        // Un día completo con reservas de una hora, de 8 a 22
+        List<Reserva> reservas = new ArrayList<>();
+        for (int hora = 8; hora < 22; hora++) {
+            reservas.add(
+                new Reserva()
+                    .fecha(FECHA_OCUPADA)
+                    .horaInicio(LocalTime.of(hora, 0))
+                    .horaFin(LocalTime.of(hora + 1, 0))
+                    .cancha(cancha)
+                    .usuario(usuario)
+            );
+        }
+        reservaId = contexto.getBean(ReservaRepository.class).saveAll(reservas).get(0).getId();
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        contexto.close();
+    }
+}
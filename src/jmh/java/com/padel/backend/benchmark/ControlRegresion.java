@@ -0,0 +1,81 @@
+package com.padel.backend.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compara un resultado de JMH (formato JSON) contra una corrida de referencia y termina con
+ * código 1 si algún benchmark empeoró más que la tolerancia.
+ * <p>
+ * Uso: {@code ControlRegresion <resultado.json> <tolerancia> [referencia.json]}. Sin referencia
+ * sólo informa los resultados. Los benchmarks que no están en ambas corridas se ignoran.
+ */
+public final class ControlRegresion {
+
+    private ControlRegresion() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Uso: ControlRegresion <resultado.json> <tolerancia> [referencia.json]");
+            System.exit(2);
+        }
+        ObjectMapper mapper = new ObjectMapper();
+        Map<String, JsonNode> actuales = indexar(mapper.readTree(Path.of(args[0]).toFile()));
+        double tolerancia = Double.parseDouble(args[1]);
+        if (args.length < 3 || args[2].isBlank()) {
+            System.out.println("Sin resultado de referencia: no se controlan regresiones (" + actuales.size() + " benchmarks).");
+            return;
+        }
+        Map<String, JsonNode> referencias = indexar(mapper.readTree(Path.of(args[2]).toFile()));
+
+        int regresiones = 0;
+        for (Map.Entry<String, JsonNode> entrada : actuales.entrySet()) {
+            JsonNode referencia = referencias.get(entrada.getKey());
+            if (referencia == null) {
+                continue;
+            }
+            JsonNode actual = entrada.getValue();
+            double valor = actual.path("primaryMetric").path("score").asDouble();
+            double valorReferencia = referencia.path("primaryMetric").path("score").asDouble();
+            // En throughput más es mejor; en los modos de tiempo (avgt, sample, ss) menos es mejor
+            boolean masEsMejor = "thrpt".equals(actual.path("mode").asText());
+            double cambio = (valor - valorReferencia) / valorReferencia;
+            boolean empeoro = masEsMejor ? cambio < -tolerancia : cambio > tolerancia;
+            System.out.printf(
+                "%s %-80s %12.3f -> %12.3f %s (%+.1f%%)%n",
+                empeoro ? "REGRESION" : "ok       ",
+                entrada.getKey(),
+                valorReferencia,
+                valor,
+                actual.path("primaryMetric").path("scoreUnit").asText(),
+                cambio * 100
+            );
+            if (empeoro) {
+                regresiones++;
+            }
+        }
+        if (regresiones > 0) {
+            System.err.println(regresiones + " benchmark(s) empeoraron más de " + Math.round(tolerancia * 100) + "%");
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Clave: nombre del benchmark, modo y parámetros, para distinguir las variantes de un mismo {@code @Param}
+     * y los benchmarks que se miden en más de un modo.
+     */
+    private static Map<String, JsonNode> indexar(JsonNode resultados) {
+        Map<String, JsonNode> porClave = new LinkedHashMap<>();
+        for (JsonNode resultado : resultados) {
+            StringBuilder clave = new StringBuilder(resultado.path("benchmark").asText());
+            clave.append(' ').append(resultado.path("mode").asText());
+            resultado.path("params").fields().forEachRemaining(p -> clave.append(' ').append(p.getKey()).append('=').append(p.getValue().asText()));
+            porClave.put(clave.toString(), resultado);
+        }
+        return porClave;
+    }
+}
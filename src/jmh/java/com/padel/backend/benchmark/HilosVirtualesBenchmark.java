@@ -0,0 +1,133 @@
+package com.padel.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.padel.backend.ReservasPadelApp;
+import com.padel.backend.domain.Cancha;
+import com.padel.backend.domain.Reserva;
+import com.padel.backend.repository.CanchaRepository;
+import com.padel.backend.repository.ReservaRepository;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Hilos de plataforma contra hilos virtuales (perfil {@code virtual-threads}): 400 clientes concurrentes
+ * listan reservas por HTTP contra la aplicación completa (Tomcat real, H2 en memoria).
+ * <p>
+ * Cada sentencia JDBC demora {@code latenciaJdbcMs} (ver {@link LatenciaJdbc}), como una base remota;
+ * con 0 se mide sólo el costo de cada modelo de hilos. Los dos modos usan el mismo pool de Hikari,
+ * el del perfil {@code virtual-threads}, para que la única diferencia sea quién atiende el pedido.
+ * <p>
+ * Throughput en pedidos por milisegundo y latencia con percentiles (modo sample). Los hilos
+ * virtuales necesitan Java 21: {@code ./mvnw -Pdev,jmh,java21 -DskipTests verify -Djmh.includes=HilosVirtualesBenchmark}.
+ */
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(400)
+@State(Scope.Benchmark)
+public class HilosVirtualesBenchmark {
+
+    private static final LocalDate FECHA = LocalDate.of(2030, 1, 7);
+
+    @Param({ "false", "true" })
+    public boolean hilosVirtuales;
+
+    @Param({ "0", "5" })
+    public long latenciaJdbcMs;
+
+    private ConfigurableApplicationContext contexto;
+
+    private HttpClient cliente;
+
+    private HttpRequest listar;
+
+    @Setup(Level.Trial)
+    public void iniciar() throws Exception {
+        if (hilosVirtuales && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("Los hilos virtuales necesitan Java 21 (perfil Maven java21)");
+        }
+        LatenciaJdbc.demoraMs = 0;
+        contexto = new SpringApplicationBuilder(ReservasPadelApp.class)
+            .profiles("test", "testdev")
+            .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new LatenciaJdbc()))
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:jmh-http;DB_CLOSE_DELAY=-1",
+                "spring.threads.virtual.enabled=" + hilosVirtuales,
+                "spring.datasource.hikari.maximum-pool-size=20",
+                "spring.datasource.hikari.minimum-idle=20",
+                "server.port=0",
+                "spring.main.banner-mode=off",
+                "logging.level.ROOT=WARN",
+                "logging.level.com.padel.backend=WARN"
+            )
+            .run();
+
+        Cancha cancha = contexto.getBean(CanchaRepository.class).save(new Cancha().nombre("Cancha benchmark").precio(BigDecimal.TEN));
+        List<Reserva> reservas = new ArrayList<>();
+        for (int hora = 8; hora < 22; hora++) {
+            reservas.add(new Reserva().fecha(FECHA).horaInicio(LocalTime.of(hora, 0)).horaFin(LocalTime.of(hora + 1, 0)).cancha(cancha));
+        }
+        contexto.getBean(ReservaRepository.class).saveAll(reservas);
+
+        String base = "http://localhost:" + ((ServletWebServerApplicationContext) contexto).getWebServer().getPort();
+        cliente = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        ObjectMapper mapper = contexto.getBean(ObjectMapper.class);
+        HttpResponse<String> login = cliente.send(
+            HttpRequest.newBuilder(URI.create(base + "/api/authenticate"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(mapper.writeValueAsString(Map.of("username", "admin", "password", "admin"))))
+                .build(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+        String token = mapper.readTree(login.body()).path("id_token").asText();
+        String filtro = "?canchaId=" + cancha.getId() + "&desde=" + FECHA + "&hasta=" + FECHA;
+        listar = HttpRequest.newBuilder(URI.create(base + "/api/reservas-proceso" + filtro))
+            .header("Authorization", "Bearer " + token)
+            .GET()
+            .build();
+        LatenciaJdbc.demoraMs = latenciaJdbcMs;
+    }
+
+    @TearDown(Level.Trial)
+    public void detener() {
+        LatenciaJdbc.demoraMs = 0;
+        contexto.close();
+    }
+
+    @Benchmark
+    public int listarReservas() throws Exception {
+        HttpResponse<String> respuesta = cliente.send(listar, HttpResponse.BodyHandlers.ofString());
+        if (respuesta.statusCode() != 200) {
+            throw new IllegalStateException("HTTP " + respuesta.statusCode());
+        }
+        return respuesta.body().length();
+    }
+}
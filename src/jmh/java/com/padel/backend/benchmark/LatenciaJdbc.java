@@ -0,0 +1,62 @@
+package com.padel.backend.benchmark;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.Set;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Agrega una demora fija a cada sentencia JDBC, como si la base estuviera en otra máquina: con H2 en
+ * memoria una consulta no bloquea nada y los hilos virtuales no tendrían qué aprovechar.
+ * <p>
+ * Envuelve el {@link DataSource} (el pool sigue siendo Hikari), así que la conexión queda tomada
+ * durante la demora igual que con una base remota.
+ */
+final class LatenciaJdbc implements BeanPostProcessor {
+
+    private static final Set<String> EJECUCIONES = Set.of("execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch");
+
+    /** Se activa recién con la aplicación levantada, para no demorar Liquibase. */
+    static volatile long demoraMs;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (metodo, resultado) ->
+                resultado instanceof Connection conexion ? proxy(Connection.class, conexion, LatenciaJdbc::envolverSentencia) : resultado
+            );
+        }
+        return bean;
+    }
+
+    private static Object envolverSentencia(Method metodo, Object resultado) {
+        // prepareCall devuelve un CallableStatement, que no se envuelve para no perder su interfaz
+        if (metodo.getName().equals("prepareStatement") && resultado instanceof PreparedStatement sentencia) {
+            return proxy(PreparedStatement.class, sentencia, (m, r) -> r);
+        }
+        return resultado;
+    }
+
+    private interface Envoltura {
+        Object aplicar(Method metodo, Object resultado) throws Exception;
+    }
+
+    private static <T> T proxy(Class<T> tipo, T destino, Envoltura envoltura) {
+        InvocationHandler handler = (proxy, metodo, args) -> {
+            if (tipo == PreparedStatement.class && EJECUCIONES.contains(metodo.getName()) && demoraMs > 0) {
+                Thread.sleep(demoraMs);
+            }
+            try {
+                return envoltura.aplicar(metodo, metodo.invoke(destino, args));
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+        return tipo.cast(Proxy.newProxyInstance(LatenciaJdbc.class.getClassLoader(), new Class<?>[] { tipo }, handler));
+    }
+}
@@ -0,0 +1,41 @@
+package com.padel.backend.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Costo de convertir los campos de texto de los DTO de reserva (fecha y horas).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ParseoBenchmark {
+
+    // No son constantes para que el JIT no pliegue el parseo
+    private String fecha = "2030-03-12";
+
+    private String hora = "18:30";
+
+    @Benchmark
+    public LocalDate parsearFecha() {
+        return LocalDate.parse(fecha);
+    }
+
+    @Benchmark
+    public LocalTime parsearHora() {
+        return LocalTime.parse(hora);
+    }
+}
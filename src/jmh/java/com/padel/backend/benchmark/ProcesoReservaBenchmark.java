@@ -0,0 +1,100 @@
+package com.padel.backend.benchmark;
+
+import com.padel.backend.service.dto.FiltroReservaDTO;
+import com.padel.backend.service.dto.ReservaRequestDTO;
+import com.padel.backend.service.dto.ReservaResponseDTO;
+import com.padel.backend.service.dto.ReservaValidacionDTO;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Camino caliente del proceso de reservas, con la aplicación completa sobre H2 en memoria.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProcesoReservaBenchmark {
+
+    private static final LocalDate PRIMER_DIA_LIBRE = LocalDate.of(2031, 1, 1);
+
+    // Franjas de una hora de 6 a 22: 16 por día
+    private static final int FRANJAS_POR_DIA = 16;
+
+    private final AtomicInteger siguienteFranja = new AtomicInteger();
+
+    private ReservaValidacionDTO validacionOcupada;
+
+    private ReservaValidacionDTO validacionLibre;
+
+    private FiltroReservaDTO filtroCancha;
+
+    @Setup
+    public void preparar(AplicacionH2 app) {
+        validacionOcupada = validacion(app.canchaId, AplicacionH2.FECHA_OCUPADA, LocalTime.of(10, 30), LocalTime.of(11, 30));
+        validacionLibre = validacion(app.canchaId, AplicacionH2.FECHA_OCUPADA.plusDays(1), LocalTime.of(10, 30), LocalTime.of(11, 30));
+        filtroCancha = new FiltroReservaDTO();
+        filtroCancha.setCanchaId(app.canchaId);
+        filtroCancha.setDesde(AplicacionH2.FECHA_OCUPADA);
+        filtroCancha.setHasta(AplicacionH2.FECHA_OCUPADA);
+    }
+
+    @Benchmark
+    public boolean validarDisponibilidadOcupada(AplicacionH2 app) {
+        return app.procesoReservaService.validarDisponibilidad(validacionOcupada);
+    }
+
+    @Benchmark
+    public boolean validarDisponibilidadLibre(AplicacionH2 app) {
+        return app.procesoReservaService.validarDisponibilidad(validacionLibre);
+    }
+
+    @Benchmark
+    public ReservaResponseDTO registrar(AplicacionH2 app) {
+        // Cada invocación reserva una franja nueva, así siempre se mide el camino exitoso
+        int n = siguienteFranja.getAndIncrement();
+        LocalTime inicio = LocalTime.of(6 + n % FRANJAS_POR_DIA, 0);
+        ReservaRequestDTO req = new ReservaRequestDTO();
+        req.setCanchaId(app.canchaId);
+        req.setUsuarioId(app.usuarioId);
+        req.setFecha(PRIMER_DIA_LIBRE.plusDays(n / FRANJAS_POR_DIA));
+        req.setHoraInicio(inicio);
+        req.setHoraFin(inicio.plusHours(1));
+        return app.procesoReservaService.registrar(req);
+    }
+
+    @Benchmark
+    public ReservaResponseDTO obtener(AplicacionH2 app) {
+        return app.procesoReservaService.obtener(app.reservaId);
+    }
+
+    @Benchmark
+    public List<ReservaResponseDTO> listarDia(AplicacionH2 app) {
+        return app.procesoReservaService.listar(filtroCancha, PageRequest.of(0, 20)).getContent();
+    }
+
+    private static ReservaValidacionDTO validacion(Long canchaId, LocalDate fecha, LocalTime inicio, LocalTime fin) {
+        ReservaValidacionDTO dto = new ReservaValidacionDTO();
+        dto.setCanchaId(canchaId);
+        dto.setFecha(fecha);
+        dto.setHoraInicio(inicio);
+        dto.setHoraFin(fin);
+        return dto;
+    }
+}
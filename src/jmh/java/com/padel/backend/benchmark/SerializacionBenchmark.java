@@ -0,0 +1,65 @@
+package com.padel.backend.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.padel.backend.service.dto.ReservaResponseDTO;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Serialización JSON de listados de {@link ReservaResponseDTO}, como los devuelve el listado paginado.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializacionBenchmark {
+
+    @Param({ "20", "200", "2000" })
+    private int cantidad;
+
+    private ObjectMapper mapper;
+
+    private List<ReservaResponseDTO> reservas;
+
+    @Setup
+    public void preparar() {
+        mapper = JsonMapper.builder().addModule(new JavaTimeModule()).build();
+        reservas = new ArrayList<>(cantidad);
+        LocalDate fecha = LocalDate.of(2030, 3, 12);
+        for (int i = 0; i < cantidad; i++) {
+            LocalTime inicio = LocalTime.of(8 + i % 14, 0);
+            ReservaResponseDTO dto = new ReservaResponseDTO();
+            dto.setId((long) i + 1);
+            dto.setFecha(fecha.plusDays(i / 14).toString());
+            dto.setHoraInicio(inicio.toString());
+            dto.setHoraFin(inicio.plusHours(1).toString());
+            dto.setCanchaId((long) i % 6 + 1);
+            dto.setUsuarioId((long) i % 100 + 1);
+            dto.setPagoId(i % 2 == 0 ? (long) i + 1 : null);
+            reservas.add(dto);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializarListado() throws Exception {
+        return mapper.writeValueAsBytes(reservas);
+    }
+}
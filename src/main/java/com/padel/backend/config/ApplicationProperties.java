@@ -1,5 +1,8 @@
 package com.padel.backend.config;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -13,12 +16,48 @@ public class ApplicationProperties {
 
     private final Liquibase liquibase = new Liquibase();
 
+    private final Cache cache = new Cache();
+
+    private final Async async = new Async();
+
+    private final Database database = new Database();
+
+    private final Hold hold = new Hold();
+
+    private final Idempotency idempotency = new Idempotency();
+
+    private final Payment payment = new Payment();
+
     // jhipster-needle-application-properties-property
 
     public Liquibase getLiquibase() {
         return liquibase;
     }
 
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Async getAsync() {
+        return async;
+    }
+
+    public Database getDatabase() {
+        return database;
+    }
+
+    public Hold getHold() {
+        return hold;
+    }
+
+    public Idempotency getIdempotency() {
+        return idempotency;
+    }
+
+    public Payment getPayment() {
+        return payment;
+    }
+
     // jhipster-needle-application-properties-property-getter
 
     public static class Liquibase {
@@ -33,5 +72,573 @@ public class ApplicationProperties {
             this.asyncStart = asyncStart;
         }
     }
+
+    /**
+     * Settings of the {@code taskExecutor} behind {@code @Async}; pool sizes stay under {@code spring.task.execution}.
+     */
+    public static class Async {
+
+        private RejectionPolicy rejectionPolicy = RejectionPolicy.CALLER_RUNS;
+
+        public RejectionPolicy getRejectionPolicy() {
+            return rejectionPolicy;
+        }
+
+        public void setRejectionPolicy(RejectionPolicy rejectionPolicy) {
+            this.rejectionPolicy = rejectionPolicy;
+        }
+
+        /**
+         * What to do with a task submitted while the pool and its queue are full.
+         */
+        public enum RejectionPolicy {
+            /** Run it on the submitting thread, which slows callers down (back-pressure). */
+            CALLER_RUNS,
+            /** Drop the oldest queued task to make room for the new one. */
+            DROP_OLDEST,
+            /** Throw a TaskRejectedException to the caller. */
+            FAIL,
+        }
+    }
+
+    /**
+     * Tentative reservations: {@code POST /api/reservas-proceso} holds the slot as PENDIENTE until it is paid
+     * or the hold expires, see {@code VencimientoReservas}.
+     */
+    public static class Hold {
+
+        /**
+         * How long an unpaid reservation keeps the slot.
+         */
+        private Duration duration = Duration.ofMinutes(10);
+
+        /**
+         * How often the expired holds are swept.
+         */
+        private Duration tick = Duration.ofSeconds(1);
+
+        /**
+         * Holds expired per update statement.
+         */
+        private int batchSize = 100;
+
+        /**
+         * How often the database is checked for expired holds this node is not tracking (created by a node
+         * that went down, for example).
+         */
+        private Duration recoveryInterval = Duration.ofMinutes(5);
+
+        public Duration getDuration() {
+            return duration;
+        }
+
+        public void setDuration(Duration duration) {
+            this.duration = duration;
+        }
+
+        public Duration getTick() {
+            return tick;
+        }
+
+        public void setTick(Duration tick) {
+            this.tick = tick;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getRecoveryInterval() {
+            return recoveryInterval;
+        }
+
+        public void setRecoveryInterval(Duration recoveryInterval) {
+            this.recoveryInterval = recoveryInterval;
+        }
+    }
+
+    /**
+     * Responses stored for the {@code Idempotency-Key} header of the booking and payment endpoints.
+     */
+    public static class Idempotency {
+
+        /**
+         * How long a key is remembered; a retry after that runs the request again.
+         */
+        private Duration ttl = Duration.ofHours(24);
+
+        /**
+         * A key whose request has not finished after this long (the node died mid-request) can be taken over.
+         */
+        private Duration inFlightTimeout = Duration.ofSeconds(30);
+
+        /**
+         * Larger responses are not stored: the key is released and a retry runs the request again.
+         */
+        private int maxResponseBytes = 8192;
+
+        /**
+         * Stored keys kept in the database; the oldest are purged beyond this.
+         */
+        private int maxEntries = 100_000;
+
+        public Duration getTtl() {
+            return ttl;
+        }
+
+        public void setTtl(Duration ttl) {
+            this.ttl = ttl;
+        }
+
+        public Duration getInFlightTimeout() {
+            return inFlightTimeout;
+        }
+
+        public void setInFlightTimeout(Duration inFlightTimeout) {
+            this.inFlightTimeout = inFlightTimeout;
+        }
+
+        public int getMaxResponseBytes() {
+            return maxResponseBytes;
+        }
+
+        public void setMaxResponseBytes(int maxResponseBytes) {
+            this.maxResponseBytes = maxResponseBytes;
+        }
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+    }
+
+    /**
+     * Dispatching of the payments outbox ({@code pago_evento}) to the payment gateway.
+     */
+    public static class Payment {
+
+        /**
+         * Gateway implementation; {@code local} approves every payment (development and tests).
+         */
+        private String gateway = "local";
+
+        /**
+         * How often the outbox is polled for due payments.
+         */
+        private Duration pollInterval = Duration.ofSeconds(1);
+
+        /**
+         * Payments taken (and locked) per poll.
+         */
+        private int batchSize = 50;
+
+        /**
+         * A taken payment is not handed to another node for this long; it must cover a whole batch of gateway calls.
+         */
+        private Duration lease = Duration.ofMinutes(2);
+
+        /**
+         * Gateway calls per payment before giving up.
+         */
+        private int maxAttempts = 8;
+
+        /**
+         * Wait after the first failed call, doubled on every retry up to {@code max-backoff}.
+         */
+        private Duration initialBackoff = Duration.ofSeconds(5);
+
+        private Duration maxBackoff = Duration.ofMinutes(10);
+
+        public String getGateway() {
+            return gateway;
+        }
+
+        public void setGateway(String gateway) {
+            this.gateway = gateway;
+        }
+
+        public Duration getPollInterval() {
+            return pollInterval;
+        }
+
+        public void setPollInterval(Duration pollInterval) {
+            this.pollInterval = pollInterval;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public Duration getLease() {
+            return lease;
+        }
+
+        public void setLease(Duration lease) {
+            this.lease = lease;
+        }
+
+        public int getMaxAttempts() {
+            return maxAttempts;
+        }
+
+        public void setMaxAttempts(int maxAttempts) {
+            this.maxAttempts = maxAttempts;
+        }
+
+        public Duration getInitialBackoff() {
+            return initialBackoff;
+        }
+
+        public void setInitialBackoff(Duration initialBackoff) {
+            this.initialBackoff = initialBackoff;
+        }
+
+        public Duration getMaxBackoff() {
+            return maxBackoff;
+        }
+
+        public void setMaxBackoff(Duration maxBackoff) {
+            this.maxBackoff = maxBackoff;
+        }
+    }
+
+    public static class Database {
+
+        private final Pool pool = new Pool();
+
+        public Pool getPool() {
+            return pool;
+        }
+
+        /**
+         * Defaults of the Hikari connection pool, see {@link HikariPoolDefaults}. Any value set explicitly
+         * under {@code spring.datasource.hikari} takes precedence over the derived one.
+         */
+        public static class Pool {
+
+            /**
+             * Cores of the database server, used to size the pool as {@code cores * 2 + effectiveSpindles}.
+             * 0 uses the cores of this host, which only fits when the database runs on a similar machine.
+             */
+            private int databaseCores = 0;
+
+            /**
+             * Disks the database can read from concurrently; 1 for a single SSD or a fully cached data set.
+             */
+            private int effectiveSpindles = 1;
+
+            /**
+             * Requests expected to need a connection at the same time; the pool never grows beyond it.
+             */
+            private int expectedConcurrency = 50;
+
+            /**
+             * Lower bound of the derived pool size.
+             */
+            private int minimumSize = 4;
+
+            /**
+             * How long a caller waits for a connection before failing (HTTP 503) instead of queueing.
+             */
+            private Duration connectionTimeout = Duration.ofSeconds(5);
+
+            /**
+             * Logs a warning with the stack of any connection held longer than this; 0 disables it.
+             */
+            private Duration leakDetectionThreshold = Duration.ofSeconds(60);
+
+            /**
+             * pgjdbc {@code prepareThreshold}: executions of a statement before it becomes a server-side
+             * prepared statement. 0 disables server-side preparing (needed behind PgBouncer in transaction mode).
+             */
+            private int prepareThreshold = 3;
+
+            /**
+             * pgjdbc {@code preparedStatementCacheQueries}: statements cached per connection.
+             */
+            private int preparedStatementCacheQueries = 512;
+
+            /**
+             * pgjdbc {@code preparedStatementCacheSizeMiB}: memory bound of that cache per connection.
+             */
+            private int preparedStatementCacheSizeMib = 10;
+
+            public int getDatabaseCores() {
+                return databaseCores;
+            }
+
+            public void setDatabaseCores(int databaseCores) {
+                this.databaseCores = databaseCores;
+            }
+
+            public int getEffectiveSpindles() {
+                return effectiveSpindles;
+            }
+
+            public void setEffectiveSpindles(int effectiveSpindles) {
+                this.effectiveSpindles = effectiveSpindles;
+            }
+
+            public int getExpectedConcurrency() {
+                return expectedConcurrency;
+            }
+
+            public void setExpectedConcurrency(int expectedConcurrency) {
+                this.expectedConcurrency = expectedConcurrency;
+            }
+
+            public int getMinimumSize() {
+                return minimumSize;
+            }
+
+            public void setMinimumSize(int minimumSize) {
+                this.minimumSize = minimumSize;
+            }
+
+            public Duration getConnectionTimeout() {
+                return connectionTimeout;
+            }
+
+            public void setConnectionTimeout(Duration connectionTimeout) {
+                this.connectionTimeout = connectionTimeout;
+            }
+
+            public Duration getLeakDetectionThreshold() {
+                return leakDetectionThreshold;
+            }
+
+            public void setLeakDetectionThreshold(Duration leakDetectionThreshold) {
+                this.leakDetectionThreshold = leakDetectionThreshold;
+            }
+
+            public int getPrepareThreshold() {
+                return prepareThreshold;
+            }
+
+            public void setPrepareThreshold(int prepareThreshold) {
+                this.prepareThreshold = prepareThreshold;
+            }
+
+            public int getPreparedStatementCacheQueries() {
+                return preparedStatementCacheQueries;
+            }
+
+            public void setPreparedStatementCacheQueries(int preparedStatementCacheQueries) {
+                this.preparedStatementCacheQueries = preparedStatementCacheQueries;
+            }
+
+            public int getPreparedStatementCacheSizeMib() {
+                return preparedStatementCacheSizeMib;
+            }
+
+            public void setPreparedStatementCacheSizeMib(int preparedStatementCacheSizeMib) {
+                this.preparedStatementCacheSizeMib = preparedStatementCacheSizeMib;
+            }
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Per-region overrides of the global {@code jhipster.cache.ehcache} settings, keyed by cache name.
+         * Names containing dots must be written in brackets, e.g. {@code "[com.padel.backend.domain.Cancha]"}.
+         */
+        private final Map<String, Region> regions = new LinkedHashMap<>();
+
+        private final Persistence persistence = new Persistence();
+
+        private final WarmUp warmUp = new WarmUp();
+
+        private final Cluster cluster = new Cluster();
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public Persistence getPersistence() {
+            return persistence;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public Cluster getCluster() {
+            return cluster;
+        }
+
+        /**
+         * Invalidation of the node-local caches across instances, over a PostgreSQL LISTEN/NOTIFY channel.
+         */
+        public static class Cluster {
+
+            private boolean enabled = false;
+
+            private String channel = "cache_invalidacion";
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public String getChannel() {
+                return channel;
+            }
+
+            public void setChannel(String channel) {
+                this.channel = channel;
+            }
+        }
+
+        /**
+         * Preloading of courts, schedules and the coming days once the application is ready.
+         */
+        public static class WarmUp {
+
+            private boolean enabled = true;
+
+            // Today plus the following days - 1
+            private int days = 7;
+
+            // Readiness stops waiting for the warm-up after this long
+            private long timeoutSeconds = 120;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public void setEnabled(boolean enabled) {
+                this.enabled = enabled;
+            }
+
+            public int getDays() {
+                return days;
+            }
+
+            public void setDays(int days) {
+                this.days = days;
+            }
+
+            public long getTimeoutSeconds() {
+                return timeoutSeconds;
+            }
+
+            public void setTimeoutSeconds(long timeoutSeconds) {
+                this.timeoutSeconds = timeoutSeconds;
+            }
+        }
+
+        /**
+         * Where regions with a disk tier keep their data. Without a directory no region can have a disk tier.
+         */
+        public static class Persistence {
+
+            private String directory;
+
+            // Keep the disk tier across restarts instead of starting with empty caches
+            private boolean warmRestart = false;
+
+            public String getDirectory() {
+                return directory;
+            }
+
+            public void setDirectory(String directory) {
+                this.directory = directory;
+            }
+
+            public boolean isWarmRestart() {
+                return warmRestart;
+            }
+
+            public void setWarmRestart(boolean warmRestart) {
+                this.warmRestart = warmRestart;
+            }
+        }
+
+        /**
+         * Sizing and expiry of a single cache region. Unset values fall back to the global Ehcache settings.
+         */
+        public static class Region {
+
+            // Heap tier sized by entry count...
+            private Long maxEntries;
+
+            // ...or by size in MB (takes precedence over maxEntries)
+            private Long heapMb;
+
+            private Long timeToLiveSeconds;
+
+            // Expire entries not read for this long (takes precedence over timeToLiveSeconds)
+            private Long timeToIdleSeconds;
+
+            // Optional off-heap tier behind the heap; values must be serializable
+            private Long offHeapMb;
+
+            // Optional disk tier behind heap and off-heap; requires cache.persistence.directory
+            private Long diskMb;
+
+            public Long getMaxEntries() {
+                return maxEntries;
+            }
+
+            public void setMaxEntries(Long maxEntries) {
+                this.maxEntries = maxEntries;
+            }
+
+            public Long getHeapMb() {
+                return heapMb;
+            }
+
+            public void setHeapMb(Long heapMb) {
+                this.heapMb = heapMb;
+            }
+
+            public Long getTimeToLiveSeconds() {
+                return timeToLiveSeconds;
+            }
+
+            public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+                this.timeToLiveSeconds = timeToLiveSeconds;
+            }
+
+            public Long getTimeToIdleSeconds() {
+                return timeToIdleSeconds;
+            }
+
+            public void setTimeToIdleSeconds(Long timeToIdleSeconds) {
+                this.timeToIdleSeconds = timeToIdleSeconds;
+            }
+
+            public Long getOffHeapMb() {
+                return offHeapMb;
+            }
+
+            public void setOffHeapMb(Long offHeapMb) {
+                this.offHeapMb = offHeapMb;
+            }
+
+            public Long getDiskMb() {
+                return diskMb;
+            }
+
+            public void setDiskMb(Long diskMb) {
+                this.diskMb = diskMb;
+            }
+        }
+    }
     // jhipster-needle-application-properties-property-class
 }
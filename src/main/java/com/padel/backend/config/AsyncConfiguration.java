@@ -1,14 +1,19 @@
 package com.padel.backend.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import java.util.concurrent.Executor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.boot.autoconfigure.thread.Threading;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -25,22 +30,57 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final Environment environment;
+
+    private final ApplicationProperties applicationProperties;
+
+    // Resolved lazily: AsyncConfigurer beans are created before the meter registry is fully configured
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public AsyncConfiguration(
+        TaskExecutionProperties taskExecutionProperties,
+        Environment environment,
+        ApplicationProperties applicationProperties,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.environment = environment;
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
     }
 
     @Override
     @Bean(name = "taskExecutor")
     public Executor getAsyncExecutor() {
+        AsyncExecutorMetrics metrics = new AsyncExecutorMetrics(meterRegistry.getObject(), "taskExecutor");
+        if (Threading.VIRTUAL.isActive(environment)) {
+            LOG.debug("Creating Async Task Executor on virtual threads");
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(taskExecutionProperties.getThreadNamePrefix());
+            executor.setVirtualThreads(true);
+            // No pool to bound the work any more: max-size becomes the limit of concurrent tasks,
+            // callers block once it is reached, so there is no queue and no rejection policy
+            executor.setConcurrencyLimit(taskExecutionProperties.getPool().getMaxSize());
+            executor.setTaskDecorator(metrics);
+            return new ExceptionHandlingAsyncTaskExecutor(executor);
+        }
         LOG.debug("Creating Async Task Executor");
+        int queueCapacity = taskExecutionProperties.getPool().getQueueCapacity();
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(taskExecutionProperties.getPool().getCoreSize());
         executor.setMaxPoolSize(taskExecutionProperties.getPool().getMaxSize());
-        executor.setQueueCapacity(taskExecutionProperties.getPool().getQueueCapacity());
+        executor.setQueueCapacity(queueCapacity);
         executor.setThreadNamePrefix(taskExecutionProperties.getThreadNamePrefix());
+        executor.setRejectedExecutionHandler(metrics.rejectionHandler(applicationProperties.getAsync().getRejectionPolicy()));
+        executor.setTaskDecorator(metrics);
+        metrics.bindTo(executor, queueCapacity);
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    @Bean
+    public AsyncTaskMetricsAspect asyncTaskMetricsAspect(MeterRegistry meterRegistry) {
+        return new AsyncTaskMetricsAspect(meterRegistry);
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -0,0 +1,135 @@
+package com.padel.backend.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Micrometer instrumentation of the {@code taskExecutor} used by {@code @Async} methods.
+ * <p>
+ * Publishes, tagged with the executor name:
+ * <ul>
+ *   <li>{@code executor.queued}, {@code executor.queue.remaining}, {@code executor.pool.size} and
+ *   {@code executor.active} gauges;</li>
+ *   <li>{@code executor.idle} (time spent in the queue) and {@code executor} (execution time) timers;</li>
+ *   <li>an {@code executor.rejected} counter, also tagged with the rejection policy that handled the task.</li>
+ * </ul>
+ * The names follow Micrometer's {@code ExecutorServiceMetrics}, so existing executor dashboards pick them up.
+ * {@link AsyncTaskMetricsAspect} adds the per-method breakdown.
+ */
+public class AsyncExecutorMetrics implements TaskDecorator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(AsyncExecutorMetrics.class);
+
+    private static final ThreadLocal<Long> QUEUE_WAIT_NANOS = new ThreadLocal<>();
+
+    private final MeterRegistry registry;
+
+    private final Tags tags;
+
+    private final Timer idle;
+
+    private final Timer execution;
+
+    private final AtomicInteger active = new AtomicInteger();
+
+    public AsyncExecutorMetrics(MeterRegistry registry, String name) {
+        this.registry = registry;
+        this.tags = Tags.of("name", name);
+        this.idle = Timer.builder("executor.idle").description("Time tasks spent waiting in the queue").tags(tags).register(registry);
+        this.execution = Timer.builder("executor").description("Task execution time").tags(tags).register(registry);
+        Gauge.builder("executor.active", active, AtomicInteger::get)
+            .description("Tasks currently running")
+            .tags(tags)
+            .baseUnit("threads")
+            .register(registry);
+    }
+
+    /**
+     * Publishes the queue and pool gauges of a thread pool executor.
+     */
+    public void bindTo(ThreadPoolTaskExecutor executor, int queueCapacity) {
+        Gauge.builder("executor.queued", executor, ThreadPoolTaskExecutor::getQueueSize)
+            .description("Tasks waiting in the queue")
+            .tags(tags)
+            .baseUnit("tasks")
+            .register(registry);
+        Gauge.builder("executor.queue.remaining", executor, e -> queueCapacity - e.getQueueSize())
+            .description("Free slots left in the queue")
+            .tags(tags)
+            .baseUnit("tasks")
+            .register(registry);
+        Gauge.builder("executor.pool.size", executor, ThreadPoolTaskExecutor::getPoolSize)
+            .description("Threads in the pool")
+            .tags(tags)
+            .baseUnit("threads")
+            .register(registry);
+        Gauge.builder("executor.pool.max", executor, ThreadPoolTaskExecutor::getMaxPoolSize)
+            .description("Maximum threads in the pool")
+            .tags(tags)
+            .baseUnit("threads")
+            .register(registry);
+    }
+
+    /**
+     * The rejection handler for the given policy, counting every task it handles.
+     */
+    public RejectedExecutionHandler rejectionHandler(ApplicationProperties.Async.RejectionPolicy policy) {
+        Counter rejected = Counter.builder("executor.rejected")
+            .description("Tasks submitted while the pool and its queue were full")
+            .tags(tags)
+            .tag("policy", policy.name().toLowerCase(Locale.ROOT))
+            .register(registry);
+        RejectedExecutionHandler handler =
+            switch (policy) {
+                case CALLER_RUNS -> new ThreadPoolExecutor.CallerRunsPolicy();
+                case DROP_OLDEST -> new ThreadPoolExecutor.DiscardOldestPolicy();
+                case FAIL -> new ThreadPoolExecutor.AbortPolicy();
+            };
+        return (task, executor) -> {
+            rejected.increment();
+            if (policy == ApplicationProperties.Async.RejectionPolicy.DROP_OLDEST) {
+                LOG.warn("Async executor saturated, dropping the oldest queued task");
+            }
+            handler.rejectedExecution(task, executor);
+        };
+    }
+
+    @Override
+    public Runnable decorate(Runnable task) {
+        long submitted = System.nanoTime();
+        return () -> {
+            long queueWait = System.nanoTime() - submitted;
+            idle.record(queueWait, TimeUnit.NANOSECONDS);
+            QUEUE_WAIT_NANOS.set(queueWait);
+            active.incrementAndGet();
+            try {
+                execution.record(task);
+            } finally {
+                active.decrementAndGet();
+                QUEUE_WAIT_NANOS.remove();
+            }
+        };
+    }
+
+    /**
+     * How long the task running on the current thread waited in the queue, or {@code null} when the
+     * current thread is not running a task of an instrumented executor.
+     */
+    static Duration currentQueueWait() {
+        Long nanos = QUEUE_WAIT_NANOS.get();
+        return nanos == null ? null : Duration.ofNanos(nanos);
+    }
+}
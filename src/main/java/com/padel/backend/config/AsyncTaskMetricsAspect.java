@@ -0,0 +1,53 @@
+package com.padel.backend.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Per-method breakdown of the {@code @Async} work (for example {@code MailService.sendActivationEmail}).
+ * <p>
+ * The async interceptor is the outermost advice of the proxy, so this one runs on the executor thread:
+ * it records {@code async.task} (execution time, tagged with the method and its outcome) and
+ * {@code async.task.queued} (time the task waited in the queue, see {@link AsyncExecutorMetrics}).
+ */
+@Aspect
+public class AsyncTaskMetricsAspect {
+
+    private final MeterRegistry registry;
+
+    public AsyncTaskMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("@annotation(org.springframework.scheduling.annotation.Async) && within(com.padel.backend..*)")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String task = joinPoint.getSignature().getDeclaringType().getSimpleName() + "." + joinPoint.getSignature().getName();
+        Duration queued = AsyncExecutorMetrics.currentQueueWait();
+        if (queued != null) {
+            Timer.builder("async.task.queued")
+                .description("Time @Async tasks waited in the queue")
+                .tag("task", task)
+                .register(registry)
+                .record(queued);
+        }
+        Timer.Sample sample = Timer.start(registry);
+        String outcome = "failure";
+        try {
+            Object result = joinPoint.proceed();
+            outcome = "success";
+            return result;
+        } finally {
+            sample.stop(
+                Timer.builder("async.task")
+                    .description("@Async task execution time")
+                    .tag("task", task)
+                    .tag("outcome", outcome)
+                    .register(registry)
+            );
+        }
+    }
+}
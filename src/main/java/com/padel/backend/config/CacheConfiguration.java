@@ -1,11 +1,22 @@
 package com.padel.backend.config;
 
+import java.nio.file.Path;
 import java.time.Duration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 import org.ehcache.config.builders.*;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.impl.config.persistence.CacheManagerPersistenceConfiguration;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.boot.info.BuildProperties;
 import org.springframework.boot.info.GitProperties;
@@ -19,22 +30,87 @@ import tech.jhipster.config.cache.PrefixedKeyGenerator;
 @EnableCaching
 public class CacheConfiguration {
 
+    private static final Logger LOG = LoggerFactory.getLogger(CacheConfiguration.class);
+
     private GitProperties gitProperties;
     private BuildProperties buildProperties;
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+    private final Map<String, ApplicationProperties.Cache.Region> regions;
+    private final ApplicationProperties.Cache.Persistence persistence;
     private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    private final Set<String> configuredCaches = new HashSet<>();
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.regions = applicationProperties.getCache().getRegions();
+        this.persistence = applicationProperties.getCache().getPersistence();
+        this.jcacheConfiguration = jcacheConfiguration(new ApplicationProperties.Cache.Region());
+    }
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache = jHipsterProperties.getCache().getEhcache();
+    /**
+     * Builds the configuration of a cache region, falling back to the global {@code jhipster.cache.ehcache}
+     * settings for anything the region does not set.
+     *
+     * @param region the region overrides from {@code application.cache.regions}.
+     * @return the JCache configuration.
+     */
+    private javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration(ApplicationProperties.Cache.Region region) {
+        ResourcePoolsBuilder pools = region.getHeapMb() != null
+            ? ResourcePoolsBuilder.newResourcePoolsBuilder().heap(region.getHeapMb(), MemoryUnit.MB)
+            : ResourcePoolsBuilder.heap(region.getMaxEntries() != null ? region.getMaxEntries() : ehcache.getMaxEntries());
+        if (region.getOffHeapMb() != null) {
+            pools = pools.offheap(region.getOffHeapMb(), MemoryUnit.MB);
+        }
+        if (region.getDiskMb() != null) {
+            if (persistence.getDirectory() == null) {
+                throw new IllegalStateException("A cache region with disk-mb requires application.cache.persistence.directory");
+            }
+            // Only a persistent disk tier survives a restart; otherwise it is emptied when the cache manager closes
+            pools = pools.disk(region.getDiskMb(), MemoryUnit.MB, persistence.isWarmRestart());
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, pools)
+                .withExpiry(
+                    region.getTimeToIdleSeconds() != null
+                        ? ExpiryPolicyBuilder.timeToIdleExpiration(Duration.ofSeconds(region.getTimeToIdleSeconds()))
+                        : ExpiryPolicyBuilder.timeToLiveExpiration(
+                            Duration.ofSeconds(
+                                region.getTimeToLiveSeconds() != null ? region.getTimeToLiveSeconds() : ehcache.getTimeToLiveSeconds()
+                            )
+                        )
+                )
+                .build()
+        );
+    }
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(
-                Object.class,
-                Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries())
-            )
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
+    /**
+     * Replaces Spring Boot's JCache manager when a persistence directory is configured, so that regions can
+     * have a disk tier. The manager is closed on shutdown, which is what lets a warm restart find the disk
+     * tier intact on the next start.
+     *
+     * @param customizers the cache customizers, applied as Spring Boot would.
+     * @return the Ehcache backed JCache manager.
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "application.cache.persistence", name = "directory")
+    public javax.cache.CacheManager jCacheCacheManager(ObjectProvider<JCacheManagerCustomizer> customizers) {
+        LOG.info(
+            "Cache disk tier in {} ({})",
+            persistence.getDirectory(),
+            persistence.isWarmRestart() ? "kept across restarts" : "emptied on shutdown"
+        );
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) javax.cache.Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName()
+        );
+        // Its own URI, so it is never confused with a default (heap only) manager of the same class loader
+        javax.cache.CacheManager cm = provider.getCacheManager(
+            Path.of(persistence.getDirectory()).toUri(),
+            ConfigurationBuilder.newConfigurationBuilder()
+                .withService(new CacheManagerPersistenceConfiguration(Path.of(persistence.getDirectory()).toFile()))
                 .build()
         );
+        customizers.orderedStream().forEach(customizer -> customizer.customize(cm));
+        return cm;
     }
 
     @Bean
@@ -53,12 +129,20 @@ public class CacheConfiguration {
             createCache(cm, com.padel.backend.domain.Usuario.class.getName());
             createCache(cm, com.padel.backend.domain.Usuario.class.getName() + ".reservas");
             createCache(cm, com.padel.backend.domain.Cancha.class.getName());
-            createCache(cm, com.padel.backend.domain.Cancha.class.getName() + ".reservas");
             createCache(cm, com.padel.backend.domain.Cancha.class.getName() + ".horarios");
             createCache(cm, com.padel.backend.domain.Horario.class.getName());
             createCache(cm, com.padel.backend.domain.Reserva.class.getName());
             createCache(cm, com.padel.backend.domain.Pago.class.getName());
+            createCache(cm, com.padel.backend.service.CacheDisponibilidad.GRILLA_CACHE);
+            createCache(cm, com.padel.backend.service.CacheDisponibilidad.HORARIOS_DEL_DIA_CACHE);
+            createCache(cm, com.padel.backend.service.CacheDisponibilidad.RESERVAS_DEL_DIA_CACHE);
+            createCache(cm, com.padel.backend.service.RegistroIdempotencia.CACHE);
             // jhipster-needle-ehcache-add-entry
+            regions
+                .keySet()
+                .stream()
+                .filter(name -> !configuredCaches.contains(name))
+                .forEach(name -> LOG.warn("Ignoring configuration of unknown cache region '{}'", name));
         };
     }
 
@@ -67,8 +151,12 @@ public class CacheConfiguration {
         if (cache != null) {
             cache.clear();
         } else {
-            cm.createCache(cacheName, jcacheConfiguration);
+            ApplicationProperties.Cache.Region region = regions.get(cacheName);
+            cm.createCache(cacheName, region != null ? jcacheConfiguration(region) : jcacheConfiguration);
         }
+        // Hit/miss/eviction counters, exposed to Micrometer as cache.gets, cache.puts and cache.evictions
+        cm.enableStatistics(cacheName, true);
+        configuredCaches.add(cacheName);
     }
 
     @Autowired(required = false)
@@ -31,6 +31,17 @@ public class DatabaseConfiguration {
         this.env = env;
     }
 
+    /**
+     * Size the Hikari pool from the database cores and the expected concurrency, see {@link HikariPoolDefaults}.
+     *
+     * @param environment the environment holding {@code application.database.pool}.
+     * @return the post-processor applying the defaults to the pool.
+     */
+    @Bean
+    public static HikariPoolDefaults hikariPoolDefaults(Environment environment) {
+        return new HikariPoolDefaults(environment);
+    }
+
     /**
      * Open the TCP port for the H2 database, so it is available remotely.
      *
@@ -0,0 +1,104 @@
+package com.padel.backend.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+/**
+ * Applies the {@code application.database.pool} defaults to the Hikari pool before it opens its first connection.
+ * <p>
+ * The size follows the PostgreSQL rule of thumb {@code cores * 2 + effective spindles}: past that point extra
+ * connections only queue up inside the database, where the wait is not visible. It is capped by the expected
+ * concurrency and kept fixed (minimum idle = maximum), as Hikari recommends. Callers that get no connection within
+ * {@code connection-timeout} fail with a {@link java.sql.SQLTransientConnectionException}, which the REST layer
+ * turns into a 503 with {@code Retry-After} instead of letting requests pile up behind the pool.
+ * <p>
+ * On PostgreSQL it also sets the pgjdbc statement cache as data-source properties: the repository queries are a
+ * small fixed set run over and over, so they are server-side prepared after a few executions and kept per connection.
+ * <p>
+ * Anything set explicitly under {@code spring.datasource.hikari} (including {@code data-source-properties}) is left untouched.
+ */
+public class HikariPoolDefaults implements BeanPostProcessor {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HikariPoolDefaults.class);
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari.";
+
+    private static final String POSTGRESQL_URL_PREFIX = "jdbc:postgresql:";
+
+    private final Environment environment;
+
+    public HikariPoolDefaults(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof HikariDataSource dataSource) {
+            apply(dataSource);
+        }
+        return bean;
+    }
+
+    void apply(HikariDataSource dataSource) {
+        Binder binder = Binder.get(environment);
+        ApplicationProperties.Database.Pool pool = binder.bindOrCreate(
+            "application.database.pool",
+            ApplicationProperties.Database.Pool.class
+        );
+        if (!isSet(binder, "maximum-pool-size")) {
+            int size = poolSize(pool, Runtime.getRuntime().availableProcessors());
+            dataSource.setMaximumPoolSize(size);
+            if (!isSet(binder, "minimum-idle")) {
+                dataSource.setMinimumIdle(size);
+            }
+        }
+        if (!isSet(binder, "connection-timeout")) {
+            dataSource.setConnectionTimeout(pool.getConnectionTimeout().toMillis());
+        }
+        if (!isSet(binder, "leak-detection-threshold")) {
+            dataSource.setLeakDetectionThreshold(pool.getLeakDetectionThreshold().toMillis());
+        }
+        if (dataSource.getJdbcUrl() != null && dataSource.getJdbcUrl().startsWith(POSTGRESQL_URL_PREFIX)) {
+            addDataSourceProperty(dataSource, "prepareThreshold", pool.getPrepareThreshold());
+            addDataSourceProperty(dataSource, "preparedStatementCacheQueries", pool.getPreparedStatementCacheQueries());
+            addDataSourceProperty(dataSource, "preparedStatementCacheSizeMiB", pool.getPreparedStatementCacheSizeMib());
+        }
+        LOG.info(
+            "Hikari pool {}: maximum-pool-size={}, minimum-idle={}, connection-timeout={}ms, leak-detection-threshold={}ms",
+            dataSource.getPoolName() != null ? dataSource.getPoolName() : "(unnamed)",
+            dataSource.getMaximumPoolSize(),
+            dataSource.getMinimumIdle(),
+            dataSource.getConnectionTimeout(),
+            dataSource.getLeakDetectionThreshold()
+        );
+    }
+
+    /**
+     * {@code cores * 2 + effective spindles}, capped by the expected concurrency and never below the minimum size.
+     *
+     * @param pool the pool settings.
+     * @param hostCores the cores of this host, used when the database cores are not configured.
+     * @return the maximum pool size.
+     */
+    static int poolSize(ApplicationProperties.Database.Pool pool, int hostCores) {
+        int cores = pool.getDatabaseCores() > 0 ? pool.getDatabaseCores() : hostCores;
+        int size = Math.min(cores * 2 + pool.getEffectiveSpindles(), pool.getExpectedConcurrency());
+        return Math.max(size, pool.getMinimumSize());
+    }
+
+    private static void addDataSourceProperty(HikariDataSource dataSource, String name, int value) {
+        // Already bound from spring.datasource.hikari.data-source-properties
+        if (!dataSource.getDataSourceProperties().containsKey(name)) {
+            dataSource.addDataSourceProperty(name, String.valueOf(value));
+        }
+    }
+
+    private static boolean isSet(Binder binder, String property) {
+        return binder.bind(HIKARI_PREFIX + property, Bindable.of(String.class)).isBound();
+    }
+}
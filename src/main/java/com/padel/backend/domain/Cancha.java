@@ -1,5 +1,6 @@
 package com.padel.backend.domain;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
@@ -22,8 +23,8 @@ public class Cancha implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "canchaSequenceGenerator")
+    @SequenceGenerator(name = "canchaSequenceGenerator", sequenceName = "cancha_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -38,9 +39,10 @@ public class Cancha implements Serializable {
     @Column(name = "precio", precision = 21, scale = 2, nullable = false)
     private BigDecimal precio;
 
+    // Crece sin límite: sin cache de colección y fuera del JSON. Para leer las reservas de una cancha
+    // está la vista acotada por día o semana (ProcesoReservaService.reservasDeCanchaEnDia/EnSemana)
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "cancha")
-    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
-    @JsonIgnoreProperties(value = { "pago", "usuario", "cancha" }, allowSetters = true)
+    @JsonIgnore
     private Set<Reserva> reservas = new HashSet<>();
 
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "cancha")
@@ -0,0 +1,116 @@
+package com.padel.backend.domain;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * Una Idempotency-Key recibida y, cuando su pedido terminó, la respuesta que se devolvió.
+ * Sin cache de segundo nivel: {@link com.padel.backend.service.RegistroIdempotencia} guarda las respuestas en su región.
+ */
+@Entity
+@Table(name = "clave_idempotencia")
+public class ClaveIdempotencia implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Login del usuario y la clave que mandó, para que dos usuarios no compartan claves.
+     */
+    @Id
+    @Column(name = "clave", length = 320)
+    private String clave;
+
+    /**
+     * SHA-256 de la operación y el cuerpo del pedido.
+     */
+    @Column(name = "huella", length = 64, nullable = false)
+    private String huella;
+
+    @Column(name = "completada", nullable = false)
+    private boolean completada;
+
+    @Column(name = "respuesta", length = 16384)
+    private String respuesta;
+
+    @Column(name = "creada_en", nullable = false)
+    private Instant creadaEn;
+
+    @Column(name = "expira_en", nullable = false)
+    private Instant expiraEn;
+
+    public String getClave() {
+        return clave;
+    }
+
+    public void setClave(String clave) {
+        this.clave = clave;
+    }
+
+    public String getHuella() {
+        return huella;
+    }
+
+    public void setHuella(String huella) {
+        this.huella = huella;
+    }
+
+    public boolean isCompletada() {
+        return completada;
+    }
+
+    public void setCompletada(boolean completada) {
+        this.completada = completada;
+    }
+
+    public String getRespuesta() {
+        return respuesta;
+    }
+
+    public void setRespuesta(String respuesta) {
+        this.respuesta = respuesta;
+    }
+
+    public Instant getCreadaEn() {
+        return creadaEn;
+    }
+
+    public void setCreadaEn(Instant creadaEn) {
+        this.creadaEn = creadaEn;
+    }
+
+    public Instant getExpiraEn() {
+        return expiraEn;
+    }
+
+    public void setExpiraEn(Instant expiraEn) {
+        this.expiraEn = expiraEn;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ClaveIdempotencia)) {
+            return false;
+        }
+        return getClave() != null && getClave().equals(((ClaveIdempotencia) o).getClave());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "ClaveIdempotencia{" +
+            "clave='" + getClave() + "'" +
+            ", completada='" + isCompletada() + "'" +
+            ", creadaEn='" + getCreadaEn() + "'" +
+            ", expiraEn='" + getExpiraEn() + "'" +
+            "}";
+    }
+}
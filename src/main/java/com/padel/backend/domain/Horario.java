@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.time.LocalTime;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
@@ -20,8 +21,8 @@ public class Horario implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "horarioSequenceGenerator")
+    @SequenceGenerator(name = "horarioSequenceGenerator", sequenceName = "horario_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -37,6 +38,10 @@ public class Horario implements Serializable {
     @Column(name = "hora_fin", nullable = false)
     private LocalTime horaFin;
 
+    @DecimalMin(value = "0")
+    @Column(name = "multiplicador_precio", precision = 21, scale = 2)
+    private BigDecimal multiplicadorPrecio;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JsonIgnoreProperties(value = { "reservas", "horarios" }, allowSetters = true)
     private Cancha cancha;
@@ -95,6 +100,19 @@ public class Horario implements Serializable {
         this.horaFin = horaFin;
     }
 
+    public BigDecimal getMultiplicadorPrecio() {
+        return this.multiplicadorPrecio;
+    }
+
+    public Horario multiplicadorPrecio(BigDecimal multiplicadorPrecio) {
+        this.setMultiplicadorPrecio(multiplicadorPrecio);
+        return this;
+    }
+
+    public void setMultiplicadorPrecio(BigDecimal multiplicadorPrecio) {
+        this.multiplicadorPrecio = multiplicadorPrecio;
+    }
+
     public Cancha getCancha() {
         return this.cancha;
     }
@@ -135,6 +153,7 @@ public class Horario implements Serializable {
             ", dia='" + getDia() + "'" +
             ", horaInicio='" + getHoraInicio() + "'" +
             ", horaFin='" + getHoraFin() + "'" +
+            ", multiplicadorPrecio=" + getMultiplicadorPrecio() +
             "}";
     }
 }
@@ -1,6 +1,7 @@
 package com.padel.backend.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.padel.backend.domain.enumeration.EstadoPago;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
@@ -21,8 +22,8 @@ public class Pago implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pagoSequenceGenerator")
+    @SequenceGenerator(name = "pagoSequenceGenerator", sequenceName = "pago_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -34,6 +35,15 @@ public class Pago implements Serializable {
     @Column(name = "monto", precision = 21, scale = 2, nullable = false)
     private BigDecimal monto;
 
+    // Sin @NotNull: la validación corre antes de estadoPorDefecto y rechazaría los pedidos sin estado
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false)
+    private EstadoPago estado;
+
+    @Size(max = 255)
+    @Column(name = "referencia", length = 255)
+    private String referencia;
+
     @JsonIgnoreProperties(value = { "pago", "usuario", "cancha" }, allowSetters = true)
     @OneToOne(fetch = FetchType.LAZY, mappedBy = "pago")
     private Reserva reserva;
@@ -79,6 +89,32 @@ public class Pago implements Serializable {
         this.monto = monto;
     }
 
+    public EstadoPago getEstado() {
+        return this.estado;
+    }
+
+    public Pago estado(EstadoPago estado) {
+        this.setEstado(estado);
+        return this;
+    }
+
+    public void setEstado(EstadoPago estado) {
+        this.estado = estado;
+    }
+
+    public String getReferencia() {
+        return this.referencia;
+    }
+
+    public Pago referencia(String referencia) {
+        this.setReferencia(referencia);
+        return this;
+    }
+
+    public void setReferencia(String referencia) {
+        this.referencia = referencia;
+    }
+
     public Reserva getReserva() {
         return this.reserva;
     }
@@ -100,6 +136,15 @@ public class Pago implements Serializable {
 
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
+    // Sin estado explícito el pago ya está cobrado; el proceso de reserva lo crea PENDIENTE para la pasarela.
+    // (No va como valor inicial del campo: un PATCH sin estado lo pisaría)
+    @PrePersist
+    void estadoPorDefecto() {
+        if (estado == null) {
+            estado = EstadoPago.APROBADO;
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -124,6 +169,8 @@ public class Pago implements Serializable {
             "id=" + getId() +
             ", fecha='" + getFecha() + "'" +
             ", monto=" + getMonto() +
+            ", estado='" + getEstado() + "'" +
+            ", referencia='" + getReferencia() + "'" +
             "}";
     }
 }
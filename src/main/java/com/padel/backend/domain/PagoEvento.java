@@ -0,0 +1,175 @@
+package com.padel.backend.domain;
+
+import com.padel.backend.domain.enumeration.EstadoPagoEvento;
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Un pago a enviar a la pasarela (outbox): se escribe en la misma transacción que el {@link Pago} y
+ * {@link com.padel.backend.service.DespachoPagos} lo procesa después, fuera del pedido HTTP.
+ * Lleva el monto y la reserva para no tener que leer el pago al despacharlo.
+ */
+@Entity
+@Table(name = "pago_evento")
+public class PagoEvento implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pagoEventoSequenceGenerator")
+    @SequenceGenerator(name = "pagoEventoSequenceGenerator", sequenceName = "pago_evento_seq", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    @Column(name = "pago_id", nullable = false)
+    private Long pagoId;
+
+    @Column(name = "reserva_id", nullable = false)
+    private Long reservaId;
+
+    @Column(name = "monto", precision = 21, scale = 2, nullable = false)
+    private BigDecimal monto;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false)
+    private EstadoPagoEvento estado;
+
+    @Column(name = "intentos", nullable = false)
+    private int intentos;
+
+    /**
+     * Cuándo se puede tomar: al crearlo, al reintentar (con la espera) y mientras un nodo lo procesa (su plazo).
+     */
+    @Column(name = "proximo_intento", nullable = false)
+    private Instant proximoIntento;
+
+    @Column(name = "ultimo_error", length = 500)
+    private String ultimoError;
+
+    @Column(name = "creado_en", nullable = false)
+    private Instant creadoEn;
+
+    @Column(name = "procesado_en")
+    private Instant procesadoEn;
+
+    public static PagoEvento de(Pago pago, Long reservaId) {
+        PagoEvento evento = new PagoEvento();
+        evento.setPagoId(pago.getId());
+        evento.setReservaId(reservaId);
+        evento.setMonto(pago.getMonto());
+        evento.setEstado(EstadoPagoEvento.PENDIENTE);
+        evento.setProximoIntento(pago.getFecha());
+        evento.setCreadoEn(pago.getFecha());
+        return evento;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Long getPagoId() {
+        return pagoId;
+    }
+
+    public void setPagoId(Long pagoId) {
+        this.pagoId = pagoId;
+    }
+
+    public Long getReservaId() {
+        return reservaId;
+    }
+
+    public void setReservaId(Long reservaId) {
+        this.reservaId = reservaId;
+    }
+
+    public BigDecimal getMonto() {
+        return monto;
+    }
+
+    public void setMonto(BigDecimal monto) {
+        this.monto = monto;
+    }
+
+    public EstadoPagoEvento getEstado() {
+        return estado;
+    }
+
+    public void setEstado(EstadoPagoEvento estado) {
+        this.estado = estado;
+    }
+
+    public int getIntentos() {
+        return intentos;
+    }
+
+    public void setIntentos(int intentos) {
+        this.intentos = intentos;
+    }
+
+    public Instant getProximoIntento() {
+        return proximoIntento;
+    }
+
+    public void setProximoIntento(Instant proximoIntento) {
+        this.proximoIntento = proximoIntento;
+    }
+
+    public String getUltimoError() {
+        return ultimoError;
+    }
+
+    public void setUltimoError(String ultimoError) {
+        this.ultimoError = ultimoError;
+    }
+
+    public Instant getCreadoEn() {
+        return creadoEn;
+    }
+
+    public void setCreadoEn(Instant creadoEn) {
+        this.creadoEn = creadoEn;
+    }
+
+    public Instant getProcesadoEn() {
+        return procesadoEn;
+    }
+
+    public void setProcesadoEn(Instant procesadoEn) {
+        this.procesadoEn = procesadoEn;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PagoEvento)) {
+            return false;
+        }
+        return getId() != null && getId().equals(((PagoEvento) o).getId());
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    // prettier-ignore
+    @Override
+    public String toString() {
+        return "PagoEvento{" +
+            "id=" + getId() +
+            ", pagoId=" + getPagoId() +
+            ", estado='" + getEstado() + "'" +
+            ", intentos=" + getIntentos() +
+            ", proximoIntento='" + getProximoIntento() + "'" +
+            "}";
+    }
+}
@@ -1,9 +1,11 @@
 package com.padel.backend.domain;
 
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.padel.backend.domain.enumeration.EstadoReserva;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
 import java.io.Serializable;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import org.hibernate.annotations.Cache;
@@ -21,8 +23,8 @@ public class Reserva implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "reservaSequenceGenerator")
+    @SequenceGenerator(name = "reservaSequenceGenerator", sequenceName = "reserva_seq", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -38,6 +40,14 @@ public class Reserva implements Serializable {
     @Column(name = "hora_fin", nullable = false)
     private LocalTime horaFin;
 
+    // Sin @NotNull: la validación corre antes de estadoPorDefecto y rechazaría los pedidos sin estado
+    @Enumerated(EnumType.STRING)
+    @Column(name = "estado", nullable = false)
+    private EstadoReserva estado;
+
+    @Column(name = "expira_en")
+    private Instant expiraEn;
+
     @JsonIgnoreProperties(value = { "reserva" }, allowSetters = true)
     @OneToOne(fetch = FetchType.LAZY)
     @JoinColumn(unique = true)
@@ -105,6 +115,32 @@ public class Reserva implements Serializable {
         this.horaFin = horaFin;
     }
 
+    public EstadoReserva getEstado() {
+        return this.estado;
+    }
+
+    public Reserva estado(EstadoReserva estado) {
+        this.setEstado(estado);
+        return this;
+    }
+
+    public void setEstado(EstadoReserva estado) {
+        this.estado = estado;
+    }
+
+    public Instant getExpiraEn() {
+        return this.expiraEn;
+    }
+
+    public Reserva expiraEn(Instant expiraEn) {
+        this.setExpiraEn(expiraEn);
+        return this;
+    }
+
+    public void setExpiraEn(Instant expiraEn) {
+        this.expiraEn = expiraEn;
+    }
+
     public Pago getPago() {
         return this.pago;
     }
@@ -146,6 +182,15 @@ public class Reserva implements Serializable {
 
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here
 
+    // Sin estado explícito la reserva nace confirmada: el proceso de reserva la registra en firme.
+    // (No va como valor inicial del campo: un PATCH sin estado lo pisaría)
+    @PrePersist
+    void estadoPorDefecto() {
+        if (estado == null) {
+            estado = EstadoReserva.CONFIRMADA;
+        }
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -171,6 +216,8 @@ public class Reserva implements Serializable {
             ", fecha='" + getFecha() + "'" +
             ", horaInicio='" + getHoraInicio() + "'" +
             ", horaFin='" + getHoraFin() + "'" +
+            ", estado='" + getEstado() + "'" +
+            ", expiraEn='" + getExpiraEn() + "'" +
             "}";
     }
 }
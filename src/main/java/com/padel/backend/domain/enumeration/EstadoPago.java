@@ -0,0 +1,13 @@
+package com.padel.backend.domain.enumeration;
+
+/**
+ * The EstadoPago enumeration.
+ * <p>
+ * Un pago del proceso de reserva nace PENDIENTE y la pasarela lo deja APROBADO o RECHAZADO
+ * (ver {@code DespachoPagos}). Los cargados directamente por la API de pagos nacen APROBADO.
+ */
+public enum EstadoPago {
+    PENDIENTE,
+    APROBADO,
+    RECHAZADO,
+}
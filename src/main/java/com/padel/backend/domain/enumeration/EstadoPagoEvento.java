@@ -0,0 +1,13 @@
+package com.padel.backend.domain.enumeration;
+
+/**
+ * The EstadoPagoEvento enumeration.
+ * <p>
+ * Un evento de pago espera PENDIENTE hasta que la pasarela responde (PROCESADO) o se agotan los
+ * reintentos (FALLIDO).
+ */
+public enum EstadoPagoEvento {
+    PENDIENTE,
+    PROCESADO,
+    FALLIDO,
+}
@@ -0,0 +1,34 @@
+package com.padel.backend.domain.enumeration;
+
+/**
+ * The EstadoReserva enumeration.
+ * <p>
+ * Ciclo de vida de una reserva: PENDIENTE → CONFIRMADA → PAGADA, y cualquiera de ellas → CANCELADA.
+ * Pasa a PAGADA recién cuando la pasarela aprueba el pago; mientras se cobra conserva su estado.
+ * Una reserva cancelada no se borra (queda para el historial) pero deja de ocupar la franja.
+ */
+public enum EstadoReserva {
+    PENDIENTE,
+    CONFIRMADA,
+    PAGADA,
+    CANCELADA;
+
+    /**
+     * Indica si una reserva en este estado puede pasar a {@code destino}.
+     */
+    public boolean puedePasarA(EstadoReserva destino) {
+        return switch (this) {
+            case PENDIENTE -> destino == CONFIRMADA || destino == PAGADA || destino == CANCELADA;
+            case CONFIRMADA -> destino == PAGADA || destino == CANCELADA;
+            case PAGADA -> destino == CANCELADA;
+            case CANCELADA -> false;
+        };
+    }
+
+    /**
+     * Las reservas canceladas no ocupan la franja.
+     */
+    public boolean ocupaFranja() {
+        return this != CANCELADA;
+    }
+}
@@ -0,0 +1,4 @@
+/**
+ * Domain enumerations.
+ */
+package com.padel.backend.domain.enumeration;
@@ -1,7 +1,10 @@
 package com.padel.backend.repository;
 
 import com.padel.backend.domain.Cancha;
+import jakarta.persistence.LockModeType;
+import java.util.Optional;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 /**
@@ -9,4 +12,10 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface CanchaRepository extends JpaRepository<Cancha, Long> {}
+public interface CanchaRepository extends JpaRepository<Cancha, Long> {
+    // 🔒 SELECT ... FOR UPDATE sobre la cancha: serializa las altas de reservas de esa cancha
+    // hasta el commit (así dos pedidos simultáneos no pasan juntos la validación de disponibilidad)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Cancha c where c.id = :id")
+    Optional<Cancha> findByIdForUpdate(@Param("id") Long id);
+}
@@ -0,0 +1,63 @@
+package com.padel.backend.repository;
+
+import com.padel.backend.domain.ClaveIdempotencia;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the ClaveIdempotencia entity.
+ * <p>
+ * La clave se inserta con un INSERT explícito (no {@code save}, que haría un merge sobre la fila de otro pedido):
+ * si dos pedidos llegan a la vez con la misma clave, la clave primaria deja pasar sólo a uno.
+ */
+@Repository
+public interface ClaveIdempotenciaRepository extends JpaRepository<ClaveIdempotencia, String> {
+    @Modifying
+    @Query(
+        "insert into ClaveIdempotencia (clave, huella, completada, creadaEn, expiraEn) " +
+        "values (:clave, :huella, false, :ahora, :expiraEn)"
+    )
+    int insertar(
+        @Param("clave") String clave,
+        @Param("huella") String huella,
+        @Param("ahora") Instant ahora,
+        @Param("expiraEn") Instant expiraEn
+    );
+
+    /**
+     * Vuelve a usar una clave vencida o abandonada, sólo si nadie la tomó desde que se leyó ({@code creadaEn}).
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query(
+        "update ClaveIdempotencia c set c.huella = :huella, c.completada = false, c.respuesta = null, " +
+        "c.creadaEn = :ahora, c.expiraEn = :expiraEn where c.clave = :clave and c.creadaEn = :creadaEn"
+    )
+    int tomar(
+        @Param("clave") String clave,
+        @Param("creadaEn") Instant creadaEn,
+        @Param("huella") String huella,
+        @Param("ahora") Instant ahora,
+        @Param("expiraEn") Instant expiraEn
+    );
+
+    @Modifying(flushAutomatically = true)
+    @Query("update ClaveIdempotencia c set c.completada = true, c.respuesta = :respuesta where c.clave = :clave")
+    int completar(@Param("clave") String clave, @Param("respuesta") String respuesta);
+
+    @Modifying(flushAutomatically = true)
+    @Query("delete from ClaveIdempotencia c where c.clave = :clave and c.completada = false")
+    int liberar(@Param("clave") String clave);
+
+    @Modifying
+    @Query("delete from ClaveIdempotencia c where c.expiraEn < :ahora")
+    int borrarVencidas(@Param("ahora") Instant ahora);
+
+    @Query("select c.clave from ClaveIdempotencia c order by c.creadaEn")
+    List<String> findClavesMasAntiguas(Pageable pageable);
+}
@@ -1,6 +1,7 @@
 package com.padel.backend.repository;
 
 import com.padel.backend.domain.Horario;
+import java.util.List;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
@@ -9,4 +10,8 @@ import org.springframework.stereotype.Repository;
  */
 @SuppressWarnings("unused")
 @Repository
-public interface HorarioRepository extends JpaRepository<Horario, Long> {}
+public interface HorarioRepository extends JpaRepository<Horario, Long> {
+    // 🕒 Todos los horarios con su cancha, ordenados para armar la grilla del día
+    @Query("select h from Horario h join fetch h.cancha c order by c.id, h.horaInicio")
+    List<Horario> findAllConCanchaOrdenados();
+}
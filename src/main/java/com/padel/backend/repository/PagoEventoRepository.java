@@ -0,0 +1,29 @@
+package com.padel.backend.repository;
+
+import com.padel.backend.domain.PagoEvento;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import java.time.Instant;
+import java.util.List;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Spring Data JPA repository for the PagoEvento entity.
+ */
+@Repository
+public interface PagoEventoRepository extends JpaRepository<PagoEvento, Long> {
+    // 📬 Próximo lote a despachar, bloqueado hasta el commit. Con SKIP LOCKED (timeout -2) cada nodo se lleva
+    // filas distintas en vez de esperar a que otro confirme las suyas. H2 no lo soporta y espera.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query(
+        "select e from PagoEvento e where e.estado = com.padel.backend.domain.enumeration.EstadoPagoEvento.PENDIENTE " +
+        "and e.proximoIntento <= :ahora order by e.proximoIntento"
+    )
+    List<PagoEvento> findParaDespacharForUpdate(@Param("ahora") Instant ahora, Pageable pageable);
+
+    List<PagoEvento> findAllByPagoId(Long pagoId);
+}
@@ -1,11 +1,24 @@
 package com.padel.backend.repository;
 
+import com.padel.backend.domain.Pago;
 import com.padel.backend.domain.Reserva;
+import com.padel.backend.domain.enumeration.EstadoReserva;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Spring Data JPA repository for the Reserva entity.
@@ -14,11 +27,202 @@ import java.time.LocalTime;
 @Repository
 public interface ReservaRepository extends JpaRepository<Reserva, Long> {
 
+    // Filtros opcionales del listado: un parámetro en null no filtra
+    String FILTRO =
+        "where (:canchaId is null or r.cancha.id = :canchaId) " +
+        "and (:usuarioId is null or r.usuario.id = :usuarioId) " +
+        "and (:desde is null or r.fecha >= :desde) " +
+        "and (:hasta is null or r.fecha <= :hasta) " +
+        // Pagada es la que aprobó la pasarela: con el pago registrado pero sin aprobar todavía no lo está
+        "and (:pagada is null " +
+        "or (:pagada = true and r.estado = com.padel.backend.domain.enumeration.EstadoReserva.PAGADA) " +
+        "or (:pagada = false and r.estado <> com.padel.backend.domain.enumeration.EstadoReserva.PAGADA))";
+
+    // Sólo columnas de Reserva (las FK incluidas): no hace joins ni inicializa asociaciones
+    String SELECT_RESUMEN =
+        "select r.id as id, r.fecha as fecha, r.horaInicio as horaInicio, r.horaFin as horaFin, r.estado as estado, " +
+        "r.expiraEn as expiraEn, r.usuario.id as usuarioId, r.cancha.id as canchaId, r.pago.id as pagoId from Reserva r ";
+
+    // Reservas que ocupan la franja. Va como literal (no como parámetro) para que PostgreSQL pueda
+    // usar el índice parcial idx_reserva__cancha_fecha_horas (where estado <> 'CANCELADA')
+    String ACTIVA = "r.estado <> com.padel.backend.domain.enumeration.EstadoReserva.CANCELADA";
+
+    // Reservas retenidas sin pagar. También literal: es el predicado del índice parcial idx_reserva__pendiente_expira_en
+    String PENDIENTE = "r.estado = com.padel.backend.domain.enumeration.EstadoReserva.PENDIENTE";
+
     // 🔍 Validar si existe una reserva que se superpone en horario
-    boolean existsByCanchaIdAndFechaAndHoraInicioLessThanEqualAndHoraFinGreaterThanEqual(
-        Long canchaId,
-        LocalDate fecha,
-        LocalTime horaInicio,
-        LocalTime horaFin
+    // (existente.inicio < pedido.fin AND existente.fin > pedido.inicio; usa idx_reserva__cancha_fecha_horas)
+    @Query(
+        "select case when count(r) > 0 then true else false end from Reserva r " +
+        "where r.cancha.id = :canchaId and r.fecha = :fecha " +
+        "and r.horaInicio < :horaFin and r.horaFin > :horaInicio and " +
+        ACTIVA
+    )
+    boolean existeSolapamiento(
+        @Param("canchaId") Long canchaId,
+        @Param("fecha") LocalDate fecha,
+        @Param("horaInicio") LocalTime horaInicio,
+        @Param("horaFin") LocalTime horaFin
+    );
+
+    // 📅 Reservas de una cancha en un día, también las canceladas
+    List<Reserva> findAllByCanchaIdAndFecha(Long canchaId, LocalDate fecha);
+
+    // 📅 Reservas activas de una cancha en un día (carga del índice de ocupación)
+    @Query("select r from Reserva r where r.cancha.id = :canchaId and r.fecha = :fecha and " + ACTIVA)
+    List<Reserva> findActivasByCanchaIdAndFecha(@Param("canchaId") Long canchaId, @Param("fecha") LocalDate fecha);
+
+    // 🗓️ Franjas ocupadas de todas las canchas en un día (grilla de disponibilidad)
+    @Query(
+        "select r.cancha.id as canchaId, r.fecha as fecha, r.horaInicio as horaInicio, r.horaFin as horaFin from Reserva r " +
+        "where r.fecha = :fecha and r.cancha is not null and " +
+        ACTIVA
+    )
+    List<FranjaOcupada> findFranjasOcupadasByFecha(@Param("fecha") LocalDate fecha);
+
+    // 🔁 Franjas ocupadas de una cancha en varios días a la vez (validación de reservas en lote)
+    @Query(
+        "select r.cancha.id as canchaId, r.fecha as fecha, r.horaInicio as horaInicio, r.horaFin as horaFin from Reserva r " +
+        "where r.cancha.id = :canchaId and r.fecha in :fechas and " +
+        ACTIVA
+    )
+    List<FranjaOcupada> findFranjasOcupadasByCanchaIdAndFechaIn(
+        @Param("canchaId") Long canchaId,
+        @Param("fechas") Collection<LocalDate> fechas
+    );
+
+    // 🔎 Una reserva como proyección: una sola consulta, sin cargar usuario, cancha ni pago
+    @Query(SELECT_RESUMEN + "where r.id = :id")
+    Optional<ReservaResumen> findResumenById(@Param("id") Long id);
+
+    // 🗓️ Reservas activas de una cancha en un rango de días, en orden (vista por día o semana; usa idx_reserva__cancha_fecha_horas)
+    @Query(
+        SELECT_RESUMEN +
+        "where r.cancha.id = :canchaId and r.fecha between :desde and :hasta and " +
+        ACTIVA +
+        " order by r.fecha, r.horaInicio"
+    )
+    List<ReservaResumen> findResumenByCanchaIdAndFechaBetween(
+        @Param("canchaId") Long canchaId,
+        @Param("desde") LocalDate desde,
+        @Param("hasta") LocalDate hasta
+    );
+
+    // 💳 Asocia el pago sólo si la reserva todavía no tiene uno, no fue cancelada y, si está retenida,
+    // la retención no venció (devuelve 0 si no). El estado no cambia hasta que la pasarela aprueba el pago;
+    // la retención deja de vencer (expiraEn en null) porque el pago llegó a tiempo
+    @Modifying
+    @Query(
+        "update Reserva r set r.pago = :pago, r.expiraEn = null where r.id = :id and r.pago is null and " +
+        ACTIVA +
+        " and (r.estado <> com.padel.backend.domain.enumeration.EstadoReserva.PENDIENTE or r.expiraEn is null or r.expiraEn > :ahora)"
+    )
+    int asignarPago(@Param("id") Long id, @Param("pago") Pago pago, @Param("ahora") Instant ahora);
+
+    // ✅ Pasa a PAGADA la reserva cuyo pago aprobó la pasarela, sólo si sigue con ese pago y no fue cancelada (devuelve 0 si no)
+    @Modifying
+    @Query(
+        "update Reserva r set r.estado = com.padel.backend.domain.enumeration.EstadoReserva.PAGADA " +
+        "where r.id = :id and r.pago.id = :pagoId and " +
+        ACTIVA
+    )
+    int marcarPagada(@Param("id") Long id, @Param("pagoId") Long pagoId);
+
+    // ⏳ Retenciones vencidas entre las pedidas, bloqueadas hasta el commit: un pago simultáneo espera
+    // y después ya no las encuentra pendientes
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select r from Reserva r where r.id in :ids and " + PENDIENTE + " and r.expiraEn <= :ahora")
+    List<Reserva> findRetencionesVencidasForUpdate(@Param("ids") Collection<Long> ids, @Param("ahora") Instant ahora);
+
+    // ⌛ Vence en un solo update las retenciones ya bloqueadas con findRetencionesVencidasForUpdate
+    @Modifying
+    @Query("update Reserva r set r.estado = com.padel.backend.domain.enumeration.EstadoReserva.CANCELADA where r.id in :ids")
+    int vencerRetenciones(@Param("ids") Collection<Long> ids);
+
+    // 🕒 Retenciones pendientes con su vencimiento (arranque y recuperación de VencimientoReservas; usa el índice parcial)
+    @Query("select r.id as id, r.expiraEn as expiraEn from Reserva r where " + PENDIENTE + " and r.expiraEn is not null")
+    List<RetencionPendiente> findRetencionesPendientes();
+
+    // 🔀 Cambio de estado condicional: sólo si la reserva sigue en el estado leído (devuelve 0 si otro pedido la cambió)
+    @Modifying
+    @Query("update Reserva r set r.estado = :nuevo where r.id = :id and r.estado = :actual")
+    int cambiarEstado(@Param("id") Long id, @Param("actual") EstadoReserva actual, @Param("nuevo") EstadoReserva nuevo);
+
+    // 📋 Listado paginado y filtrado (recurso CRUD)
+    @Query(value = "select r from Reserva r " + FILTRO, countQuery = "select count(r) from Reserva r " + FILTRO)
+    Page<Reserva> buscar(
+        @Param("canchaId") Long canchaId,
+        @Param("usuarioId") Long usuarioId,
+        @Param("desde") LocalDate desde,
+        @Param("hasta") LocalDate hasta,
+        @Param("pagada") Boolean pagada,
+        Pageable pageable
     );
+
+    // 📋 Listado paginado y filtrado como proyección (proceso de reservas)
+    @Query(value = SELECT_RESUMEN + FILTRO, countQuery = "select count(r) from Reserva r " + FILTRO)
+    Page<ReservaResumen> buscarResumen(
+        @Param("canchaId") Long canchaId,
+        @Param("usuarioId") Long usuarioId,
+        @Param("desde") LocalDate desde,
+        @Param("hasta") LocalDate hasta,
+        @Param("pagada") Boolean pagada,
+        Pageable pageable
+    );
+
+    // 📤 Exportación: se recorre con un cursor, sin armar la lista en memoria (requiere transacción abierta)
+    @Query(SELECT_RESUMEN + FILTRO + " order by r.fecha, r.horaInicio, r.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    Stream<ReservaResumen> streamResumen(
+        @Param("canchaId") Long canchaId,
+        @Param("usuarioId") Long usuarioId,
+        @Param("desde") LocalDate desde,
+        @Param("hasta") LocalDate hasta,
+        @Param("pagada") Boolean pagada
+    );
+
+    /**
+     * Proyección plana de una reserva, con los ids de sus asociaciones.
+     */
+    interface ReservaResumen {
+        Long getId();
+
+        LocalDate getFecha();
+
+        LocalTime getHoraInicio();
+
+        LocalTime getHoraFin();
+
+        EstadoReserva getEstado();
+
+        Instant getExpiraEn();
+
+        Long getUsuarioId();
+
+        Long getCanchaId();
+
+        Long getPagoId();
+    }
+
+    /**
+     * Proyección con lo mínimo para saber qué franja de qué cancha está ocupada.
+     */
+    interface FranjaOcupada {
+        Long getCanchaId();
+
+        LocalDate getFecha();
+
+        LocalTime getHoraInicio();
+
+        LocalTime getHoraFin();
+    }
+
+    /**
+     * Reserva retenida y el momento en que vence la retención.
+     */
+    interface RetencionPendiente {
+        Long getId();
+
+        Instant getExpiraEn();
+    }
 }
@@ -0,0 +1,379 @@
+package com.padel.backend.service;
+
+import com.padel.backend.config.ApplicationProperties;
+import com.padel.backend.domain.Reserva;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Mantiene coherentes los caches locales de varios nodos con un canal {@code LISTEN/NOTIFY} de PostgreSQL.
+ * <p>
+ * Los caches (segundo nivel de Hibernate, {@code usersByLogin}/{@code usersByEmail}, {@link CacheDisponibilidad},
+ * {@link IndiceOcupacion}) siguen siendo locales a cada nodo; lo que se comparte son las invalidaciones:
+ * <ul>
+ *   <li>{@link ListenerInvalidacionHibernate} anota qué entidades, colecciones y usuarios cambió cada
+ *   transacción.</li>
+ *   <li>{@link ReservaModificadaEvent} y {@link CanchaModificadaEvent} se reenvían tal cual y en los
+ *   demás nodos se vuelven a publicar, así que sus listeners actualizan las vistas igual que en el nodo de origen.
+ *   Al recibir un {@link ReservaModificadaEvent} además se descarta esa {@code Reserva} del segundo nivel:
+ *   cancelar, pagar y vencer retenciones la cambian con updates por lote, que Hibernate no anota.</li>
+ * </ul>
+ * Los {@code pg_notify} van por la conexión de la transacción de negocio, después del último flush y justo
+ * antes del commit: PostgreSQL entrega las notificaciones recién al confirmar (si la transacción se revierte no
+ * llega nada), y si el envío falla falla el commit en vez de perderse la invalidación.
+ * <p>
+ * Cada nodo escucha el canal con una conexión propia (fuera del pool). Si la conexión se corta, al
+ * reconectarse vacía todos sus caches, porque pudieron perderse mensajes en el medio.
+ * <p>
+ * Sólo funciona con PostgreSQL; se activa con {@code application.cache.cluster.enabled=true}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.cache.cluster", name = "enabled", havingValue = "true")
+public class BusInvalidacionCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BusInvalidacionCache.class);
+
+    private static final Pattern NOMBRE_CANAL = Pattern.compile("[a-z_][a-z0-9_]*");
+
+    private static final int ESPERA_NOTIFICACIONES_MS = 1000;
+
+    private static final long ESPERA_RECONEXION_MS = 5000;
+
+    /** Marca el hilo que está aplicando un mensaje remoto, para no reenviar los eventos que vuelve a publicar. */
+    private static final ThreadLocal<Boolean> APLICANDO_REMOTO = ThreadLocal.withInitial(() -> false);
+
+    private final String nodo = UUID.randomUUID().toString();
+
+    private final String canal;
+
+    private final DataSource dataSource;
+
+    private final DataSourceProperties dataSourceProperties;
+
+    private final SessionFactoryImplementor sessionFactory;
+
+    private final EntityManager entityManager;
+
+    private final CacheManager cacheManager;
+
+    private final CacheDisponibilidad cacheDisponibilidad;
+
+    private final IndiceOcupacion indiceOcupacion;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private volatile boolean activo;
+
+    private volatile boolean conectado;
+
+    private Thread escucha;
+
+    public BusInvalidacionCache(
+        ApplicationProperties applicationProperties,
+        DataSource dataSource,
+        DataSourceProperties dataSourceProperties,
+        EntityManagerFactory entityManagerFactory,
+        EntityManager entityManager,
+        CacheManager cacheManager,
+        CacheDisponibilidad cacheDisponibilidad,
+        IndiceOcupacion indiceOcupacion,
+        ApplicationEventPublisher eventPublisher
+    ) {
+        this.canal = applicationProperties.getCache().getCluster().getChannel();
+        if (!NOMBRE_CANAL.matcher(canal).matches()) {
+            throw new IllegalStateException("application.cache.cluster.channel no es un nombre de canal válido: " + canal);
+        }
+        this.dataSource = dataSource;
+        this.dataSourceProperties = dataSourceProperties;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.entityManager = entityManager;
+        this.cacheManager = cacheManager;
+        this.cacheDisponibilidad = cacheDisponibilidad;
+        this.indiceOcupacion = indiceOcupacion;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostConstruct
+    public void iniciar() {
+        ListenerInvalidacionHibernate listener = new ListenerInvalidacionHibernate(sessionFactory, nodo, this::publicar);
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_RECREATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_UPDATE, listener);
+        registry.appendListeners(EventType.POST_COLLECTION_REMOVE, listener);
+
+        activo = true;
+        escucha = new Thread(this::escuchar, "cache-invalidacion");
+        escucha.setDaemon(true);
+        escucha.start();
+        LOG.info("Bus de invalidación de caches escuchando el canal {} (nodo {})", canal, nodo);
+    }
+
+    @PreDestroy
+    public void detener() throws InterruptedException {
+        activo = false;
+        escucha.interrupt();
+        escucha.join(ESPERA_NOTIFICACIONES_MS * 2L);
+    }
+
+    /**
+     * Indica si el nodo está escuchando el canal (si no, puede estar perdiendo invalidaciones).
+     */
+    public boolean conectado() {
+        return conectado;
+    }
+
+    public String nodo() {
+        return nodo;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onReservaModificada(ReservaModificadaEvent event) {
+        if (!APLICANDO_REMOTO.get()) {
+            publicar(MensajeInvalidacion.reserva(nodo, event));
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT, fallbackExecution = true)
+    public void onCanchaModificada(CanchaModificadaEvent event) {
+        if (!APLICANDO_REMOTO.get()) {
+            publicar(MensajeInvalidacion.cancha(nodo, event));
+        }
+    }
+
+    /**
+     * Dentro de una transacción junta los mensajes y los manda con su conexión antes del commit; fuera de una, los manda ya.
+     */
+    void publicar(MensajeInvalidacion mensaje) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            enviarAparte(mensaje);
+            return;
+        }
+        Pendientes pendientes = (Pendientes) TransactionSynchronizationManager.getResource(this);
+        if (pendientes == null) {
+            Pendientes nuevos = new Pendientes();
+            TransactionSynchronizationManager.bindResource(this, nuevos);
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        TransactionSynchronizationManager.unbindResourceIfPossible(BusInvalidacionCache.this);
+                    }
+                }
+            );
+            // Hibernate corre estos procesos después del último flush y antes del commit, sólo si se va a confirmar
+            entityManager
+                .unwrap(SessionImplementor.class)
+                .getActionQueue()
+                .registerProcess(sesion -> sesion.doWork(nuevos::enviar));
+            pendientes = nuevos;
+        }
+        if (pendientes.enviados) {
+            // Un cambio anotado después del commit (por ejemplo desde un afterCommit): ya no hay commit que esperar
+            enviarAparte(mensaje);
+            return;
+        }
+        pendientes.mensajes.add(mensaje);
+    }
+
+    /** Para cambios ya confirmados: se manda en una conexión del pool en autocommit. */
+    private void enviarAparte(MensajeInvalidacion mensaje) {
+        try (Connection conexion = dataSource.getConnection()) {
+            conexion.setAutoCommit(true);
+            notificar(conexion, List.of(mensaje));
+        } catch (SQLException e) {
+            // Los otros nodos quedan con datos viejos hasta que venza el TTL de la región
+            LOG.warn("No se pudo mandar la invalidación de cache {}: {}", mensaje, e.getMessage());
+        }
+    }
+
+    private void notificar(Connection conexion, Collection<MensajeInvalidacion> mensajes) throws SQLException {
+        try (PreparedStatement notify = conexion.prepareStatement("select pg_notify(?, ?)")) {
+            for (MensajeInvalidacion mensaje : mensajes) {
+                notify.setString(1, canal);
+                notify.setString(2, mensaje.codificar());
+                notify.executeQuery().close();
+            }
+        }
+    }
+
+    /** Los mensajes de una transacción, en orden y sin repetidos. */
+    private final class Pendientes {
+
+        private final Set<MensajeInvalidacion> mensajes = new LinkedHashSet<>();
+
+        private boolean enviados;
+
+        private void enviar(Connection conexion) throws SQLException {
+            enviados = true;
+            notificar(conexion, mensajes);
+        }
+    }
+
+    private void escuchar() {
+        boolean reconexion = false;
+        while (activo) {
+            try (
+                Connection conexion = DriverManager.getConnection(
+                    dataSourceProperties.determineUrl(),
+                    dataSourceProperties.determineUsername(),
+                    dataSourceProperties.determinePassword()
+                );
+                Statement statement = conexion.createStatement()
+            ) {
+                conexion.setAutoCommit(true);
+                statement.execute("LISTEN " + canal);
+                conectado = true;
+                if (reconexion) {
+                    LOG.info("Bus de invalidación reconectado: se vacían los caches locales");
+                    limpiarTodo();
+                }
+                PGConnection pg = conexion.unwrap(PGConnection.class);
+                while (activo) {
+                    PGNotification[] notificaciones = pg.getNotifications(ESPERA_NOTIFICACIONES_MS);
+                    if (notificaciones != null) {
+                        for (PGNotification notificacion : notificaciones) {
+                            recibir(notificacion.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                conectado = false;
+                reconexion = true;
+                if (activo) {
+                    LOG.warn("Se cortó la escucha del canal {}: {}", canal, e.getMessage());
+                    esperarReconexion();
+                }
+            }
+        }
+        conectado = false;
+    }
+
+    void recibir(String payload) {
+        MensajeInvalidacion mensaje;
+        try {
+            mensaje = MensajeInvalidacion.decodificar(payload);
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Mensaje de invalidación ignorado: {}", e.getMessage());
+            return;
+        }
+        if (nodo.equals(mensaje.nodo())) {
+            return;
+        }
+        try {
+            APLICANDO_REMOTO.set(true);
+            aplicar(mensaje);
+        } catch (RuntimeException e) {
+            LOG.warn("No se pudo aplicar {}: {}", mensaje, e.getMessage());
+        } finally {
+            APLICANDO_REMOTO.remove();
+        }
+    }
+
+    private void aplicar(MensajeInvalidacion mensaje) {
+        List<String> datos = mensaje.datos();
+        LOG.debug("Invalidación remota: {}", mensaje);
+        switch (mensaje.tipo()) {
+            case ENTIDAD -> sessionFactory.getCache().evictEntityData(datos.get(0), id(datos.get(0), datos.get(1)));
+            case COLECCION -> {
+                if (datos.get(1).isEmpty()) {
+                    sessionFactory.getCache().evictCollectionData(datos.get(0));
+                } else {
+                    String dueno = sessionFactory
+                        .getMappingMetamodel()
+                        .getCollectionDescriptor(datos.get(0))
+                        .getOwnerEntityPersister()
+                        .getEntityName();
+                    sessionFactory.getCache().evictCollectionData(datos.get(0), id(dueno, datos.get(1)));
+                }
+            }
+            case CACHE -> {
+                Cache cache = cacheManager.getCache(datos.get(0));
+                if (cache != null) {
+                    cache.evictIfPresent(datos.get(1));
+                }
+            }
+            case RESERVA -> {
+                ReservaModificadaEvent event = mensaje.comoReserva();
+                // Los cambios de estado y de pago son updates por lote (JPQL): no pasan por el listener de Hibernate
+                if (event.reservaId() != null) {
+                    sessionFactory.getCache().evictEntityData(Reserva.class, event.reservaId());
+                }
+                eventPublisher.publishEvent(event);
+            }
+            case CANCHA -> eventPublisher.publishEvent(mensaje.comoCancha());
+        }
+    }
+
+    /** Convierte el id recibido como texto al tipo del identificador de la entidad. */
+    private Object id(String entidad, String texto) {
+        Class<?> tipo = sessionFactory
+            .getMappingMetamodel()
+            .getEntityDescriptor(entidad)
+            .getIdentifierMapping()
+            .getJavaType()
+            .getJavaTypeClass();
+        if (tipo == Long.class) {
+            return Long.valueOf(texto);
+        }
+        if (tipo == Integer.class) {
+            return Integer.valueOf(texto);
+        }
+        if (tipo == UUID.class) {
+            return UUID.fromString(texto);
+        }
+        return texto;
+    }
+
+    private void limpiarTodo() {
+        sessionFactory.getCache().evictAllRegions();
+        List<String> nombres = new ArrayList<>(cacheManager.getCacheNames());
+        nombres.forEach(nombre -> cacheManager.getCache(nombre).clear());
+        cacheDisponibilidad.limpiar();
+        indiceOcupacion.limpiar();
+    }
+
+    private void esperarReconexion() {
+        try {
+            Thread.sleep(ESPERA_RECONEXION_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            activo = false;
+        }
+    }
+}
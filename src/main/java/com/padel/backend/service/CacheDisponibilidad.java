@@ -0,0 +1,166 @@
+package com.padel.backend.service;
+
+import com.padel.backend.service.dto.DisponibilidadCanchaDTO;
+import com.padel.backend.service.dto.ReservaResponseDTO;
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Cache de las vistas por cancha y día (grilla de disponibilidad y reservas del día), para que las
+ * vistas repetidas de un día no lleguen a la base.
+ * <p>
+ * Usa tres regiones JCache (ver {@link com.padel.backend.config.CacheConfiguration}):
+ * <ul>
+ *   <li>{@link #GRILLA_CACHE}: por (canchaId, fecha), las franjas de la cancha ese día y cuáles están libres.</li>
+ *   <li>{@link #HORARIOS_DEL_DIA_CACHE}: por día de la semana, las franjas que ofrece cada cancha.</li>
+ *   <li>{@link #RESERVAS_DEL_DIA_CACHE}: por (canchaId, fecha), las reservas de la cancha ese día.</li>
+ * </ul>
+ * Las entradas se descartan después del commit de cada cambio: {@link ReservaModificadaEvent} quita
+ * exactamente la cancha y el día afectados (un pago sólo las reservas del día, la grilla no cambia),
+ * {@link CanchaModificadaEvent} quita las grillas de esa cancha y los horarios por día de la semana.
+ * <p>
+ * Una grilla calculada mientras se confirmaba un cambio podría estar vieja: por eso cada cálculo
+ * anota la generación al empezar, y al guardar primero pone la entrada y después vuelve a mirar la
+ * generación; si se movió, la quita. Como cada invalidación sube la generación antes de descartar,
+ * no queda ninguna intercalación en la que una entrada vieja sobreviva a su invalidación.
+ */
+@Component
+public class CacheDisponibilidad {
+
+    public static final String GRILLA_CACHE = "disponibilidad";
+
+    public static final String HORARIOS_DEL_DIA_CACHE = "disponibilidad.horariosDelDia";
+
+    public static final String RESERVAS_DEL_DIA_CACHE = "disponibilidad.reservasDelDia";
+
+    private static final Logger LOG = LoggerFactory.getLogger(CacheDisponibilidad.class);
+
+    private final CacheManager cacheManager;
+
+    private final AtomicLong generacion = new AtomicLong();
+
+    public CacheDisponibilidad(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Generación actual; hay que leerla antes de consultar la base y pasarla al guardar el resultado.
+     */
+    public long generacion() {
+        return generacion.get();
+    }
+
+    public DisponibilidadCanchaDTO obtenerGrilla(Long canchaId, LocalDate fecha) {
+        return grillas().get(new Clave(canchaId, fecha), DisponibilidadCanchaDTO.class);
+    }
+
+    public void guardarGrilla(LocalDate fecha, DisponibilidadCanchaDTO grilla, long generacionLeida) {
+        guardar(grillas(), new Clave(grilla.getCanchaId(), fecha), grilla, generacionLeida);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<HorarioDelDia> obtenerHorariosDelDia(DayOfWeek dia) {
+        return horariosDelDia().get(dia, List.class);
+    }
+
+    public void guardarHorariosDelDia(DayOfWeek dia, List<HorarioDelDia> horarios, long generacionLeida) {
+        guardar(horariosDelDia(), dia, new ArrayList<>(horarios), generacionLeida);
+    }
+
+    @SuppressWarnings("unchecked")
+    public List<ReservaResponseDTO> obtenerReservasDelDia(Long canchaId, LocalDate fecha) {
+        return reservasDelDia().get(new Clave(canchaId, fecha), List.class);
+    }
+
+    public void guardarReservasDelDia(Long canchaId, LocalDate fecha, List<ReservaResponseDTO> reservas, long generacionLeida) {
+        guardar(reservasDelDia(), new Clave(canchaId, fecha), new ArrayList<>(reservas), generacionLeida);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservaModificada(ReservaModificadaEvent event) {
+        if (event.canchaId() == null || event.fecha() == null) {
+            return;
+        }
+        generacion.incrementAndGet();
+        Clave clave = new Clave(event.canchaId(), event.fecha());
+        reservasDelDia().evict(clave);
+        if (event.cambiaOcupacion()) {
+            grillas().evict(clave);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCanchaModificada(CanchaModificadaEvent event) {
+        generacion.incrementAndGet();
+        horariosDelDia().clear();
+        if (event.canchaId() == null) {
+            return;
+        }
+        Cache grillas = grillas();
+        if (!(grillas.getNativeCache() instanceof javax.cache.Cache<?, ?> nativa)) {
+            grillas.clear();
+            return;
+        }
+        // La región no se indexa por cancha: se recorren las claves (como mucho una por cancha y día cargado)
+        List<Clave> claves = new ArrayList<>();
+        for (javax.cache.Cache.Entry<?, ?> entrada : nativa) {
+            if (entrada.getKey() instanceof Clave clave && event.canchaId().equals(clave.canchaId())) {
+                claves.add(clave);
+            }
+        }
+        claves.forEach(grillas::evict);
+        LOG.debug("Grilla de la cancha {} descartada en {} días", event.canchaId(), claves.size());
+    }
+
+    /**
+     * Descarta las tres regiones; se vuelven a llenar a medida que se consultan.
+     */
+    public void limpiar() {
+        generacion.incrementAndGet();
+        grillas().clear();
+        horariosDelDia().clear();
+        reservasDelDia().clear();
+    }
+
+    // Poner y después verificar: un chequeo previo dejaría pasar una invalidación entre el chequeo y el put
+    private void guardar(Cache cache, Object clave, Object valor, long generacionLeida) {
+        if (generacion.get() != generacionLeida) {
+            return;
+        }
+        cache.put(clave, valor);
+        if (generacion.get() != generacionLeida) {
+            cache.evict(clave);
+        }
+    }
+
+    private Cache grillas() {
+        return cacheManager.getCache(GRILLA_CACHE);
+    }
+
+    private Cache horariosDelDia() {
+        return cacheManager.getCache(HORARIOS_DEL_DIA_CACHE);
+    }
+
+    private Cache reservasDelDia() {
+        return cacheManager.getCache(RESERVAS_DEL_DIA_CACHE);
+    }
+
+    private record Clave(Long canchaId, LocalDate fecha) implements Serializable {}
+
+    /**
+     * Una franja ofrecida por una cancha en un día de la semana (sale de un {@link com.padel.backend.domain.Horario}).
+     */
+    public record HorarioDelDia(Long canchaId, String nombre, LocalTime horaInicio, LocalTime horaFin) implements Serializable {}
+}
@@ -0,0 +1,132 @@
+package com.padel.backend.service;
+
+import com.padel.backend.config.ApplicationProperties;
+import com.padel.backend.domain.Cancha;
+import com.padel.backend.repository.CanchaRepository;
+import com.padel.backend.repository.HorarioRepository;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.stream.IntStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Calienta los caches después de cada arranque, para que la primera ola de pedidos no vaya toda a la base.
+ * <p>
+ * Cuando la aplicación está lista (Liquibase ya corrió) carga todas las canchas y horarios en el cache
+ * de segundo nivel y, para hoy y los días siguientes, la ocupación de cada cancha ({@link IndiceOcupacion},
+ * que de paso deja las reservas en el cache de segundo nivel) y la grilla de disponibilidad
+ * ({@link CacheDisponibilidad}). Cada día se carga en paralelo en el {@code taskExecutor}.
+ * <p>
+ * También es el indicador de salud {@code calentamientoCache}, incluido en el grupo readiness: da
+ * OUT_OF_SERVICE mientras calienta y UP al terminar, si falla o si se pasa del tiempo máximo.
+ */
+@Component("calentamientoCache")
+public class CalentamientoCache implements HealthIndicator {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CalentamientoCache.class);
+
+    private enum Estado {
+        PENDIENTE,
+        CALENTANDO,
+        LISTO,
+        FALLIDO,
+    }
+
+    private final ApplicationProperties.Cache.WarmUp propiedades;
+    private final CanchaRepository canchaRepository;
+    private final HorarioRepository horarioRepository;
+    private final IndiceOcupacion indiceOcupacion;
+    private final ProcesoReservaService procesoReservaService;
+    private final Executor taskExecutor;
+
+    private volatile Estado estado = Estado.PENDIENTE;
+    private volatile Instant inicio;
+    private volatile Duration duracion;
+
+    public CalentamientoCache(
+        ApplicationProperties applicationProperties,
+        CanchaRepository canchaRepository,
+        HorarioRepository horarioRepository,
+        IndiceOcupacion indiceOcupacion,
+        ProcesoReservaService procesoReservaService,
+        @Qualifier("taskExecutor") Executor taskExecutor
+    ) {
+        this.propiedades = applicationProperties.getCache().getWarmUp();
+        this.canchaRepository = canchaRepository;
+        this.horarioRepository = horarioRepository;
+        this.indiceOcupacion = indiceOcupacion;
+        this.procesoReservaService = procesoReservaService;
+        this.taskExecutor = taskExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (propiedades.isEnabled()) {
+            calentar();
+        }
+    }
+
+    /**
+     * Lanza el calentamiento y devuelve un future que termina cuando se cargó todo.
+     */
+    public CompletableFuture<Void> calentar() {
+        inicio = Instant.now();
+        estado = Estado.CALENTANDO;
+        LocalDate hoy = LocalDate.now();
+
+        CompletableFuture<Void> horarios = CompletableFuture.runAsync(horarioRepository::findAll, taskExecutor);
+        CompletableFuture<Void> dias = CompletableFuture.supplyAsync(
+            () -> canchaRepository.findAll().stream().map(Cancha::getId).toList(),
+            taskExecutor
+        ).thenCompose(canchaIds ->
+            CompletableFuture.allOf(
+                IntStream.range(0, propiedades.getDays())
+                    .mapToObj(i -> CompletableFuture.runAsync(() -> calentarDia(hoy.plusDays(i), canchaIds), taskExecutor))
+                    .toArray(CompletableFuture[]::new)
+            )
+        );
+
+        return CompletableFuture.allOf(horarios, dias).whenComplete((r, error) -> {
+            duracion = Duration.between(inicio, Instant.now());
+            if (error != null) {
+                estado = Estado.FALLIDO;
+                LOG.warn("Falló el calentamiento de caches después de {} ms", duracion.toMillis(), error);
+            } else {
+                estado = Estado.LISTO;
+                LOG.info("Caches calentados en {} ms ({} días)", duracion.toMillis(), propiedades.getDays());
+            }
+        });
+    }
+
+    private void calentarDia(LocalDate fecha, List<Long> canchaIds) {
+        canchaIds.forEach(canchaId -> indiceOcupacion.precargar(canchaId, fecha));
+        procesoReservaService.disponibilidad(fecha);
+    }
+
+    @Override
+    public Health health() {
+        if (!propiedades.isEnabled() && estado == Estado.PENDIENTE) {
+            return Health.up().withDetail("estado", "deshabilitado").build();
+        }
+        return switch (estado) {
+            case PENDIENTE -> Health.outOfService().withDetail("estado", "pendiente").build();
+            case CALENTANDO -> Duration.between(inicio, Instant.now()).getSeconds() >= propiedades.getTimeoutSeconds()
+                ? Health.up().withDetail("estado", "tiempo agotado").build()
+                : Health.outOfService().withDetail("estado", "calentando").build();
+            case LISTO -> Health.up().withDetail("estado", "listo").withDetail("duracionMs", duracion.toMillis()).build();
+            // Sin cache caliente la aplicación igual funciona: no se la deja fuera de servicio
+            case FALLIDO -> Health.up().withDetail("estado", "fallido").build();
+        };
+    }
+}
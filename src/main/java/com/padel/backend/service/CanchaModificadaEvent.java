@@ -0,0 +1,11 @@
+package com.padel.backend.service;
+
+/**
+ * Evento publicado cuando cambia una cancha o alguno de sus horarios, es decir, cuando cambian
+ * las franjas que se ofrecen (no su ocupación, para eso está {@link ReservaModificadaEvent}).
+ * <p>
+ * Igual que las reservas, se procesa después del commit (ver {@link CacheDisponibilidad}).
+ *
+ * @param canchaId cancha afectada (puede ser {@code null} si el horario no tenía cancha).
+ */
+public record CanchaModificadaEvent(Long canchaId) {}
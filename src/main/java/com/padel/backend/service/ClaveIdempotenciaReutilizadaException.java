@@ -0,0 +1,10 @@
+package com.padel.backend.service;
+
+public class ClaveIdempotenciaReutilizadaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ClaveIdempotenciaReutilizadaException(String clave) {
+        super("La Idempotency-Key " + clave + " ya se usó con otro pedido.");
+    }
+}
@@ -0,0 +1,330 @@
+package com.padel.backend.service;
+
+import com.padel.backend.config.ApplicationProperties;
+import com.padel.backend.domain.PagoEvento;
+import com.padel.backend.domain.enumeration.EstadoPago;
+import com.padel.backend.domain.enumeration.EstadoPagoEvento;
+import com.padel.backend.domain.enumeration.EstadoReserva;
+import com.padel.backend.repository.PagoEventoRepository;
+import com.padel.backend.repository.PagoRepository;
+import com.padel.backend.repository.ReservaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Envía a la {@link PasarelaPago} los pagos que {@link ProcesoReservaService#pagar} dejó en la tabla
+ * {@code pago_evento} (outbox), para que la latencia de la pasarela no retenga hilos de Tomcat ni conexiones.
+ * <p>
+ * Cada {@code application.payment.poll-interval}, y enseguida después de cada pago confirmado, se lanza un
+ * despacho en el {@code taskExecutor} (uno a la vez por nodo). El despacho toma lotes de {@code batch-size}
+ * eventos vencidos con {@code FOR UPDATE SKIP LOCKED}, les corre el próximo intento {@code lease} hacia adelante
+ * y confirma: así varios nodos se reparten la tabla y ninguna fila queda bloqueada mientras se llama a la
+ * pasarela. Después, por cada evento, se llama a la pasarela sin transacción y el resultado se guarda en una
+ * transacción corta: el pago queda APROBADO (y la reserva pasa a PAGADA) o RECHAZADO (y la reserva se cancela,
+ * liberando la franja).
+ * <p>
+ * Si la pasarela falla, el evento se reintenta después de {@code initial-backoff}, el doble cada vez hasta
+ * {@code max-backoff} y con un poco de azar para que los reintentos no lleguen todos juntos; después de
+ * {@code max-attempts} queda FALLIDO, el pago RECHAZADO y la reserva cancelada, para que la franja no quede
+ * tomada por un cobro que nunca se resolvió (el evento queda para revisarlo a mano). Si el nodo se cae a mitad de
+ * lote, los eventos vuelven a estar disponibles cuando vence el {@code lease}.
+ * <p>
+ * Métricas: {@code pago.despachos} por {@code resultado} (aprobado, rechazado, reintento, agotado), cuya tasa es
+ * el throughput, {@code pago.pasarela} (latencia de la pasarela) y {@code pago.despachos.lote}.
+ */
+@Component
+public class DespachoPagos {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DespachoPagos.class);
+
+    private static final int LARGO_ERROR = 500;
+
+    private final PagoEventoRepository pagoEventoRepository;
+    private final PagoRepository pagoRepository;
+    private final ReservaRepository reservaRepository;
+    private final ProcesoReservaService procesoReservaService;
+    private final PasarelaPago pasarela;
+    private final TransactionTemplate transaccion;
+    private final Executor taskExecutor;
+    private final ObjectProvider<TaskScheduler> taskScheduler;
+    private final ApplicationProperties.Payment propiedades;
+
+    private final AtomicBoolean enCurso = new AtomicBoolean();
+    private volatile TaskScheduler scheduler;
+
+    private final Counter aprobados;
+    private final Counter rechazados;
+    private final Counter reintentos;
+    private final Counter agotados;
+    private final Timer llamadasOk;
+    private final Timer llamadasError;
+    private final Timer lotes;
+
+    public DespachoPagos(
+        PagoEventoRepository pagoEventoRepository,
+        PagoRepository pagoRepository,
+        ReservaRepository reservaRepository,
+        ProcesoReservaService procesoReservaService,
+        PasarelaPago pasarela,
+        PlatformTransactionManager transactionManager,
+        @Qualifier("taskExecutor") Executor taskExecutor,
+        ObjectProvider<TaskScheduler> taskScheduler,
+        ApplicationProperties applicationProperties,
+        MeterRegistry registry
+    ) {
+        this.pagoEventoRepository = pagoEventoRepository;
+        this.pagoRepository = pagoRepository;
+        this.reservaRepository = reservaRepository;
+        this.procesoReservaService = procesoReservaService;
+        this.pasarela = pasarela;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.taskScheduler = taskScheduler;
+        this.propiedades = applicationProperties.getPayment();
+        this.aprobados = contador(registry, "aprobado");
+        this.rechazados = contador(registry, "rechazado");
+        this.reintentos = contador(registry, "reintento");
+        this.agotados = contador(registry, "agotado");
+        this.llamadasOk = llamadas(registry, "ok");
+        this.llamadasError = llamadas(registry, "error");
+        this.lotes = Timer.builder("pago.despachos.lote").description("Duración de cada lote de pagos despachados").register(registry);
+    }
+
+    private static Counter contador(MeterRegistry registry, String resultado) {
+        return Counter.builder("pago.despachos")
+            .description("Pagos enviados a la pasarela, por resultado")
+            .tag("resultado", resultado)
+            .register(registry);
+    }
+
+    private static Timer llamadas(MeterRegistry registry, String resultado) {
+        return Timer.builder("pago.pasarela")
+            .description("Latencia de las llamadas a la pasarela de pagos")
+            .tag("resultado", resultado)
+            .register(registry);
+    }
+
+    /**
+     * Programa los despachos. Sin scheduler (sin {@code @EnableScheduling}, como en los tests) no se programa
+     * nada y {@link #despachar()} se llama a mano.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        taskScheduler.ifAvailable(s -> {
+            scheduler = s;
+            s.scheduleWithFixedDelay(this::lanzar, propiedades.getPollInterval());
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservaModificada(ReservaModificadaEvent event) {
+        TaskScheduler s = scheduler;
+        if (event.tipo() == ReservaModificadaEvent.Tipo.PAGO_REGISTRADO && s != null) {
+            // Desde el scheduler: con CALLER_RUNS, un executor lleno no despacha en el hilo del pedido
+            s.schedule(this::lanzar, Instant.now());
+        }
+    }
+
+    /**
+     * Lanza un despacho en el {@code taskExecutor} si no hay uno en curso.
+     */
+    void lanzar() {
+        if (!enCurso.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            taskExecutor.execute(() -> {
+                try {
+                    despachar();
+                } catch (RuntimeException e) {
+                    LOG.warn("Falló el despacho de pagos: {}", e.getMessage());
+                } finally {
+                    enCurso.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            enCurso.set(false);
+        }
+    }
+
+    /**
+     * Despacha lotes mientras haya eventos vencidos; devuelve cuántos se tomaron.
+     */
+    public int despachar() {
+        int total = 0;
+        List<PagoEvento> lote;
+        do {
+            Timer.Sample muestra = Timer.start();
+            lote = tomarLote();
+            lote.forEach(this::procesar);
+            muestra.stop(lotes);
+            total += lote.size();
+        } while (lote.size() == propiedades.getBatchSize());
+        if (total > 0) {
+            LOG.debug("Se despacharon {} pagos", total);
+        }
+        return total;
+    }
+
+    /**
+     * Espera antes del intento siguiente al número {@code intentos}: {@code inicial * 2^(intentos - 1)}, como mucho {@code maxima}.
+     */
+    static Duration espera(int intentos, Duration inicial, Duration maxima) {
+        int duplicaciones = Math.min(Math.max(intentos - 1, 0), 30);
+        Duration espera = inicial.multipliedBy(1L << duplicaciones);
+        return espera.compareTo(maxima) > 0 ? maxima : espera;
+    }
+
+    private List<PagoEvento> tomarLote() {
+        return transaccion.execute(status -> {
+            Instant ahora = Instant.now();
+            List<PagoEvento> eventos = pagoEventoRepository.findParaDespacharForUpdate(
+                ahora,
+                PageRequest.of(0, propiedades.getBatchSize())
+            );
+            for (PagoEvento e : eventos) {
+                e.setIntentos(e.getIntentos() + 1);
+                e.setProximoIntento(ahora.plus(propiedades.getLease()));
+            }
+            return eventos;
+        });
+    }
+
+    private void procesar(PagoEvento evento) {
+        PasarelaPago.SolicitudCobro solicitud = new PasarelaPago.SolicitudCobro(
+            evento.getPagoId(),
+            evento.getReservaId(),
+            evento.getMonto(),
+            "pago-" + evento.getPagoId()
+        );
+        PasarelaPago.ResultadoCobro resultado;
+        Timer.Sample muestra = Timer.start();
+        try {
+            resultado = pasarela.cobrar(solicitud);
+            muestra.stop(llamadasOk);
+        } catch (RuntimeException e) {
+            muestra.stop(llamadasError);
+            reprogramar(evento, e);
+            return;
+        }
+        try {
+            // Las métricas cuentan recién con el resultado confirmado
+            incrementar(transaccion.execute(status -> registrar(evento.getId(), resultado)));
+        } catch (RuntimeException e) {
+            // La pasarela ya respondió: al vencer el lease se le vuelve a preguntar con la misma clave
+            LOG.warn("No se pudo guardar el resultado del pago {}: {}", evento.getPagoId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Guarda el resultado de la pasarela; devuelve el contador a incrementar cuando confirme la transacción.
+     */
+    private Counter registrar(Long eventoId, PasarelaPago.ResultadoCobro resultado) {
+        PagoEvento evento = pagoEventoRepository.findById(eventoId).orElse(null);
+        if (evento == null || evento.getEstado() != EstadoPagoEvento.PENDIENTE) {
+            // Pago borrado, o lo resolvió otro nodo después de vencer el lease
+            return null;
+        }
+        evento.setEstado(EstadoPagoEvento.PROCESADO);
+        evento.setProcesadoEn(Instant.now());
+        evento.setUltimoError(resultado.aprobado() ? null : StringUtils.abbreviate(resultado.motivo(), LARGO_ERROR));
+        EstadoPago estado = resultado.aprobado() ? EstadoPago.APROBADO : EstadoPago.RECHAZADO;
+        pagoRepository.findById(evento.getPagoId()).ifPresent(pago -> pago.estado(estado).referencia(resultado.referencia()));
+        if (resultado.aprobado()) {
+            if (!procesoReservaService.confirmarPago(evento.getReservaId(), evento.getPagoId())) {
+                // Se canceló mientras se cobraba: el cobro queda registrado para devolverlo
+                LOG.warn("Pago {} aprobado para la reserva {}, que ya no está activa", evento.getPagoId(), evento.getReservaId());
+            }
+            return aprobados;
+        }
+        LOG.info("Pago {} de la reserva {} rechazado: {}", evento.getPagoId(), evento.getReservaId(), resultado.motivo());
+        cancelarReserva(evento.getReservaId());
+        return rechazados;
+    }
+
+    private static void incrementar(Counter contador) {
+        if (contador != null) {
+            contador.increment();
+        }
+    }
+
+    /**
+     * Cancela la reserva de un pago que no se va a cobrar, para liberar la franja; si ya no está activa no hace nada.
+     */
+    private void cancelarReserva(Long reservaId) {
+        boolean cancelable = reservaRepository
+            .findResumenById(reservaId)
+            .map(r -> r.getEstado().puedePasarA(EstadoReserva.CANCELADA))
+            .orElse(false);
+        if (cancelable) {
+            procesoReservaService.cancelar(reservaId);
+        }
+    }
+
+    private void reprogramar(PagoEvento tomado, RuntimeException error) {
+        try {
+            incrementar(transaccion.execute(status -> guardarFallo(tomado.getId(), error)));
+        } catch (RuntimeException e) {
+            // Se reintenta igual cuando vence el lease
+            LOG.warn("No se pudo reprogramar el pago {}: {}", tomado.getPagoId(), e.getMessage());
+        }
+    }
+
+    /**
+     * Guarda el fallo y programa el próximo intento; devuelve el contador a incrementar cuando confirme la transacción.
+     */
+    private Counter guardarFallo(Long eventoId, RuntimeException error) {
+        PagoEvento evento = pagoEventoRepository.findById(eventoId).orElse(null);
+        if (evento == null || evento.getEstado() != EstadoPagoEvento.PENDIENTE) {
+            return null;
+        }
+        evento.setUltimoError(StringUtils.abbreviate(String.valueOf(error), LARGO_ERROR));
+        if (evento.getIntentos() >= propiedades.getMaxAttempts()) {
+            evento.setEstado(EstadoPagoEvento.FALLIDO);
+            LOG.error(
+                "El pago {} falló {} veces y no se reintenta más, se cancela la reserva {}: {}",
+                evento.getPagoId(),
+                evento.getIntentos(),
+                evento.getReservaId(),
+                error.getMessage()
+            );
+            pagoRepository.findById(evento.getPagoId()).ifPresent(pago -> pago.estado(EstadoPago.RECHAZADO));
+            cancelarReserva(evento.getReservaId());
+            return agotados;
+        }
+        Duration espera = espera(evento.getIntentos(), propiedades.getInitialBackoff(), propiedades.getMaxBackoff());
+        // Hasta un 20 % menos, para que los reintentos de un mismo corte no lleguen todos juntos
+        long azar = (long) (espera.toMillis() * 0.2 * ThreadLocalRandom.current().nextDouble());
+        evento.setProximoIntento(Instant.now().plus(espera).minusMillis(azar));
+        LOG.warn(
+            "Falló el cobro del pago {} (intento {}), se reintenta en {}: {}",
+            evento.getPagoId(),
+            evento.getIntentos(),
+            espera,
+            error.getMessage()
+        );
+        return reintentos;
+    }
+}
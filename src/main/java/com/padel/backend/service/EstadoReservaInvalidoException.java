@@ -0,0 +1,12 @@
+package com.padel.backend.service;
+
+import com.padel.backend.domain.enumeration.EstadoReserva;
+
+public class EstadoReservaInvalidoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public EstadoReservaInvalidoException(Long reservaId, EstadoReserva actual, EstadoReserva pedido) {
+        super("La reserva " + reservaId + " está " + actual + " y no puede pasar a " + pedido + ".");
+    }
+}
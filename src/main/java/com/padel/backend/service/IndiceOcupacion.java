@@ -0,0 +1,257 @@
+package com.padel.backend.service;
+
+import com.padel.backend.domain.Reserva;
+import com.padel.backend.repository.ReservaRepository;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Índice en memoria de la ocupación de cada cancha por día.
+ * <p>
+ * Cada entrada (canchaId, fecha) guarda las franjas reservadas ordenadas por hora de inicio, de
+ * modo que saber si una franja está libre es una búsqueda binaria y no una consulta a la base.
+ * <p>
+ * Las entradas se cargan desde la base la primera vez que se consultan (el índice arranca vacío
+ * en cada inicio de la aplicación) y se mantienen al día con {@link ReservaModificadaEvent}, que
+ * sólo se procesa después del commit. El índice es local al nodo; con varios nodos los cambios de
+ * los demás llegan por {@link BusInvalidacionCache}.
+ * <p>
+ * La consulta a la base se hace fuera del mapa (no dentro de {@code computeIfAbsent}, que bloquearía
+ * las demás claves del mismo bin mientras dura). Para que un cambio confirmado durante la carga no se
+ * pierda, cada cambio sube una generación antes de aplicarse: la carga se guarda con {@code putIfAbsent}
+ * y, si la generación se movió mientras tanto, se descarta y se vuelve a leer.
+ */
+@Component
+public class IndiceOcupacion {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IndiceOcupacion.class);
+
+    private final ReservaRepository reservaRepository;
+
+    private final Map<Clave, OcupacionDia> ocupaciones = new ConcurrentHashMap<>();
+
+    private final AtomicLong generacion = new AtomicLong();
+
+    public IndiceOcupacion(ReservaRepository reservaRepository) {
+        this.reservaRepository = reservaRepository;
+    }
+
+    /**
+     * Indica si la franja [horaInicio, horaFin) no se superpone con ninguna reserva de la cancha ese día.
+     */
+    public boolean estaLibre(Long canchaId, LocalDate fecha, LocalTime horaInicio, LocalTime horaFin) {
+        OcupacionDia ocupacion = obtener(new Clave(canchaId, fecha));
+        return !ocupacion.seSuperpone(horaInicio.toSecondOfDay(), horaFin.toSecondOfDay());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservaModificada(ReservaModificadaEvent event) {
+        if (event.canchaId() == null || event.fecha() == null || !event.cambiaOcupacion()) {
+            return;
+        }
+        generacion.incrementAndGet();
+        Clave clave = new Clave(event.canchaId(), event.fecha());
+        if (event.tipo() == ReservaModificadaEvent.Tipo.CREADA) {
+            ocupaciones.computeIfPresent(clave, (k, ocupacion) ->
+                ocupacion.con(event.reservaId(), event.horaInicio().toSecondOfDay(), event.horaFin().toSecondOfDay())
+            );
+        } else if (event.tipo() == ReservaModificadaEvent.Tipo.CANCELADA) {
+            ocupaciones.computeIfPresent(clave, (k, ocupacion) -> ocupacion.sin(event.reservaId()));
+        } else {
+            ocupaciones.remove(clave);
+        }
+    }
+
+    /**
+     * Carga la ocupación de la cancha ese día si todavía no está en el índice (calentamiento al arrancar).
+     */
+    public void precargar(Long canchaId, LocalDate fecha) {
+        obtener(new Clave(canchaId, fecha));
+    }
+
+    /**
+     * Descarta todo el índice; las entradas se vuelven a cargar desde la base a medida que se consultan.
+     */
+    public void limpiar() {
+        generacion.incrementAndGet();
+        ocupaciones.clear();
+    }
+
+    /**
+     * Los días pasados ya no se consultan: se quitan del índice para que no crezca indefinidamente.
+     */
+    @Scheduled(cron = "0 5 0 * * ?")
+    public void descartarDiasPasados() {
+        LocalDate hoy = LocalDate.now();
+        ocupaciones.keySet().removeIf(clave -> clave.fecha().isBefore(hoy));
+        LOG.debug("Índice de ocupación con {} días cargados", ocupaciones.size());
+    }
+
+    private OcupacionDia obtener(Clave clave) {
+        OcupacionDia ocupacion = ocupaciones.get(clave);
+        while (ocupacion == null) {
+            long leida = generacion.get();
+            OcupacionDia cargada = cargar(clave);
+            OcupacionDia anterior = ocupaciones.putIfAbsent(clave, cargada);
+            if (anterior != null) {
+                // Otro hilo la cargó primero
+                return anterior;
+            }
+            if (generacion.get() == leida) {
+                return cargada;
+            }
+            // Un cambio se confirmó durante la carga y pudo no estar en la lectura: se descarta y se relee
+            ocupaciones.remove(clave, cargada);
+            ocupacion = ocupaciones.get(clave);
+        }
+        return ocupacion;
+    }
+
+    private OcupacionDia cargar(Clave clave) {
+        LOG.debug("Cargando ocupación de la cancha {} para el {}", clave.canchaId(), clave.fecha());
+        List<Reserva> reservas = reservaRepository.findActivasByCanchaIdAndFecha(clave.canchaId(), clave.fecha());
+        return OcupacionDia.de(reservas);
+    }
+
+    private record Clave(Long canchaId, LocalDate fecha) {}
+
+    /**
+     * Franjas ocupadas de un día, inmutable. Las franjas están ordenadas por inicio y
+     * {@code maxFin[i]} guarda el mayor fin entre las franjas 0..i, lo que permite responder
+     * superposiciones con una búsqueda binaria aun si en la base quedaron reservas solapadas.
+     */
+    static final class OcupacionDia {
+
+        private static final OcupacionDia VACIA = new OcupacionDia(new long[0], new int[0], new int[0]);
+
+        private final long[] ids;
+        private final int[] inicios;
+        private final int[] fines;
+        private final int[] maxFin;
+
+        private OcupacionDia(long[] ids, int[] inicios, int[] fines) {
+            this.ids = ids;
+            this.inicios = inicios;
+            this.fines = fines;
+            this.maxFin = new int[fines.length];
+            int max = Integer.MIN_VALUE;
+            for (int i = 0; i < fines.length; i++) {
+                max = Math.max(max, fines[i]);
+                maxFin[i] = max;
+            }
+        }
+
+        static OcupacionDia de(List<Reserva> reservas) {
+            if (reservas.isEmpty()) {
+                return VACIA;
+            }
+            Reserva[] ordenadas = reservas.toArray(new Reserva[0]);
+            Arrays.sort(ordenadas, Comparator.comparing(Reserva::getHoraInicio));
+            long[] ids = new long[ordenadas.length];
+            int[] inicios = new int[ordenadas.length];
+            int[] fines = new int[ordenadas.length];
+            for (int i = 0; i < ordenadas.length; i++) {
+                ids[i] = ordenadas[i].getId();
+                inicios[i] = ordenadas[i].getHoraInicio().toSecondOfDay();
+                fines[i] = ordenadas[i].getHoraFin().toSecondOfDay();
+            }
+            return new OcupacionDia(ids, inicios, fines);
+        }
+
+        int size() {
+            return ids.length;
+        }
+
+        /**
+         * Devuelve una copia con la franja agregada; si la reserva ya estaba, devuelve la misma instancia.
+         */
+        OcupacionDia con(long id, int inicio, int fin) {
+            for (long existente : ids) {
+                if (existente == id) {
+                    return this;
+                }
+            }
+            int pos = ultimoInicioMenorA(inicio + 1) + 1;
+            int n = ids.length;
+            long[] nuevosIds = new long[n + 1];
+            int[] nuevosInicios = new int[n + 1];
+            int[] nuevosFines = new int[n + 1];
+            System.arraycopy(ids, 0, nuevosIds, 0, pos);
+            System.arraycopy(inicios, 0, nuevosInicios, 0, pos);
+            System.arraycopy(fines, 0, nuevosFines, 0, pos);
+            nuevosIds[pos] = id;
+            nuevosInicios[pos] = inicio;
+            nuevosFines[pos] = fin;
+            System.arraycopy(ids, pos, nuevosIds, pos + 1, n - pos);
+            System.arraycopy(inicios, pos, nuevosInicios, pos + 1, n - pos);
+            System.arraycopy(fines, pos, nuevosFines, pos + 1, n - pos);
+            return new OcupacionDia(nuevosIds, nuevosInicios, nuevosFines);
+        }
+
+        /**
+         * Devuelve una copia sin la franja de la reserva; si no estaba, devuelve la misma instancia.
+         */
+        OcupacionDia sin(long id) {
+            int pos = -1;
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    pos = i;
+                    break;
+                }
+            }
+            if (pos < 0) {
+                return this;
+            }
+            int n = ids.length - 1;
+            if (n == 0) {
+                return VACIA;
+            }
+            long[] nuevosIds = new long[n];
+            int[] nuevosInicios = new int[n];
+            int[] nuevosFines = new int[n];
+            System.arraycopy(ids, 0, nuevosIds, 0, pos);
+            System.arraycopy(inicios, 0, nuevosInicios, 0, pos);
+            System.arraycopy(fines, 0, nuevosFines, 0, pos);
+            System.arraycopy(ids, pos + 1, nuevosIds, pos, n - pos);
+            System.arraycopy(inicios, pos + 1, nuevosInicios, pos, n - pos);
+            System.arraycopy(fines, pos + 1, nuevosFines, pos, n - pos);
+            return new OcupacionDia(nuevosIds, nuevosInicios, nuevosFines);
+        }
+
+        /**
+         * Hay superposición si alguna franja empieza antes de {@code fin} y termina después de {@code inicio}.
+         */
+        boolean seSuperpone(int inicio, int fin) {
+            int ultimo = ultimoInicioMenorA(fin);
+            return ultimo >= 0 && maxFin[ultimo] > inicio;
+        }
+
+        private int ultimoInicioMenorA(int valor) {
+            int lo = 0;
+            int hi = inicios.length - 1;
+            int resultado = -1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                if (inicios[mid] < valor) {
+                    resultado = mid;
+                    lo = mid + 1;
+                } else {
+                    hi = mid - 1;
+                }
+            }
+            return resultado;
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.padel.backend.service;
+
+import com.padel.backend.domain.User;
+import com.padel.backend.repository.UserRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.AbstractCollectionEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEvent;
+import org.hibernate.event.spi.PostCollectionRecreateEventListener;
+import org.hibernate.event.spi.PostCollectionRemoveEvent;
+import org.hibernate.event.spi.PostCollectionRemoveEventListener;
+import org.hibernate.event.spi.PostCollectionUpdateEvent;
+import org.hibernate.event.spi.PostCollectionUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.metamodel.mapping.EntityMappingType;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * Traduce los cambios que Hibernate escribe en la base a mensajes de {@link BusInvalidacionCache}.
+ * <p>
+ * Por cada entidad cacheada que se modifica o borra manda su id; por cada cambio en una entidad
+ * que es elemento de una colección cacheada (por ejemplo un {@code Horario} de {@code Cancha.horarios})
+ * descarta el rol entero, porque el dueño anterior no siempre se conoce. Los usuarios además
+ * descartan las claves de {@code usersByLogin} y {@code usersByEmail}, con el login y el email
+ * viejos y nuevos.
+ */
+class ListenerInvalidacionHibernate
+    implements
+        PostInsertEventListener,
+        PostUpdateEventListener,
+        PostDeleteEventListener,
+        PostCollectionRecreateEventListener,
+        PostCollectionUpdateEventListener,
+        PostCollectionRemoveEventListener {
+
+    private final String nodo;
+
+    private final Consumer<MensajeInvalidacion> publicar;
+
+    /** Para cada entidad, los roles de las colecciones cacheadas que la tienen como elemento. */
+    private final Map<String, List<String>> rolesPorElemento = new HashMap<>();
+
+    ListenerInvalidacionHibernate(SessionFactoryImplementor sessionFactory, String nodo, Consumer<MensajeInvalidacion> publicar) {
+        this.nodo = nodo;
+        this.publicar = publicar;
+        sessionFactory
+            .getMappingMetamodel()
+            .forEachCollectionDescriptor(coleccion -> {
+                if (!coleccion.hasCache()) {
+                    return;
+                }
+                // Null cuando los elementos no son entidades (valores básicos o embebidos)
+                EntityMappingType elemento = coleccion.getAttributeMapping().getElementDescriptor().asEntityMappingType();
+                if (elemento != null) {
+                    rolesPorElemento.computeIfAbsent(elemento.getEntityName(), k -> new ArrayList<>()).add(coleccion.getRole());
+                }
+            });
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        // Una entidad nueva no puede estar en el cache de otro nodo, pero sí cambiar las colecciones que la contienen
+        descartarRoles(event.getPersister());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        descartarEntidad(event.getPersister(), event.getId());
+        descartarRoles(event.getPersister());
+        if (event.getEntity() instanceof User user) {
+            descartarUsuario(event.getPersister(), event.getOldState(), user.getLogin(), user.getEmail());
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        descartarEntidad(event.getPersister(), event.getId());
+        descartarRoles(event.getPersister());
+        if (event.getEntity() instanceof User user) {
+            descartarUsuario(event.getPersister(), event.getDeletedState(), user.getLogin(), user.getEmail());
+        }
+    }
+
+    @Override
+    public void onPostRecreateCollection(PostCollectionRecreateEvent event) {
+        descartarColeccion(event);
+    }
+
+    @Override
+    public void onPostUpdateCollection(PostCollectionUpdateEvent event) {
+        descartarColeccion(event);
+    }
+
+    @Override
+    public void onPostRemoveCollection(PostCollectionRemoveEvent event) {
+        descartarColeccion(event);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        // El bus ya espera al commit de la transacción de Spring para mandar los mensajes
+        return false;
+    }
+
+    private void descartarEntidad(EntityPersister persister, Object id) {
+        if (persister.canWriteToCache()) {
+            publicar.accept(MensajeInvalidacion.entidad(nodo, persister.getEntityName(), id));
+        }
+    }
+
+    private void descartarRoles(EntityPersister persister) {
+        rolesPorElemento
+            .getOrDefault(persister.getEntityName(), List.of())
+            .forEach(rol -> publicar.accept(MensajeInvalidacion.coleccion(nodo, rol, null)));
+    }
+
+    private void descartarColeccion(AbstractCollectionEvent event) {
+        CollectionPersister persister = event.getSession()
+            .getFactory()
+            .getMappingMetamodel()
+            .getCollectionDescriptor(event.getCollection().getRole());
+        if (persister.hasCache()) {
+            publicar.accept(MensajeInvalidacion.coleccion(nodo, persister.getRole(), event.getAffectedOwnerIdOrNull()));
+        }
+    }
+
+    private void descartarUsuario(EntityPersister persister, Object[] estadoAnterior, String login, String email) {
+        descartarClave(UserRepository.USERS_BY_LOGIN_CACHE, login);
+        descartarClave(UserRepository.USERS_BY_EMAIL_CACHE, email);
+        if (estadoAnterior != null) {
+            descartarClave(UserRepository.USERS_BY_LOGIN_CACHE, estadoAnterior[persister.getPropertyIndex("login")]);
+            descartarClave(UserRepository.USERS_BY_EMAIL_CACHE, estadoAnterior[persister.getPropertyIndex("email")]);
+        }
+    }
+
+    private void descartarClave(String cache, Object clave) {
+        if (clave != null) {
+            publicar.accept(MensajeInvalidacion.cache(nodo, cache, clave.toString()));
+        }
+    }
+}
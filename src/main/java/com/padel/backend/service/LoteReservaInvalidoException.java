@@ -0,0 +1,10 @@
+package com.padel.backend.service;
+
+public class LoteReservaInvalidoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public LoteReservaInvalidoException(String message) {
+        super(message);
+    }
+}
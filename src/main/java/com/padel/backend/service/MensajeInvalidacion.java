@@ -0,0 +1,124 @@
+package com.padel.backend.service;
+
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Mensaje que un nodo manda por {@link BusInvalidacionCache} para que los demás descarten sus copias.
+ * <p>
+ * Viaja como texto en el payload de {@code NOTIFY}: {@code nodo|TIPO|dato|dato...}, con cada campo
+ * codificado como URL para que ningún dato pueda contener el separador.
+ *
+ * @param nodo  nodo que originó el cambio (cada nodo ignora sus propios mensajes).
+ * @param tipo  qué hay que descartar.
+ * @param datos datos del tipo, en el orden documentado en {@link Tipo}.
+ */
+public record MensajeInvalidacion(String nodo, Tipo tipo, List<String> datos) {
+    private static final String SEPARADOR = "|";
+
+    public enum Tipo {
+        /** Una entidad del cache de segundo nivel: nombre de la entidad, id. */
+        ENTIDAD,
+        /** Una colección del cache de segundo nivel: rol, id del dueño (vacío para todo el rol). */
+        COLECCION,
+        /** Una clave de un cache de Spring: nombre del cache, clave. */
+        CACHE,
+        /** Un {@link ReservaModificadaEvent}: reservaId, canchaId, fecha, horaInicio, horaFin, tipo. */
+        RESERVA,
+        /** Un {@link CanchaModificadaEvent}: canchaId. */
+        CANCHA,
+    }
+
+    public MensajeInvalidacion {
+        Objects.requireNonNull(nodo);
+        Objects.requireNonNull(tipo);
+        datos = List.copyOf(datos);
+    }
+
+    public static MensajeInvalidacion entidad(String nodo, String entidad, Object id) {
+        return new MensajeInvalidacion(nodo, Tipo.ENTIDAD, List.of(entidad, String.valueOf(id)));
+    }
+
+    public static MensajeInvalidacion coleccion(String nodo, String rol, Object duenoId) {
+        return new MensajeInvalidacion(nodo, Tipo.COLECCION, List.of(rol, texto(duenoId)));
+    }
+
+    public static MensajeInvalidacion cache(String nodo, String cache, String clave) {
+        return new MensajeInvalidacion(nodo, Tipo.CACHE, List.of(cache, clave));
+    }
+
+    public static MensajeInvalidacion reserva(String nodo, ReservaModificadaEvent event) {
+        return new MensajeInvalidacion(
+            nodo,
+            Tipo.RESERVA,
+            List.of(
+                texto(event.reservaId()),
+                texto(event.canchaId()),
+                texto(event.fecha()),
+                texto(event.horaInicio()),
+                texto(event.horaFin()),
+                event.tipo().name()
+            )
+        );
+    }
+
+    public static MensajeInvalidacion cancha(String nodo, CanchaModificadaEvent event) {
+        return new MensajeInvalidacion(nodo, Tipo.CANCHA, List.of(texto(event.canchaId())));
+    }
+
+    /**
+     * Vuelve a armar el {@link ReservaModificadaEvent} de un mensaje {@link Tipo#RESERVA}.
+     */
+    public ReservaModificadaEvent comoReserva() {
+        return new ReservaModificadaEvent(
+            nulo(datos.get(0), Long::valueOf),
+            nulo(datos.get(1), Long::valueOf),
+            nulo(datos.get(2), LocalDate::parse),
+            nulo(datos.get(3), LocalTime::parse),
+            nulo(datos.get(4), LocalTime::parse),
+            ReservaModificadaEvent.Tipo.valueOf(datos.get(5))
+        );
+    }
+
+    /**
+     * Vuelve a armar el {@link CanchaModificadaEvent} de un mensaje {@link Tipo#CANCHA}.
+     */
+    public CanchaModificadaEvent comoCancha() {
+        return new CanchaModificadaEvent(nulo(datos.get(0), Long::valueOf));
+    }
+
+    public String codificar() {
+        List<String> campos = new ArrayList<>();
+        campos.add(nodo);
+        campos.add(tipo.name());
+        campos.addAll(datos);
+        return campos.stream().map(c -> URLEncoder.encode(c, StandardCharsets.UTF_8)).collect(Collectors.joining(SEPARADOR));
+    }
+
+    public static MensajeInvalidacion decodificar(String payload) {
+        List<String> campos = Arrays.stream(payload.split("\\" + SEPARADOR, -1))
+            .map(c -> URLDecoder.decode(c, StandardCharsets.UTF_8))
+            .toList();
+        if (campos.size() < 2) {
+            throw new IllegalArgumentException("Mensaje de invalidación mal formado: " + payload);
+        }
+        return new MensajeInvalidacion(campos.get(0), Tipo.valueOf(campos.get(1)), campos.subList(2, campos.size()));
+    }
+
+    private static String texto(Object valor) {
+        return valor == null ? "" : valor.toString();
+    }
+
+    private static <T> T nulo(String texto, Function<String, T> conversion) {
+        return texto.isEmpty() ? null : conversion.apply(texto);
+    }
+}
@@ -0,0 +1,27 @@
+package com.padel.backend.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Pasarela que cobra los pagos del proceso de reserva; {@link DespachoPagos} la llama fuera de la transacción
+ * del pedido. Se elige con {@code application.payment.gateway} ({@link PasarelaPagoLocal} por defecto).
+ * <p>
+ * Un cobro puede repetirse (reintentos, un nodo que se cayó a mitad de lote): la implementación tiene que usar
+ * {@link SolicitudCobro#claveIdempotencia()} para que el mismo pago no se cobre dos veces. Un rechazo es
+ * definitivo; cualquier excepción se toma como un error pasajero y el cobro se reintenta.
+ */
+public interface PasarelaPago {
+    ResultadoCobro cobrar(SolicitudCobro solicitud);
+
+    record SolicitudCobro(Long pagoId, Long reservaId, BigDecimal monto, String claveIdempotencia) {}
+
+    record ResultadoCobro(boolean aprobado, String referencia, String motivo) {
+        public static ResultadoCobro aprobado(String referencia) {
+            return new ResultadoCobro(true, referencia, null);
+        }
+
+        public static ResultadoCobro rechazado(String referencia, String motivo) {
+            return new ResultadoCobro(false, referencia, motivo);
+        }
+    }
+}
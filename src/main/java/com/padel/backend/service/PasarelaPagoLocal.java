@@ -0,0 +1,17 @@
+package com.padel.backend.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pasarela de desarrollo y tests: aprueba todos los pagos sin salir de la aplicación.
+ */
+@Component
+@ConditionalOnProperty(prefix = "application.payment", name = "gateway", havingValue = "local", matchIfMissing = true)
+public class PasarelaPagoLocal implements PasarelaPago {
+
+    @Override
+    public ResultadoCobro cobrar(SolicitudCobro solicitud) {
+        return ResultadoCobro.aprobado("local-" + solicitud.claveIdempotencia());
+    }
+}
@@ -0,0 +1,10 @@
+package com.padel.backend.service;
+
+public class PedidoIdempotenteEnCursoException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PedidoIdempotenteEnCursoException(String clave) {
+        super("El pedido con Idempotency-Key " + clave + " todavía se está procesando; reintente en unos segundos.");
+    }
+}
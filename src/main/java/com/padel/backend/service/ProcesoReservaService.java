@@ -1,122 +1,437 @@
 package com.padel.backend.service;
 
+import com.padel.backend.config.ApplicationProperties;
+import com.padel.backend.domain.Cancha;
+import com.padel.backend.domain.Horario;
 import com.padel.backend.domain.Pago;
+import com.padel.backend.domain.PagoEvento;
 import com.padel.backend.domain.Reserva;
+import com.padel.backend.domain.Usuario;
+import com.padel.backend.domain.enumeration.EstadoPago;
+import com.padel.backend.domain.enumeration.EstadoReserva;
 import com.padel.backend.repository.CanchaRepository;
+import com.padel.backend.repository.HorarioRepository;
+import com.padel.backend.repository.PagoEventoRepository;
 import com.padel.backend.repository.PagoRepository;
 import com.padel.backend.repository.ReservaRepository;
 import com.padel.backend.repository.UsuarioRepository;
+import com.padel.backend.service.dto.DisponibilidadCanchaDTO;
+import com.padel.backend.service.dto.DisponibilidadDiaDTO;
+import com.padel.backend.service.dto.FiltroReservaDTO;
+import com.padel.backend.service.dto.FranjaHorariaDTO;
+import com.padel.backend.service.dto.ReservaLoteRequestDTO;
+import com.padel.backend.service.dto.ReservaLoteResponseDTO;
 import com.padel.backend.service.dto.ReservaRequestDTO;
 import com.padel.backend.service.dto.ReservaResponseDTO;
 import com.padel.backend.service.dto.ReservaValidacionDTO;
 import jakarta.transaction.Transactional;
-import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.DayOfWeek;
+import java.time.Duration;
 import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.time.format.TextStyle;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
 @Service
 public class ProcesoReservaService {
 
+    private static final Pattern DIACRITICOS = Pattern.compile("\\p{M}");
+
+    // Tope de franjas por lote (una temporada semanal completa entra de sobra)
+    private static final int MAX_FRANJAS_POR_LOTE = 200;
+
     private final ReservaRepository reservaRepository;
     private final CanchaRepository canchaRepository;
     private final UsuarioRepository usuarioRepository;
     private final PagoRepository pagoRepository;
+    private final PagoEventoRepository pagoEventoRepository;
+    private final HorarioRepository horarioRepository;
+    private final IndiceOcupacion indiceOcupacion;
+    private final CacheDisponibilidad cacheDisponibilidad;
+    private final TarifaCanchas tarifaCanchas;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration duracionRetencion;
 
     public ProcesoReservaService(
         ReservaRepository reservaRepository,
         CanchaRepository canchaRepository,
         UsuarioRepository usuarioRepository,
-        PagoRepository pagoRepository
+        PagoRepository pagoRepository,
+        PagoEventoRepository pagoEventoRepository,
+        HorarioRepository horarioRepository,
+        IndiceOcupacion indiceOcupacion,
+        CacheDisponibilidad cacheDisponibilidad,
+        TarifaCanchas tarifaCanchas,
+        ApplicationEventPublisher eventPublisher,
+        ApplicationProperties applicationProperties
     ) {
         this.reservaRepository = reservaRepository;
         this.canchaRepository = canchaRepository;
         this.usuarioRepository = usuarioRepository;
         this.pagoRepository = pagoRepository;
+        this.pagoEventoRepository = pagoEventoRepository;
+        this.horarioRepository = horarioRepository;
+        this.indiceOcupacion = indiceOcupacion;
+        this.cacheDisponibilidad = cacheDisponibilidad;
+        this.tarifaCanchas = tarifaCanchas;
+        this.eventPublisher = eventPublisher;
+        this.duracionRetencion = applicationProperties.getHold().getDuration();
     }
 
     // --------------------------------------------------------
     // VALIDACIÓN DE DISPONIBILIDAD
+    // (se resuelve en memoria con el índice de ocupación)
     // --------------------------------------------------------
     public boolean validarDisponibilidad(ReservaValidacionDTO req) {
-        LocalDate fecha = LocalDate.parse(req.getFecha());
-        LocalTime horaInicio = LocalTime.parse(req.getHoraInicio());
-        LocalTime horaFin = LocalTime.parse(req.getHoraFin());
-
-        return !reservaRepository.existsByCanchaIdAndFechaAndHoraInicioLessThanEqualAndHoraFinGreaterThanEqual(
-            req.getCanchaId(),
-            fecha,
-            horaInicio,
-            horaFin
-        );
+        return indiceOcupacion.estaLibre(req.getCanchaId(), req.getFecha(), req.getHoraInicio(), req.getHoraFin());
+    }
+
+    // --------------------------------------------------------
+    // GRILLA DE DISPONIBILIDAD DEL DÍA
+    // (se sirve desde CacheDisponibilidad; en un fallo, como mucho dos consultas:
+    //  horarios con su cancha + franjas ocupadas del día)
+    // --------------------------------------------------------
+    @Transactional
+    public DisponibilidadDiaDTO disponibilidad(LocalDate fecha) {
+        long generacion = cacheDisponibilidad.generacion();
+
+        List<CacheDisponibilidad.HorarioDelDia> horarios = cacheDisponibilidad.obtenerHorariosDelDia(fecha.getDayOfWeek());
+        if (horarios == null) {
+            horarios = cargarHorariosDelDia(fecha.getDayOfWeek());
+            cacheDisponibilidad.guardarHorariosDelDia(fecha.getDayOfWeek(), horarios, generacion);
+        }
+        Map<Long, List<CacheDisponibilidad.HorarioDelDia>> horariosPorCancha = horarios
+            .stream()
+            .collect(Collectors.groupingBy(CacheDisponibilidad.HorarioDelDia::canchaId, LinkedHashMap::new, Collectors.toList()));
+
+        List<DisponibilidadCanchaDTO> canchas = new ArrayList<>(horariosPorCancha.size());
+        Map<Long, List<ReservaRepository.FranjaOcupada>> ocupadasPorCancha = null;
+        for (Map.Entry<Long, List<CacheDisponibilidad.HorarioDelDia>> entry : horariosPorCancha.entrySet()) {
+            DisponibilidadCanchaDTO canchaDto = cacheDisponibilidad.obtenerGrilla(entry.getKey(), fecha);
+            if (canchaDto == null) {
+                // Una sola consulta de ocupación para todas las canchas que no estaban en cache
+                if (ocupadasPorCancha == null) {
+                    ocupadasPorCancha = reservaRepository
+                        .findFranjasOcupadasByFecha(fecha)
+                        .stream()
+                        .collect(Collectors.groupingBy(ReservaRepository.FranjaOcupada::getCanchaId));
+                }
+                canchaDto = armarGrilla(entry.getValue(), ocupadasPorCancha.getOrDefault(entry.getKey(), List.of()));
+                cacheDisponibilidad.guardarGrilla(fecha, canchaDto, generacion);
+            }
+            canchas.add(canchaDto);
+        }
+
+        DisponibilidadDiaDTO dto = new DisponibilidadDiaDTO();
+        dto.setFecha(fecha.toString());
+        dto.setCanchas(List.copyOf(canchas));
+        return dto;
+    }
+
+    private List<CacheDisponibilidad.HorarioDelDia> cargarHorariosDelDia(DayOfWeek dia) {
+        List<CacheDisponibilidad.HorarioDelDia> horarios = new ArrayList<>();
+        for (Horario h : horarioRepository.findAllConCanchaOrdenados()) {
+            if (correspondeAlDia(h.getDia(), dia)) {
+                Cancha c = h.getCancha();
+                horarios.add(new CacheDisponibilidad.HorarioDelDia(c.getId(), c.getNombre(), h.getHoraInicio(), h.getHoraFin()));
+            }
+        }
+        return horarios;
+    }
+
+    private static DisponibilidadCanchaDTO armarGrilla(
+        List<CacheDisponibilidad.HorarioDelDia> horarios,
+        List<ReservaRepository.FranjaOcupada> ocupadas
+    ) {
+        DisponibilidadCanchaDTO canchaDto = new DisponibilidadCanchaDTO();
+        canchaDto.setCanchaId(horarios.get(0).canchaId());
+        canchaDto.setNombre(horarios.get(0).nombre());
+        boolean[] libres = new boolean[horarios.size()];
+        for (CacheDisponibilidad.HorarioDelDia h : horarios) {
+            libres[canchaDto.getFranjas().size()] = !seSuperpone(ocupadas, h.horaInicio(), h.horaFin());
+            canchaDto.getFranjas().add(new FranjaHorariaDTO(h.horaInicio().toString(), h.horaFin().toString()));
+        }
+        canchaDto.setLibres(libres);
+        return canchaDto;
     }
 
     // --------------------------------------------------------
     // REGISTRAR RESERVA
+    // (queda retenida como PENDIENTE: si no se paga antes de expiraEn,
+    //  VencimientoReservas la cancela y libera la franja)
     // --------------------------------------------------------
     @Transactional
     public ReservaResponseDTO registrar(ReservaRequestDTO req) {
-        boolean disponible = validarDisponibilidad(toValidacion(req));
+        LocalDate fecha = req.getFecha();
+        LocalTime horaInicio = req.getHoraInicio();
+        LocalTime horaFin = req.getHoraFin();
 
-        if (!disponible) {
-            throw new RuntimeException("La cancha ya está reservada en ese horario.");
-        }
+        // Bloqueo de la fila de la cancha hasta el commit: el chequeo + insert queda serializado por cancha
+        Cancha cancha = canchaRepository
+            .findByIdForUpdate(req.getCanchaId())
+            .orElseThrow(() -> new RuntimeException("Cancha no encontrada: " + req.getCanchaId()));
 
-        LocalDate fecha = LocalDate.parse(req.getFecha());
-        LocalTime horaInicio = LocalTime.parse(req.getHoraInicio());
-        LocalTime horaFin = LocalTime.parse(req.getHoraFin());
+        // Antes de escribir se consulta la base (no el índice, que se actualiza después del commit)
+        if (reservaRepository.existeSolapamiento(cancha.getId(), fecha, horaInicio, horaFin)) {
+            throw new ReservaNoDisponibleException();
+        }
 
         Reserva r = new Reserva();
         r.setFecha(fecha);
         r.setHoraInicio(horaInicio);
         r.setHoraFin(horaFin);
+        r.setEstado(EstadoReserva.PENDIENTE);
+        r.setExpiraEn(Instant.now().plus(duracionRetencion));
 
-        r.setCancha(canchaRepository.getReferenceById(req.getCanchaId()));
+        r.setCancha(cancha);
         r.setUsuario(usuarioRepository.getReferenceById(req.getUsuarioId()));
 
         Reserva guardada = reservaRepository.save(r);
+
+        // El índice de ocupación y el vencimiento se actualizan recién cuando la transacción hace commit
+        eventPublisher.publishEvent(
+            ReservaModificadaEvent.creada(guardada.getId(), req.getCanchaId(), fecha, horaInicio, horaFin)
+        );
+        eventPublisher.publishEvent(new ReservaRetenidaEvent(guardada.getId(), guardada.getExpiraEn()));
+
         return toResponse(guardada);
     }
 
+    // --------------------------------------------------------
+    // REGISTRAR RESERVAS EN LOTE (recurrentes / varias franjas)
+    // Una sola consulta valida todas las franjas; los inserts van en batch JDBC.
+    // --------------------------------------------------------
+    @Transactional
+    public ReservaLoteResponseDTO registrarLote(ReservaLoteRequestDTO req) {
+        List<Reserva> pedidas = expandirFranjas(req);
+        if (pedidas.isEmpty()) {
+            throw new LoteReservaInvalidoException("El lote no tiene franjas para reservar.");
+        }
+        if (pedidas.size() > MAX_FRANJAS_POR_LOTE) {
+            throw new LoteReservaInvalidoException("El lote supera el máximo de " + MAX_FRANJAS_POR_LOTE + " franjas.");
+        }
+
+        Cancha cancha = canchaRepository
+            .findByIdForUpdate(req.getCanchaId())
+            .orElseThrow(() -> new RuntimeException("Cancha no encontrada: " + req.getCanchaId()));
+
+        Set<LocalDate> fechas = new HashSet<>();
+        pedidas.forEach(r -> fechas.add(r.getFecha()));
+        Map<LocalDate, List<ReservaRepository.FranjaOcupada>> ocupadasPorFecha = new HashMap<>();
+        for (ReservaRepository.FranjaOcupada o : reservaRepository.findFranjasOcupadasByCanchaIdAndFechaIn(cancha.getId(), fechas)) {
+            ocupadasPorFecha.computeIfAbsent(o.getFecha(), f -> new ArrayList<>()).add(o);
+        }
+
+        Usuario usuario = usuarioRepository.getReferenceById(req.getUsuarioId());
+        Map<LocalDate, List<Reserva>> aceptadasPorFecha = new HashMap<>();
+        List<Reserva> aGuardar = new ArrayList<>();
+        List<ReservaLoteResponseDTO.ResultadoFranjaDTO> resultados = new ArrayList<>();
+
+        for (Reserva r : pedidas) {
+            ReservaLoteResponseDTO.ResultadoFranjaDTO resultado = new ReservaLoteResponseDTO.ResultadoFranjaDTO();
+            resultado.setFecha(r.getFecha().toString());
+            resultado.setHoraInicio(r.getHoraInicio().toString());
+            resultado.setHoraFin(r.getHoraFin().toString());
+            resultados.add(resultado);
+
+            if (!r.getHoraInicio().isBefore(r.getHoraFin())) {
+                resultado.setMotivo("La hora de inicio debe ser anterior a la hora de fin.");
+            } else if (seSuperpone(ocupadasPorFecha.getOrDefault(r.getFecha(), List.of()), r.getHoraInicio(), r.getHoraFin())) {
+                resultado.setMotivo("La cancha ya está reservada en ese horario.");
+            } else if (seSuperponeConLote(aceptadasPorFecha.getOrDefault(r.getFecha(), List.of()), r)) {
+                resultado.setMotivo("La franja se superpone con otra del mismo lote.");
+            } else {
+                r.setCancha(cancha);
+                r.setUsuario(usuario);
+                aceptadasPorFecha.computeIfAbsent(r.getFecha(), f -> new ArrayList<>()).add(r);
+                aGuardar.add(r);
+                resultado.setReservada(true);
+            }
+        }
+
+        reservaRepository.saveAll(aGuardar);
+
+        ReservaLoteResponseDTO dto = new ReservaLoteResponseDTO();
+        int i = 0;
+        for (ReservaLoteResponseDTO.ResultadoFranjaDTO resultado : resultados) {
+            if (resultado.isReservada()) {
+                Reserva guardada = aGuardar.get(i++);
+                resultado.setReservaId(guardada.getId());
+                eventPublisher.publishEvent(
+                    ReservaModificadaEvent.creada(
+                        guardada.getId(),
+                        cancha.getId(),
+                        guardada.getFecha(),
+                        guardada.getHoraInicio(),
+                        guardada.getHoraFin()
+                    )
+                );
+            }
+        }
+        dto.setResultados(resultados);
+        dto.setCreadas(aGuardar.size());
+        dto.setRechazadas(resultados.size() - aGuardar.size());
+        return dto;
+    }
+
     // --------------------------------------------------------
     // CANCELAR RESERVA
+    // (no se borra: un update condicional del estado; la franja se libera
+    //  en el índice y en las caches después del commit)
     // --------------------------------------------------------
     @Transactional
     public ReservaResponseDTO cancelar(Long id) {
-        Reserva r = reservaRepository.findById(id)
+        ReservaRepository.ReservaResumen r = reservaRepository.findResumenById(id)
             .orElseThrow(() -> new RuntimeException("Reserva no encontrada: " + id));
 
-        return toResponse(r);
+        // Cancelar dos veces devuelve la reserva como está
+        if (r.getEstado() == EstadoReserva.CANCELADA) {
+            return toResponse(r);
+        }
+        cambiarEstado(r, EstadoReserva.CANCELADA);
+        eventPublisher.publishEvent(
+            ReservaModificadaEvent.cancelada(id, r.getCanchaId(), r.getFecha(), r.getHoraInicio(), r.getHoraFin())
+        );
+
+        ReservaResponseDTO dto = toResponse(r);
+        dto.setEstado(EstadoReserva.CANCELADA.name());
+        return dto;
+    }
+
+    private void cambiarEstado(ReservaRepository.ReservaResumen r, EstadoReserva nuevo) {
+        if (!r.getEstado().puedePasarA(nuevo)) {
+            throw new EstadoReservaInvalidoException(r.getId(), r.getEstado(), nuevo);
+        }
+        // El update sólo aplica si nadie cambió el estado desde la lectura
+        if (reservaRepository.cambiarEstado(r.getId(), r.getEstado(), nuevo) == 0) {
+            EstadoReserva actual = reservaRepository
+                .findResumenById(r.getId())
+                .map(ReservaRepository.ReservaResumen::getEstado)
+                .orElse(null);
+            throw new EstadoReservaInvalidoException(r.getId(), actual, nuevo);
+        }
     }
 
     // --------------------------------------------------------
     // ✅ PAGAR RESERVA (CREA PAGO + LO ASOCIA)
+    // (select de la proyección + insert del pago + update condicional; no se cargan entidades
+    //  y el monto sale de la tabla de precios en memoria)
+    // El pago queda PENDIENTE con su evento en el outbox: la pasarela se llama después, en DespachoPagos.
+    // La reserva conserva su estado (y deja de vencer) hasta que la pasarela aprueba: ahí pasa a PAGADA
     // --------------------------------------------------------
     @Transactional
     public ReservaResponseDTO pagar(Long reservaId) {
-        Reserva r = reservaRepository.findById(reservaId)
+        ReservaRepository.ReservaResumen r = reservaRepository.findResumenById(reservaId)
             .orElseThrow(() -> new RuntimeException("Reserva no encontrada: " + reservaId));
 
         // Si ya tiene pago, devolvemos como está (evita duplicados)
-        if (r.getPago() != null) {
+        if (r.getPagoId() != null) {
             return toResponse(r);
         }
+        if (!r.getEstado().puedePasarA(EstadoReserva.PAGADA)) {
+            throw new EstadoReservaInvalidoException(reservaId, r.getEstado(), EstadoReserva.PAGADA);
+        }
+        Instant ahora = Instant.now();
+        // Vencida pero todavía sin barrer: ya no se puede pagar aunque siga PENDIENTE
+        if (r.getEstado() == EstadoReserva.PENDIENTE && r.getExpiraEn() != null && !r.getExpiraEn().isAfter(ahora)) {
+            throw new RetencionVencidaException(reservaId);
+        }
 
         Pago p = new Pago();
-        p.setFecha(Instant.now());
+        p.setFecha(ahora);
+        p.setMonto(tarifaCanchas.calcularMonto(r.getCanchaId(), r.getFecha(), r.getHoraInicio(), r.getHoraFin()));
+        p.setEstado(EstadoPago.PENDIENTE);
 
-        // 👇 monto fijo por ahora (después lo hacemos dinámico con DTO si querés)
-        p.setMonto(new BigDecimal("0.00"));
+        // El insert tiene que ir antes del update por la FK reserva.pago_id
+        pagoRepository.saveAndFlush(p);
+        if (reservaRepository.asignarPago(reservaId, p, ahora) == 0) {
+            // Otro pedido la pagó, la canceló o la venció entre la lectura y el update
+            // (el update esperó a que ese pedido confirmara, así que la nueva lectura ya lo ve)
+            return pagoConcurrente(reservaId, p);
+        }
+        pagoEventoRepository.save(PagoEvento.de(p, reservaId));
+        eventPublisher.publishEvent(ReservaModificadaEvent.pagoRegistrado(reservaId, r.getCanchaId(), r.getFecha()));
 
-        // Relación 1-1 (por tu Pago.java esto setea también r.setPago(this))
-        p.setReserva(r);
+        ReservaResponseDTO dto = toResponse(r);
+        dto.setPagoId(p.getId());
+        dto.setExpiraEn(null);
+        return dto;
+    }
 
-        pagoRepository.save(p);
-        Reserva guardada = reservaRepository.save(r);
+    // --------------------------------------------------------
+    // CONFIRMAR PAGO (DespachoPagos, cuando la pasarela aprueba)
+    // (update condicional: si la reserva se canceló mientras tanto no cambia y devuelve false)
+    // --------------------------------------------------------
+    @Transactional
+    public boolean confirmarPago(Long reservaId, Long pagoId) {
+        ReservaRepository.ReservaResumen r = reservaRepository.findResumenById(reservaId).orElse(null);
+        if (r == null || reservaRepository.marcarPagada(reservaId, pagoId) == 0) {
+            return false;
+        }
+        eventPublisher.publishEvent(ReservaModificadaEvent.pagada(reservaId, r.getCanchaId(), r.getFecha()));
+        return true;
+    }
 
-        return toResponse(guardada);
+    private ReservaResponseDTO pagoConcurrente(Long reservaId, Pago descartado) {
+        ReservaRepository.ReservaResumen actual = reservaRepository.findResumenById(reservaId)
+            .orElseThrow(() -> new RuntimeException("Reserva no encontrada: " + reservaId));
+        if (actual.getPagoId() == null) {
+            // Cancelada o vencida: la excepción revierte también el pago recién creado
+            if (actual.getEstado() == EstadoReserva.PENDIENTE) {
+                throw new RetencionVencidaException(reservaId);
+            }
+            throw new EstadoReservaInvalidoException(reservaId, actual.getEstado(), EstadoReserva.PAGADA);
+        }
+        // Pagada por el otro pedido: se descarta el pago recién creado y se devuelve el que quedó,
+        // igual que si se hubiera pagado antes de llamar
+        pagoRepository.delete(descartado);
+        return toResponse(actual);
+    }
+
+    // --------------------------------------------------------
+    // VENCER RETENCIONES
+    // (un select que bloquea las que siguen vencidas + un solo update para todo el lote;
+    //  las franjas se liberan después del commit)
+    // --------------------------------------------------------
+    @Transactional
+    public List<Long> vencerRetenciones(Collection<Long> ids, Instant ahora) {
+        List<Reserva> vencidas = reservaRepository.findRetencionesVencidasForUpdate(ids, ahora);
+        if (vencidas.isEmpty()) {
+            return List.of();
+        }
+        List<Long> vencidasIds = vencidas.stream().map(Reserva::getId).toList();
+        reservaRepository.vencerRetenciones(vencidasIds);
+        for (Reserva r : vencidas) {
+            eventPublisher.publishEvent(
+                ReservaModificadaEvent.cancelada(
+                    r.getId(),
+                    r.getCancha() != null ? r.getCancha().getId() : null,
+                    r.getFecha(),
+                    r.getHoraInicio(),
+                    r.getHoraFin()
+                )
+            );
+        }
+        return vencidasIds;
     }
 
     // --------------------------------------------------------
@@ -124,35 +439,157 @@ public class ProcesoReservaService {
     // --------------------------------------------------------
     @Transactional
     public ReservaResponseDTO obtener(Long id) {
-        Reserva r = reservaRepository.findById(id)
+        ReservaRepository.ReservaResumen r = reservaRepository.findResumenById(id)
             .orElseThrow(() -> new RuntimeException("Reserva no encontrada: " + id));
 
         return toResponse(r);
     }
 
     // --------------------------------------------------------
-    // LISTAR TODAS
+    // LISTAR (PAGINADO Y FILTRADO)
     // --------------------------------------------------------
     @Transactional
-    public List<ReservaResponseDTO> listar() {
-        return reservaRepository.findAll()
-            .stream()
-            .map(this::toResponse)
-            .toList();
+    public Page<ReservaResponseDTO> listar(FiltroReservaDTO filtro, Pageable pageable) {
+        return reservaRepository
+            .buscarResumen(filtro.getCanchaId(), filtro.getUsuarioId(), filtro.getDesde(), filtro.getHasta(), filtro.getPagada(), pageable)
+            .map(this::toResponse);
     }
 
     // --------------------------------------------------------
-    // MAPEOS DTO
+    // RESERVAS DE UNA CANCHA EN UN DÍA / UNA SEMANA
+    // (vista acotada en lugar de Cancha.reservas; cada día se cachea por separado
+    //  y los días que faltan se leen juntos en una sola consulta)
+    // --------------------------------------------------------
+    @Transactional
+    public List<ReservaResponseDTO> reservasDeCanchaEnDia(Long canchaId, LocalDate fecha) {
+        return reservasDeCancha(canchaId, fecha, fecha);
+    }
+
+    // Semana de lunes a domingo que contiene la fecha
+    @Transactional
+    public List<ReservaResponseDTO> reservasDeCanchaEnSemana(Long canchaId, LocalDate fecha) {
+        LocalDate lunes = fecha.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return reservasDeCancha(canchaId, lunes, lunes.plusDays(6));
+    }
+
+    private List<ReservaResponseDTO> reservasDeCancha(Long canchaId, LocalDate desde, LocalDate hasta) {
+        long generacion = cacheDisponibilidad.generacion();
+
+        Map<LocalDate, List<ReservaResponseDTO>> porDia = new LinkedHashMap<>();
+        List<LocalDate> faltantes = new ArrayList<>();
+        for (LocalDate dia = desde; !dia.isAfter(hasta); dia = dia.plusDays(1)) {
+            List<ReservaResponseDTO> cacheadas = cacheDisponibilidad.obtenerReservasDelDia(canchaId, dia);
+            if (cacheadas == null) {
+                faltantes.add(dia);
+            }
+            porDia.put(dia, cacheadas);
+        }
+
+        if (!faltantes.isEmpty()) {
+            Map<LocalDate, List<ReservaResponseDTO>> leidas = reservaRepository
+                .findResumenByCanchaIdAndFechaBetween(canchaId, faltantes.get(0), faltantes.get(faltantes.size() - 1))
+                .stream()
+                .collect(
+                    Collectors.groupingBy(ReservaRepository.ReservaResumen::getFecha, Collectors.mapping(this::toResponse, Collectors.toList()))
+                );
+            for (LocalDate dia : faltantes) {
+                List<ReservaResponseDTO> delDia = leidas.getOrDefault(dia, List.of());
+                cacheDisponibilidad.guardarReservasDelDia(canchaId, dia, delDia, generacion);
+                porDia.put(dia, delDia);
+            }
+        }
+
+        return porDia.values().stream().flatMap(List::stream).toList();
+    }
+
+    // --------------------------------------------------------
+    // EXPORTAR (FILA POR FILA, SIN CARGAR TODO EN MEMORIA)
     // --------------------------------------------------------
-    private ReservaValidacionDTO toValidacion(ReservaRequestDTO req) {
-        ReservaValidacionDTO v = new ReservaValidacionDTO();
-        v.setCanchaId(req.getCanchaId());
-        v.setFecha(req.getFecha());
-        v.setHoraInicio(req.getHoraInicio());
-        v.setHoraFin(req.getHoraFin());
-        return v;
+    @Transactional
+    public void exportar(FiltroReservaDTO filtro, Consumer<ReservaResponseDTO> destino) {
+        try (
+            Stream<ReservaRepository.ReservaResumen> filas = reservaRepository.streamResumen(
+                filtro.getCanchaId(),
+                filtro.getUsuarioId(),
+                filtro.getDesde(),
+                filtro.getHasta(),
+                filtro.getPagada()
+            )
+        ) {
+            filas.map(this::toResponse).forEach(destino);
+        }
     }
 
+    // --------------------------------------------------------
+    // AUXILIARES DE DISPONIBILIDAD
+    // --------------------------------------------------------
+    private static boolean seSuperpone(List<ReservaRepository.FranjaOcupada> ocupadas, LocalTime inicio, LocalTime fin) {
+        for (ReservaRepository.FranjaOcupada o : ocupadas) {
+            if (o.getHoraInicio().isBefore(fin) && o.getHoraFin().isAfter(inicio)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean seSuperponeConLote(List<Reserva> aceptadas, Reserva r) {
+        for (Reserva a : aceptadas) {
+            if (a.getHoraInicio().isBefore(r.getHoraFin()) && a.getHoraFin().isAfter(r.getHoraInicio())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Arma las reservas (sin guardar) de las franjas explícitas y de la recurrencia del lote.
+     */
+    private static List<Reserva> expandirFranjas(ReservaLoteRequestDTO req) {
+        List<Reserva> pedidas = new ArrayList<>();
+        for (ReservaLoteRequestDTO.FranjaReservaDTO f : req.getFranjas()) {
+            pedidas.add(nuevaReserva(f.getFecha(), f.getHoraInicio(), f.getHoraFin()));
+        }
+
+        ReservaLoteRequestDTO.RecurrenciaDTO rec = req.getRecurrencia();
+        if (rec != null) {
+            int cadaSemanas = Math.max(1, rec.getCadaSemanas());
+            for (LocalDate f = rec.getDesde(); !f.isAfter(rec.getHasta()); f = f.plusWeeks(cadaSemanas)) {
+                if (pedidas.size() > MAX_FRANJAS_POR_LOTE) {
+                    break;
+                }
+                pedidas.add(nuevaReserva(f, rec.getHoraInicio(), rec.getHoraFin()));
+            }
+        }
+        return pedidas;
+    }
+
+    private static Reserva nuevaReserva(LocalDate fecha, LocalTime horaInicio, LocalTime horaFin) {
+        return new Reserva().fecha(fecha).horaInicio(horaInicio).horaFin(horaFin);
+    }
+
+    /**
+     * Horario.dia es texto libre: se acepta el nombre del día en castellano o en inglés,
+     * sin distinguir mayúsculas ni tildes ("Miércoles", "miercoles", "WEDNESDAY").
+     */
+    static boolean correspondeAlDia(String dia, DayOfWeek dayOfWeek) {
+        if (dia == null) {
+            return false;
+        }
+        String normalizado = sinTildes(dia.trim());
+        return (
+            normalizado.equalsIgnoreCase(sinTildes(dayOfWeek.getDisplayName(TextStyle.FULL, Locale.forLanguageTag("es")))) ||
+            normalizado.equalsIgnoreCase(dayOfWeek.name())
+        );
+    }
+
+    private static String sinTildes(String texto) {
+        return DIACRITICOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+    }
+
+    // --------------------------------------------------------
+    // MAPEOS DTO
+    // --------------------------------------------------------
+    // Sólo para reservas recién creadas: usuario, cancha y pago ya están en memoria
     private ReservaResponseDTO toResponse(Reserva r) {
         ReservaResponseDTO dto = new ReservaResponseDTO();
 
@@ -161,6 +598,8 @@ public class ProcesoReservaService {
         if (r.getFecha() != null) dto.setFecha(r.getFecha().toString());
         if (r.getHoraInicio() != null) dto.setHoraInicio(r.getHoraInicio().toString());
         if (r.getHoraFin() != null) dto.setHoraFin(r.getHoraFin().toString());
+        if (r.getEstado() != null) dto.setEstado(r.getEstado().name());
+        dto.setExpiraEn(r.getExpiraEn());
 
         if (r.getUsuario() != null) dto.setUsuarioId(r.getUsuario().getId());
         if (r.getCancha() != null) dto.setCanchaId(r.getCancha().getId());
@@ -172,4 +611,20 @@ public class ProcesoReservaService {
 
         return dto;
     }
+
+    private ReservaResponseDTO toResponse(ReservaRepository.ReservaResumen r) {
+        ReservaResponseDTO dto = new ReservaResponseDTO();
+
+        dto.setId(r.getId());
+        dto.setFecha(r.getFecha().toString());
+        dto.setHoraInicio(r.getHoraInicio().toString());
+        dto.setHoraFin(r.getHoraFin().toString());
+        dto.setEstado(r.getEstado().name());
+        dto.setExpiraEn(r.getExpiraEn());
+        dto.setUsuarioId(r.getUsuarioId());
+        dto.setCanchaId(r.getCanchaId());
+        dto.setPagoId(r.getPagoId());
+
+        return dto;
+    }
 }
@@ -0,0 +1,242 @@
+package com.padel.backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.padel.backend.config.ApplicationProperties;
+import com.padel.backend.domain.ClaveIdempotencia;
+import com.padel.backend.repository.ClaveIdempotenciaRepository;
+import com.padel.backend.security.SecurityUtils;
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Header {@code Idempotency-Key} de los endpoints que crean o pagan reservas: un cliente que reintenta (porque no le
+ * llegó la respuesta) recibe la respuesta guardada en vez de volver a ejecutar la transacción.
+ * <p>
+ * Cada clave (por usuario) se guarda en la tabla {@code clave_idempotencia} con la huella del pedido y, cuando
+ * termina, la respuesta en JSON; las respuestas recientes están además en la región JCache {@link #CACHE}, así que
+ * un reintento no llega a la base. Se llama desde el recurso REST, fuera de una transacción:
+ * <ol>
+ *   <li>se reserva la clave (INSERT; si dos pedidos llegan a la vez, la clave primaria deja pasar a uno y el otro
+ *   recibe {@link PedidoIdempotenteEnCursoException});</li>
+ *   <li>la operación y la respuesta guardada se confirman en una misma transacción: o quedan las dos o ninguna;</li>
+ *   <li>si la operación falla se libera la clave, así un reintento la vuelve a ejecutar (los errores no se guardan).</li>
+ * </ol>
+ * La misma clave con otro pedido da {@link ClaveIdempotenciaReutilizadaException}. Las respuestas de más de
+ * {@code application.idempotency.max-response-bytes} no se guardan. Las claves duran
+ * {@code application.idempotency.ttl} y una purga periódica borra las vencidas y las más viejas por encima de
+ * {@code application.idempotency.max-entries}.
+ */
+@Component
+public class RegistroIdempotencia {
+
+    public static final String CACHE = "idempotencia";
+
+    private static final Logger LOG = LoggerFactory.getLogger(RegistroIdempotencia.class);
+
+    private final ClaveIdempotenciaRepository claveIdempotenciaRepository;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transaccion;
+    private final ObjectMapper objectMapper;
+    private final ApplicationProperties.Idempotency config;
+
+    public RegistroIdempotencia(
+        ClaveIdempotenciaRepository claveIdempotenciaRepository,
+        CacheManager cacheManager,
+        PlatformTransactionManager transactionManager,
+        ObjectMapper objectMapper,
+        ApplicationProperties applicationProperties
+    ) {
+        this.claveIdempotenciaRepository = claveIdempotenciaRepository;
+        this.cacheManager = cacheManager;
+        this.transaccion = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.config = applicationProperties.getIdempotency();
+    }
+
+    /**
+     * Respuesta y si se repitió una guardada (no se ejecutó nada).
+     */
+    public record Resultado<T>(T respuesta, boolean repetida) {}
+
+    /**
+     * Respuesta guardada de una clave, tal como queda en la región {@link #CACHE}.
+     */
+    record Guardada(String huella, String respuesta, Instant expiraEn) implements Serializable {}
+
+    /**
+     * Ejecuta {@code accion} una sola vez por clave.
+     *
+     * @param claveCliente el header {@code Idempotency-Key}; sin él la acción se ejecuta siempre.
+     * @param operacion método y ruta, para que la misma clave no sirva en otro endpoint.
+     * @param pedido lo que identifica al pedido (cuerpo o id), comparado en los reintentos.
+     * @param tipo tipo de la respuesta, para leer la guardada.
+     */
+    public <T> Resultado<T> ejecutar(String claveCliente, String operacion, Object pedido, Class<T> tipo, Supplier<T> accion) {
+        if (claveCliente == null || claveCliente.isBlank()) {
+            return new Resultado<>(accion.get(), false);
+        }
+        // La clave del cliente se guarda como hash: largo fijo sea cual sea lo que mande
+        String clave = SecurityUtils.getCurrentUserLogin().orElse("") + ":" + sha256(claveCliente);
+        String huella = sha256(operacion + "\n" + json(pedido));
+        Instant ahora = Instant.now();
+
+        Guardada guardada = respuestas().get(clave, Guardada.class);
+        if (guardada != null && guardada.expiraEn().isAfter(ahora)) {
+            return repetir(claveCliente, guardada, huella, tipo);
+        }
+
+        Instant expiraEn = ahora.plus(config.getTtl());
+        Optional<ClaveIdempotencia> anterior;
+        try {
+            anterior = transaccion.execute(status -> reservar(clave, claveCliente, huella, ahora, expiraEn));
+        } catch (DataIntegrityViolationException e) {
+            throw new PedidoIdempotenteEnCursoException(claveCliente);
+        }
+        if (anterior.isPresent()) {
+            ClaveIdempotencia fila = anterior.orElseThrow();
+            if (!fila.isCompletada()) {
+                throw new PedidoIdempotenteEnCursoException(claveCliente);
+            }
+            guardada = new Guardada(fila.getHuella(), fila.getRespuesta(), fila.getExpiraEn());
+            respuestas().put(clave, guardada);
+            return repetir(claveCliente, guardada, huella, tipo);
+        }
+
+        try {
+            T respuesta = transaccion.execute(status -> {
+                T r = accion.get();
+                guardar(clave, new Guardada(huella, json(r), expiraEn));
+                return r;
+            });
+            return new Resultado<>(respuesta, false);
+        } catch (RuntimeException e) {
+            liberar(clave);
+            throw e;
+        }
+    }
+
+    /**
+     * Borra las claves vencidas y, si todavía quedan más de las permitidas, las más viejas.
+     * <p>
+     * This is scheduled to get fired every 10 minutes.
+     */
+    @Scheduled(cron = "0 */10 * * * ?")
+    public void purgar() {
+        transaccion.executeWithoutResult(status -> {
+            int vencidas = claveIdempotenciaRepository.borrarVencidas(Instant.now());
+            long sobrantes = claveIdempotenciaRepository.count() - config.getMaxEntries();
+            int recortadas = 0;
+            if (sobrantes > 0) {
+                List<String> claves = claveIdempotenciaRepository.findClavesMasAntiguas(PageRequest.of(0, (int) sobrantes));
+                claveIdempotenciaRepository.deleteAllByIdInBatch(claves);
+                recortadas = claves.size();
+            }
+            LOG.debug("Purga de claves de idempotencia: {} vencidas, {} por encima del máximo", vencidas, recortadas);
+        });
+    }
+
+    /**
+     * Toma la clave para este pedido; si ya estaba (terminada o en curso) devuelve la fila y no toma nada.
+     * Una clave vencida, o en curso desde hace más de {@code in-flight-timeout} (el nodo se cayó), se vuelve a usar.
+     */
+    private Optional<ClaveIdempotencia> reservar(String clave, String claveCliente, String huella, Instant ahora, Instant expiraEn) {
+        Optional<ClaveIdempotencia> existente = claveIdempotenciaRepository.findById(clave);
+        if (existente.isEmpty()) {
+            claveIdempotenciaRepository.insertar(clave, huella, ahora, expiraEn);
+            return Optional.empty();
+        }
+        ClaveIdempotencia fila = existente.orElseThrow();
+        boolean vencida = !fila.getExpiraEn().isAfter(ahora);
+        boolean abandonada = !fila.isCompletada() && fila.getCreadaEn().isBefore(ahora.minus(config.getInFlightTimeout()));
+        if (!vencida && !abandonada) {
+            return existente;
+        }
+        if (claveIdempotenciaRepository.tomar(clave, fila.getCreadaEn(), huella, ahora, expiraEn) == 0) {
+            throw new PedidoIdempotenteEnCursoException(claveCliente);
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Dentro de la transacción de la operación: la respuesta se confirma junto con ella y recién entonces va a la cache.
+     */
+    private void guardar(String clave, Guardada guardada) {
+        int bytes = guardada.respuesta().getBytes(StandardCharsets.UTF_8).length;
+        if (bytes > config.getMaxResponseBytes()) {
+            LOG.warn("Respuesta de {} bytes, más que max-response-bytes: no se guarda y la clave queda libre", bytes);
+            claveIdempotenciaRepository.liberar(clave);
+            return;
+        }
+        claveIdempotenciaRepository.completar(clave, guardada.respuesta());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        respuestas().put(clave, guardada);
+                    }
+                }
+            );
+        }
+    }
+
+    private void liberar(String clave) {
+        try {
+            transaccion.executeWithoutResult(status -> claveIdempotenciaRepository.liberar(clave));
+        } catch (RuntimeException e) {
+            // Queda en curso hasta in-flight-timeout: los reintentos reciben 409 hasta entonces
+            LOG.warn("No se pudo liberar la clave de idempotencia {}: {}", clave, e.getMessage());
+        }
+    }
+
+    private <T> Resultado<T> repetir(String claveCliente, Guardada guardada, String huella, Class<T> tipo) {
+        if (!guardada.huella().equals(huella)) {
+            throw new ClaveIdempotenciaReutilizadaException(claveCliente);
+        }
+        try {
+            return new Resultado<>(objectMapper.readValue(guardada.respuesta(), tipo), true);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Respuesta guardada ilegible para la clave " + claveCliente, e);
+        }
+    }
+
+    private Cache respuestas() {
+        return cacheManager.getCache(CACHE);
+    }
+
+    private String json(Object valor) {
+        try {
+            return objectMapper.writeValueAsString(valor);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sha256(String texto) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(texto.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.padel.backend.service;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Evento publicado cada vez que una reserva cambia la ocupación de una cancha en un día.
+ * <p>
+ * Los listeners lo reciben después del commit (ver {@link IndiceOcupacion}), así que nunca
+ * reflejan datos que luego se revierten.
+ *
+ * @param reservaId  id de la reserva afectada.
+ * @param canchaId   cancha afectada (puede ser {@code null} si la reserva no tiene cancha).
+ * @param fecha      día afectado.
+ * @param horaInicio inicio de la franja ocupada (o liberada).
+ * @param horaFin    fin de la franja ocupada (o liberada).
+ * @param tipo       qué le pasó a la reserva.
+ */
+public record ReservaModificadaEvent(Long reservaId, Long canchaId, LocalDate fecha, LocalTime horaInicio, LocalTime horaFin, Tipo tipo) {
+    public enum Tipo {
+        /** La reserva se creó: la franja pasa a estar ocupada. */
+        CREADA,
+        /** La reserva cambió o se borró: hay que volver a leer el día desde la base. */
+        MODIFICADA,
+        /** Se registró el pago y espera a la pasarela: la reserva deja de vencer, la ocupación no cambia. */
+        PAGO_REGISTRADO,
+        /** La pasarela aprobó el pago y la reserva pasó a PAGADA: la ocupación no cambia, sólo los datos de la reserva. */
+        PAGADA,
+        /** La reserva se canceló: la franja queda libre. */
+        CANCELADA,
+    }
+
+    public static ReservaModificadaEvent creada(Long reservaId, Long canchaId, LocalDate fecha, LocalTime horaInicio, LocalTime horaFin) {
+        return new ReservaModificadaEvent(reservaId, canchaId, fecha, horaInicio, horaFin, Tipo.CREADA);
+    }
+
+    public static ReservaModificadaEvent modificada(Long reservaId, Long canchaId, LocalDate fecha) {
+        return new ReservaModificadaEvent(reservaId, canchaId, fecha, null, null, Tipo.MODIFICADA);
+    }
+
+    public static ReservaModificadaEvent cancelada(
+        Long reservaId,
+        Long canchaId,
+        LocalDate fecha,
+        LocalTime horaInicio,
+        LocalTime horaFin
+    ) {
+        return new ReservaModificadaEvent(reservaId, canchaId, fecha, horaInicio, horaFin, Tipo.CANCELADA);
+    }
+
+    public static ReservaModificadaEvent pagoRegistrado(Long reservaId, Long canchaId, LocalDate fecha) {
+        return new ReservaModificadaEvent(reservaId, canchaId, fecha, null, null, Tipo.PAGO_REGISTRADO);
+    }
+
+    public static ReservaModificadaEvent pagada(Long reservaId, Long canchaId, LocalDate fecha) {
+        return new ReservaModificadaEvent(reservaId, canchaId, fecha, null, null, Tipo.PAGADA);
+    }
+
+    /**
+     * Si el cambio puede mover la ocupación de la franja: registrar o aprobar un pago no la mueve.
+     */
+    public boolean cambiaOcupacion() {
+        return tipo != Tipo.PAGO_REGISTRADO && tipo != Tipo.PAGADA;
+    }
+}
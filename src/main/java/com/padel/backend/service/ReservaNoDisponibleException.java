@@ -0,0 +1,10 @@
+package com.padel.backend.service;
+
+public class ReservaNoDisponibleException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public ReservaNoDisponibleException() {
+        super("La cancha ya está reservada en ese horario.");
+    }
+}
@@ -0,0 +1,13 @@
+package com.padel.backend.service;
+
+import java.time.Instant;
+
+/**
+ * Evento publicado cuando una reserva queda retenida (PENDIENTE) hasta que se pague o venza.
+ * <p>
+ * {@link VencimientoReservas} lo recibe después del commit y programa el vencimiento.
+ *
+ * @param reservaId id de la reserva retenida.
+ * @param expiraEn  momento en que vence la retención si no se pagó.
+ */
+public record ReservaRetenidaEvent(Long reservaId, Instant expiraEn) {}
@@ -0,0 +1,10 @@
+package com.padel.backend.service;
+
+public class RetencionVencidaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RetencionVencidaException(Long reservaId) {
+        super("La reserva " + reservaId + " no se pagó a tiempo y la franja quedó libre.");
+    }
+}
@@ -0,0 +1,198 @@
+package com.padel.backend.service;
+
+import com.padel.backend.domain.Cancha;
+import com.padel.backend.domain.Horario;
+import com.padel.backend.repository.CanchaRepository;
+import com.padel.backend.repository.HorarioRepository;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Tabla de precios de las canchas en memoria, para que calcular el monto de un pago no agregue consultas.
+ * <p>
+ * El monto de una reserva es {@code Cancha.precio} (por hora) por la duración. La parte de la reserva que cae
+ * dentro de un {@link Horario} con {@code multiplicadorPrecio} (hora pico o valle) se cobra multiplicada; el
+ * resto, al precio base. Por cada cancha y día de la semana se precalculan esos tramos ordenados y sin
+ * superposiciones, así que el monto sale de una sola pasada sobre los tramos del día.
+ * <p>
+ * La tabla se arma completa al arrancar y se vuelve a armar después del commit de cada
+ * {@link CanchaModificadaEvent}, también los que llegan de otros nodos por {@link BusInvalidacionCache}.
+ * Si se pide una cancha que no está (guardada sin pasar por la API), se recarga una vez.
+ */
+@Component
+public class TarifaCanchas {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TarifaCanchas.class);
+
+    private static final BigDecimal SEGUNDOS_POR_HORA = BigDecimal.valueOf(3600);
+
+    private final CanchaRepository canchaRepository;
+    private final HorarioRepository horarioRepository;
+
+    private volatile Map<Long, Tarifa> tarifas = Map.of();
+
+    public TarifaCanchas(CanchaRepository canchaRepository, HorarioRepository horarioRepository) {
+        this.canchaRepository = canchaRepository;
+        this.horarioRepository = horarioRepository;
+    }
+
+    /**
+     * Monto a cobrar por la franja [horaInicio, horaFin) de la cancha ese día, con dos decimales.
+     */
+    public BigDecimal calcularMonto(Long canchaId, LocalDate fecha, LocalTime horaInicio, LocalTime horaFin) {
+        if (canchaId == null) {
+            return BigDecimal.ZERO.setScale(2);
+        }
+        Tarifa tarifa = tarifas.get(canchaId);
+        if (tarifa == null) {
+            recargar();
+            tarifa = tarifas.get(canchaId);
+            if (tarifa == null) {
+                throw new RuntimeException("Cancha no encontrada: " + canchaId);
+            }
+        }
+        return tarifa.monto(fecha.getDayOfWeek(), horaInicio.toSecondOfDay(), horaFin.toSecondOfDay());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        recargar();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onCanchaModificada(CanchaModificadaEvent event) {
+        recargar();
+    }
+
+    /**
+     * Vuelve a armar la tabla de todas las canchas: dos consultas (canchas, horarios con su cancha).
+     */
+    public synchronized void recargar() {
+        Map<Long, List<Horario>> horariosPorCancha = horarioRepository
+            .findAllConCanchaOrdenados()
+            .stream()
+            .collect(Collectors.groupingBy(h -> h.getCancha().getId()));
+        Map<Long, Tarifa> nuevas = new HashMap<>();
+        for (Cancha c : canchaRepository.findAll()) {
+            nuevas.put(c.getId(), Tarifa.de(c.getPrecio(), horariosPorCancha.getOrDefault(c.getId(), List.of())));
+        }
+        tarifas = Map.copyOf(nuevas);
+        LOG.debug("Tabla de precios con {} canchas", nuevas.size());
+    }
+
+    /**
+     * Precio por hora de una cancha y, por día de la semana, los tramos con multiplicador.
+     */
+    static final class Tarifa {
+
+        private final BigDecimal precio;
+        private final Tramos[] tramosPorDia;
+
+        private Tarifa(BigDecimal precio, Tramos[] tramosPorDia) {
+            this.precio = precio;
+            this.tramosPorDia = tramosPorDia;
+        }
+
+        static Tarifa de(BigDecimal precio, List<Horario> horarios) {
+            Tramos[] tramosPorDia = new Tramos[7];
+            for (DayOfWeek dia : DayOfWeek.values()) {
+                List<Horario> delDia = new ArrayList<>();
+                for (Horario h : horarios) {
+                    if (h.getMultiplicadorPrecio() != null && ProcesoReservaService.correspondeAlDia(h.getDia(), dia)) {
+                        delDia.add(h);
+                    }
+                }
+                tramosPorDia[dia.ordinal()] = Tramos.de(delDia);
+            }
+            return new Tarifa(precio != null ? precio : BigDecimal.ZERO, tramosPorDia);
+        }
+
+        BigDecimal monto(DayOfWeek dia, int inicio, int fin) {
+            if (fin <= inicio) {
+                return BigDecimal.ZERO.setScale(2);
+            }
+            BigDecimal segundosPonderados = tramosPorDia[dia.ordinal()].segundosPonderados(inicio, fin);
+            return precio.multiply(segundosPonderados).divide(SEGUNDOS_POR_HORA, 2, RoundingMode.HALF_UP);
+        }
+    }
+
+    /**
+     * Tramos de un día ordenados por inicio y sin superponerse (si dos horarios se pisan, manda el primero).
+     */
+    static final class Tramos {
+
+        private static final Tramos NINGUNO = new Tramos(new int[0], new int[0], new BigDecimal[0]);
+
+        private final int[] inicios;
+        private final int[] fines;
+        private final BigDecimal[] multiplicadores;
+
+        private Tramos(int[] inicios, int[] fines, BigDecimal[] multiplicadores) {
+            this.inicios = inicios;
+            this.fines = fines;
+            this.multiplicadores = multiplicadores;
+        }
+
+        static Tramos de(List<Horario> horarios) {
+            if (horarios.isEmpty()) {
+                return NINGUNO;
+            }
+            List<Horario> ordenados = new ArrayList<>(horarios);
+            ordenados.sort(Comparator.comparing(Horario::getHoraInicio));
+            int[] inicios = new int[ordenados.size()];
+            int[] fines = new int[ordenados.size()];
+            BigDecimal[] multiplicadores = new BigDecimal[ordenados.size()];
+            int n = 0;
+            int finAnterior = 0;
+            for (Horario h : ordenados) {
+                int inicio = Math.max(h.getHoraInicio().toSecondOfDay(), finAnterior);
+                int fin = h.getHoraFin().toSecondOfDay();
+                if (fin > inicio) {
+                    inicios[n] = inicio;
+                    fines[n] = fin;
+                    multiplicadores[n] = h.getMultiplicadorPrecio();
+                    finAnterior = fin;
+                    n++;
+                }
+            }
+            return new Tramos(Arrays.copyOf(inicios, n), Arrays.copyOf(fines, n), Arrays.copyOf(multiplicadores, n));
+        }
+
+        /**
+         * Segundos de [inicio, fin), cada uno multiplicado por el multiplicador de su tramo (1 fuera de los tramos).
+         */
+        BigDecimal segundosPonderados(int inicio, int fin) {
+            BigDecimal ponderados = BigDecimal.ZERO;
+            int cubiertos = 0;
+            for (int i = 0; i < inicios.length && inicios[i] < fin; i++) {
+                int desde = Math.max(inicio, inicios[i]);
+                int hasta = Math.min(fin, fines[i]);
+                if (hasta > desde) {
+                    ponderados = ponderados.add(multiplicadores[i].multiply(BigDecimal.valueOf(hasta - desde)));
+                    cubiertos += hasta - desde;
+                }
+            }
+            return ponderados.add(BigDecimal.valueOf((long) fin - inicio - cubiertos));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.padel.backend.service;
+
+import com.padel.backend.config.ApplicationProperties;
+import com.padel.backend.repository.ReservaRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Vence las reservas retenidas (PENDIENTE) que no se pagaron a tiempo y libera sus franjas.
+ * <p>
+ * Cada retención entra, después del commit, en una {@link DelayQueue} ordenada por vencimiento. En cada
+ * tick ({@code application.hold.tick}) se sacan sólo las que ya vencieron, de a {@code batch-size}, y se
+ * cancelan con un update por lote ({@link ProcesoReservaService#vencerRetenciones}): el costo de un tick
+ * depende de lo que vence, no del tamaño de la tabla de reservas.
+ * <p>
+ * Las que se pagan o cancelan antes no se sacan de la cola (borrado perezoso): sólo se quitan del mapa de
+ * retenciones activas y, cuando salen de la cola, se descartan. Una retención con el pago registrado deja de
+ * vencer pero cuenta como pagada recién cuando la pasarela lo aprueba; si lo rechaza, cuenta como cancelada. Al arrancar, y cada
+ * {@code application.hold.recovery-interval}, se vuelven a leer de la base las pendientes que este nodo no
+ * conoce (las de un nodo que se cayó, por ejemplo); vencer la misma reserva desde dos nodos no tiene efecto.
+ * <p>
+ * Métricas: {@code reserva.retenciones} por {@code resultado} (creada, pagada, cancelada, vencida), de donde
+ * salen las tasas de conversión y de vencimiento, y {@code reserva.retenciones.activas}.
+ */
+@Component
+public class VencimientoReservas {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VencimientoReservas.class);
+
+    private final ProcesoReservaService procesoReservaService;
+    private final ReservaRepository reservaRepository;
+    private final ApplicationProperties.Hold propiedades;
+    private final ObjectProvider<TaskScheduler> taskScheduler;
+
+    private final DelayQueue<Retencion> cola = new DelayQueue<>();
+    private final Map<Long, Instant> activas = new ConcurrentHashMap<>();
+    /** Retenciones con el pago registrado, esperando la respuesta de la pasarela. */
+    private final Set<Long> cobrando = ConcurrentHashMap.newKeySet();
+
+    private final Counter creadas;
+    private final Counter pagadas;
+    private final Counter canceladas;
+    private final Counter vencidas;
+    private final Timer barrido;
+
+    public VencimientoReservas(
+        ProcesoReservaService procesoReservaService,
+        ReservaRepository reservaRepository,
+        ApplicationProperties applicationProperties,
+        ObjectProvider<TaskScheduler> taskScheduler,
+        MeterRegistry registry
+    ) {
+        this.procesoReservaService = procesoReservaService;
+        this.reservaRepository = reservaRepository;
+        this.propiedades = applicationProperties.getHold();
+        this.taskScheduler = taskScheduler;
+        this.creadas = contador(registry, "creada");
+        this.pagadas = contador(registry, "pagada");
+        this.canceladas = contador(registry, "cancelada");
+        this.vencidas = contador(registry, "vencida");
+        this.barrido = Timer.builder("reserva.retenciones.barrido")
+            .description("Duración de cada barrido de retenciones vencidas")
+            .register(registry);
+        registry.gauge("reserva.retenciones.activas", activas, Map::size);
+    }
+
+    private static Counter contador(MeterRegistry registry, String resultado) {
+        return Counter.builder("reserva.retenciones")
+            .description("Reservas retenidas como PENDIENTE, por cómo terminaron")
+            .tag("resultado", resultado)
+            .register(registry);
+    }
+
+    /**
+     * Carga las retenciones pendientes y programa el barrido. Sin scheduler (sin {@code @EnableScheduling},
+     * como en los tests) no se programa nada y {@link #barrer()} se llama a mano.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void iniciar() {
+        taskScheduler.ifAvailable(scheduler -> {
+            recuperar();
+            scheduler.scheduleWithFixedDelay(this::barrer, propiedades.getTick());
+            scheduler.scheduleWithFixedDelay(
+                this::recuperar,
+                Instant.now().plus(propiedades.getRecoveryInterval()),
+                propiedades.getRecoveryInterval()
+            );
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservaRetenida(ReservaRetenidaEvent event) {
+        if (programar(event.reservaId(), event.expiraEn())) {
+            creadas.increment();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onReservaModificada(ReservaModificadaEvent event) {
+        switch (event.tipo()) {
+            case PAGO_REGISTRADO -> {
+                if (activas.remove(event.reservaId()) != null) {
+                    cobrando.add(event.reservaId());
+                }
+            }
+            case PAGADA -> {
+                if (cobrando.remove(event.reservaId())) {
+                    pagadas.increment();
+                }
+            }
+            case CANCELADA -> {
+                boolean retenida = activas.remove(event.reservaId()) != null;
+                if (cobrando.remove(event.reservaId()) || retenida) {
+                    canceladas.increment();
+                }
+            }
+            default -> {
+                // Crear o modificar no cambia el estado de la retención
+            }
+        }
+    }
+
+    /**
+     * Cancela las retenciones que ya vencieron, de a {@code batch-size} por transacción.
+     */
+    public void barrer() {
+        barrido.record(() -> {
+            List<Retencion> lote = new ArrayList<>(propiedades.getBatchSize());
+            boolean seguir = true;
+            while (seguir && cola.drainTo(lote, propiedades.getBatchSize()) > 0) {
+                seguir = vencer(lote);
+                lote.clear();
+            }
+        });
+    }
+
+    /**
+     * Programa las retenciones pendientes de la base que este nodo todavía no sigue.
+     */
+    public void recuperar() {
+        try {
+            int recuperadas = 0;
+            for (ReservaRepository.RetencionPendiente r : reservaRepository.findRetencionesPendientes()) {
+                if (programar(r.getId(), r.getExpiraEn())) {
+                    recuperadas++;
+                }
+            }
+            if (recuperadas > 0) {
+                LOG.info("Se recuperaron {} reservas retenidas para vencer", recuperadas);
+            }
+        } catch (RuntimeException e) {
+            LOG.warn("No se pudieron recuperar las reservas retenidas: {}", e.getMessage());
+        }
+    }
+
+    int activas() {
+        return activas.size();
+    }
+
+    private boolean programar(Long reservaId, Instant expiraEn) {
+        if (reservaId == null || expiraEn == null || activas.putIfAbsent(reservaId, expiraEn) != null) {
+            return false;
+        }
+        cola.add(new Retencion(reservaId, expiraEn));
+        return true;
+    }
+
+    /**
+     * Devuelve {@code false} si el lote no se pudo vencer: vuelve a la cola y se corta el barrido hasta el próximo tick.
+     */
+    private boolean vencer(List<Retencion> lote) {
+        // Las que ya se pagaron o cancelaron salieron del mapa: se descartan acá
+        List<Retencion> aVencer = lote.stream().filter(r -> activas.remove(r.reservaId(), r.expiraEn())).toList();
+        if (aVencer.isEmpty()) {
+            return true;
+        }
+        try {
+            List<Long> ids = procesoReservaService.vencerRetenciones(aVencer.stream().map(Retencion::reservaId).toList(), Instant.now());
+            vencidas.increment(ids.size());
+            LOG.debug("Vencieron {} reservas retenidas", ids.size());
+            return true;
+        } catch (RuntimeException e) {
+            LOG.warn("No se pudieron vencer {} reservas retenidas: {}", aVencer.size(), e.getMessage());
+            aVencer.forEach(r -> programar(r.reservaId(), r.expiraEn()));
+            return false;
+        }
+    }
+
+    private record Retencion(Long reservaId, Instant expiraEn) implements Delayed {
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(expiraEn.toEpochMilli() - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed otra) {
+            return expiraEn.compareTo(((Retencion) otra).expiraEn);
+        }
+    }
+}
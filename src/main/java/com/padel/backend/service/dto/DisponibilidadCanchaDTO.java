@@ -0,0 +1,56 @@
+package com.padel.backend.service.dto;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Franjas de una cancha en un día y cuáles están libres.
+ * <p>
+ * {@code libres} va en paralelo a {@code franjas}: la franja {@code i} está libre si {@code libres[i]} es
+ * {@code true}. (No se manda como máscara de bits: en JSON los enteros de más de 53 bits pierden precisión.)
+ */
+public class DisponibilidadCanchaDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private Long canchaId;
+
+    private String nombre;
+
+    private List<FranjaHorariaDTO> franjas = new ArrayList<>();
+
+    private boolean[] libres = new boolean[0];
+
+    public Long getCanchaId() {
+        return canchaId;
+    }
+
+    public void setCanchaId(Long canchaId) {
+        this.canchaId = canchaId;
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public void setNombre(String nombre) {
+        this.nombre = nombre;
+    }
+
+    public List<FranjaHorariaDTO> getFranjas() {
+        return franjas;
+    }
+
+    public void setFranjas(List<FranjaHorariaDTO> franjas) {
+        this.franjas = franjas;
+    }
+
+    public boolean[] getLibres() {
+        return libres;
+    }
+
+    public void setLibres(boolean[] libres) {
+        this.libres = libres;
+    }
+}
@@ -0,0 +1,30 @@
+package com.padel.backend.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Grilla de disponibilidad de un día: todas las canchas con todas sus franjas.
+ */
+public class DisponibilidadDiaDTO {
+
+    private String fecha;
+
+    private List<DisponibilidadCanchaDTO> canchas = new ArrayList<>();
+
+    public String getFecha() {
+        return fecha;
+    }
+
+    public void setFecha(String fecha) {
+        this.fecha = fecha;
+    }
+
+    public List<DisponibilidadCanchaDTO> getCanchas() {
+        return canchas;
+    }
+
+    public void setCanchas(List<DisponibilidadCanchaDTO> canchas) {
+        this.canchas = canchas;
+    }
+}
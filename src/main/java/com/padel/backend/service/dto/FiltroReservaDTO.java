@@ -0,0 +1,61 @@
+package com.padel.backend.service.dto;
+
+import java.time.LocalDate;
+
+/**
+ * Filtros opcionales del listado de reservas. Un campo en {@code null} no filtra.
+ */
+public class FiltroReservaDTO {
+
+    private Long canchaId;
+
+    private Long usuarioId;
+
+    // Rango de fechas inclusivo en ambos extremos
+    private LocalDate desde;
+
+    private LocalDate hasta;
+
+    // true: sólo las PAGADA (cobro aprobado por la pasarela), false: el resto
+    private Boolean pagada;
+
+    public Long getCanchaId() {
+        return canchaId;
+    }
+
+    public void setCanchaId(Long canchaId) {
+        this.canchaId = canchaId;
+    }
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public LocalDate getDesde() {
+        return desde;
+    }
+
+    public void setDesde(LocalDate desde) {
+        this.desde = desde;
+    }
+
+    public LocalDate getHasta() {
+        return hasta;
+    }
+
+    public void setHasta(LocalDate hasta) {
+        this.hasta = hasta;
+    }
+
+    public Boolean getPagada() {
+        return pagada;
+    }
+
+    public void setPagada(Boolean pagada) {
+        this.pagada = pagada;
+    }
+}
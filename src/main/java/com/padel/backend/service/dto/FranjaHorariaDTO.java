@@ -0,0 +1,38 @@
+package com.padel.backend.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * Una franja horaria de una cancha (sale de un {@link com.padel.backend.domain.Horario}).
+ */
+public class FranjaHorariaDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String horaInicio;
+
+    private String horaFin;
+
+    public FranjaHorariaDTO() {}
+
+    public FranjaHorariaDTO(String horaInicio, String horaFin) {
+        this.horaInicio = horaInicio;
+        this.horaFin = horaFin;
+    }
+
+    public String getHoraInicio() {
+        return horaInicio;
+    }
+
+    public void setHoraInicio(String horaInicio) {
+        this.horaInicio = horaInicio;
+    }
+
+    public String getHoraFin() {
+        return horaFin;
+    }
+
+    public void setHoraFin(String horaFin) {
+        this.horaFin = horaFin;
+    }
+}
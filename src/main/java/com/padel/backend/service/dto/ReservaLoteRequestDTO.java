@@ -0,0 +1,164 @@
+package com.padel.backend.service.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pedido de varias reservas de una misma cancha para un mismo usuario.
+ * <p>
+ * Las franjas pueden venir explícitas en {@code franjas}, generarse con {@code recurrencia}, o ambas.
+ */
+public class ReservaLoteRequestDTO {
+
+    @NotNull
+    private Long usuarioId;
+
+    @NotNull
+    private Long canchaId;
+
+    @Valid
+    @Size(max = 200)
+    private List<FranjaReservaDTO> franjas = new ArrayList<>();
+
+    @Valid
+    private RecurrenciaDTO recurrencia;
+
+    public Long getUsuarioId() {
+        return usuarioId;
+    }
+
+    public void setUsuarioId(Long usuarioId) {
+        this.usuarioId = usuarioId;
+    }
+
+    public Long getCanchaId() {
+        return canchaId;
+    }
+
+    public void setCanchaId(Long canchaId) {
+        this.canchaId = canchaId;
+    }
+
+    public List<FranjaReservaDTO> getFranjas() {
+        return franjas;
+    }
+
+    public void setFranjas(List<FranjaReservaDTO> franjas) {
+        this.franjas = franjas;
+    }
+
+    public RecurrenciaDTO getRecurrencia() {
+        return recurrencia;
+    }
+
+    public void setRecurrencia(RecurrenciaDTO recurrencia) {
+        this.recurrencia = recurrencia;
+    }
+
+    /**
+     * Una franja puntual: día + horario.
+     */
+    public static class FranjaReservaDTO {
+
+        @NotNull
+        private LocalDate fecha;
+
+        @NotNull
+        private LocalTime horaInicio;
+
+        @NotNull
+        private LocalTime horaFin;
+
+        public LocalDate getFecha() {
+            return fecha;
+        }
+
+        public void setFecha(LocalDate fecha) {
+            this.fecha = fecha;
+        }
+
+        public LocalTime getHoraInicio() {
+            return horaInicio;
+        }
+
+        public void setHoraInicio(LocalTime horaInicio) {
+            this.horaInicio = horaInicio;
+        }
+
+        public LocalTime getHoraFin() {
+            return horaFin;
+        }
+
+        public void setHoraFin(LocalTime horaFin) {
+            this.horaFin = horaFin;
+        }
+    }
+
+    /**
+     * Mismo horario cada {@code cadaSemanas} semanas, desde {@code desde} (incluido, define el día
+     * de la semana) hasta {@code hasta} (incluido). Ej.: todos los martes de la temporada.
+     */
+    public static class RecurrenciaDTO {
+
+        @NotNull
+        private LocalDate desde;
+
+        @NotNull
+        private LocalDate hasta;
+
+        @NotNull
+        private LocalTime horaInicio;
+
+        @NotNull
+        private LocalTime horaFin;
+
+        @Min(1)
+        private int cadaSemanas = 1;
+
+        public LocalDate getDesde() {
+            return desde;
+        }
+
+        public void setDesde(LocalDate desde) {
+            this.desde = desde;
+        }
+
+        public LocalDate getHasta() {
+            return hasta;
+        }
+
+        public void setHasta(LocalDate hasta) {
+            this.hasta = hasta;
+        }
+
+        public LocalTime getHoraInicio() {
+            return horaInicio;
+        }
+
+        public void setHoraInicio(LocalTime horaInicio) {
+            this.horaInicio = horaInicio;
+        }
+
+        public LocalTime getHoraFin() {
+            return horaFin;
+        }
+
+        public void setHoraFin(LocalTime horaFin) {
+            this.horaFin = horaFin;
+        }
+
+        public int getCadaSemanas() {
+            return cadaSemanas;
+        }
+
+        public void setCadaSemanas(int cadaSemanas) {
+            this.cadaSemanas = cadaSemanas;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.padel.backend.service.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de un pedido de reservas en lote: una entrada por franja, en el orden pedido.
+ */
+public class ReservaLoteResponseDTO {
+
+    private int creadas;
+
+    private int rechazadas;
+
+    private List<ResultadoFranjaDTO> resultados = new ArrayList<>();
+
+    public int getCreadas() {
+        return creadas;
+    }
+
+    public void setCreadas(int creadas) {
+        this.creadas = creadas;
+    }
+
+    public int getRechazadas() {
+        return rechazadas;
+    }
+
+    public void setRechazadas(int rechazadas) {
+        this.rechazadas = rechazadas;
+    }
+
+    public List<ResultadoFranjaDTO> getResultados() {
+        return resultados;
+    }
+
+    public void setResultados(List<ResultadoFranjaDTO> resultados) {
+        this.resultados = resultados;
+    }
+
+    public static class ResultadoFranjaDTO {
+
+        private String fecha;
+
+        private String horaInicio;
+
+        private String horaFin;
+
+        private boolean reservada;
+
+        private Long reservaId;
+
+        private String motivo;
+
+        public String getFecha() {
+            return fecha;
+        }
+
+        public void setFecha(String fecha) {
+            this.fecha = fecha;
+        }
+
+        public String getHoraInicio() {
+            return horaInicio;
+        }
+
+        public void setHoraInicio(String horaInicio) {
+            this.horaInicio = horaInicio;
+        }
+
+        public String getHoraFin() {
+            return horaFin;
+        }
+
+        public void setHoraFin(String horaFin) {
+            this.horaFin = horaFin;
+        }
+
+        public boolean isReservada() {
+            return reservada;
+        }
+
+        public void setReservada(boolean reservada) {
+            this.reservada = reservada;
+        }
+
+        public Long getReservaId() {
+            return reservaId;
+        }
+
+        public void setReservaId(Long reservaId) {
+            this.reservaId = reservaId;
+        }
+
+        public String getMotivo() {
+            return motivo;
+        }
+
+        public void setMotivo(String motivo) {
+            this.motivo = motivo;
+        }
+    }
+}
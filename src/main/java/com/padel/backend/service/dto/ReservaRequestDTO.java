@@ -1,7 +1,10 @@
 package com.padel.backend.service.dto;
 
-import jakarta.validation.constraints.NotBlank;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.time.LocalTime;
 
 public class ReservaRequestDTO {
 
@@ -11,14 +14,15 @@ public class ReservaRequestDTO {
     @NotNull
     private Long canchaId;
 
-    @NotBlank
-    private String fecha;
+    // Jackson los convierte al deserializar ("AAAA-MM-DD", "HH:mm"): un valor inválido es un 400
+    @NotNull
+    private LocalDate fecha;
 
-    @NotBlank
-    private String horaInicio;
+    @NotNull
+    private LocalTime horaInicio;
 
-    @NotBlank
-    private String horaFin;
+    @NotNull
+    private LocalTime horaFin;
 
     public Long getUsuarioId() { return usuarioId; }
     public void setUsuarioId(Long usuarioId) { this.usuarioId = usuarioId; }
@@ -26,12 +30,19 @@ public class ReservaRequestDTO {
     public Long getCanchaId() { return canchaId; }
     public void setCanchaId(Long canchaId) { this.canchaId = canchaId; }
 
-    public String getFecha() { return fecha; }
-    public void setFecha(String fecha) { this.fecha = fecha; }
+    public LocalDate getFecha() { return fecha; }
+    public void setFecha(LocalDate fecha) { this.fecha = fecha; }
+
+    public LocalTime getHoraInicio() { return horaInicio; }
+    public void setHoraInicio(LocalTime horaInicio) { this.horaInicio = horaInicio; }
 
-    public String getHoraInicio() { return horaInicio; }
-    public void setHoraInicio(String horaInicio) { this.horaInicio = horaInicio; }
+    public LocalTime getHoraFin() { return horaFin; }
+    public void setHoraFin(LocalTime horaFin) { this.horaFin = horaFin; }
 
-    public String getHoraFin() { return horaFin; }
-    public void setHoraFin(String horaFin) { this.horaFin = horaFin; }
+    // Una franja vacía o invertida también se rechaza al validar el pedido
+    @JsonIgnore
+    @AssertTrue(message = "horaFin debe ser posterior a horaInicio")
+    public boolean isHorarioValido() {
+        return horaInicio == null || horaFin == null || horaInicio.isBefore(horaFin);
+    }
 }
@@ -1,14 +1,20 @@
 package com.padel.backend.service.dto;
 
+import java.io.Serializable;
 import java.time.Instant;
 
-public class ReservaResponseDTO {
+public class ReservaResponseDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
 
     private Long id;
     private String fecha;
     private String horaInicio;
     private String horaFin;
     private String estado;
+
+    // Vencimiento de la retención: si sigue PENDIENTE después de esto, la franja se libera
+    private Instant expiraEn;
     private Long usuarioId;
     private Long canchaId;
 
@@ -57,6 +63,14 @@ public class ReservaResponseDTO {
         this.estado = estado;
     }
 
+    public Instant getExpiraEn() {
+        return expiraEn;
+    }
+
+    public void setExpiraEn(Instant expiraEn) {
+        this.expiraEn = expiraEn;
+    }
+
     public Long getUsuarioId() {
         return usuarioId;
     }
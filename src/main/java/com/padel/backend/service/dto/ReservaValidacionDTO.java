@@ -1,21 +1,24 @@
 package com.padel.backend.service.dto;
 
-import jakarta.validation.constraints.NotBlank;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotNull;
+import java.time.LocalDate;
+import java.time.LocalTime;
 
 public class ReservaValidacionDTO {
 
     @NotNull
     private Long canchaId;
 
-    @NotBlank
-    private String fecha;
+    @NotNull
+    private LocalDate fecha;
 
-    @NotBlank
-    private String horaInicio;
+    @NotNull
+    private LocalTime horaInicio;
 
-    @NotBlank
-    private String horaFin;
+    @NotNull
+    private LocalTime horaFin;
 
     public Long getCanchaId() {
         return canchaId;
@@ -25,27 +28,34 @@ public class ReservaValidacionDTO {
         this.canchaId = canchaId;
     }
 
-    public String getFecha() {
+    public LocalDate getFecha() {
         return fecha;
     }
 
-    public void setFecha(String fecha) {
+    public void setFecha(LocalDate fecha) {
         this.fecha = fecha;
     }
 
-    public String getHoraInicio() {
+    public LocalTime getHoraInicio() {
         return horaInicio;
     }
 
-    public void setHoraInicio(String horaInicio) {
+    public void setHoraInicio(LocalTime horaInicio) {
         this.horaInicio = horaInicio;
     }
 
-    public String getHoraFin() {
+    public LocalTime getHoraFin() {
         return horaFin;
     }
 
-    public void setHoraFin(String horaFin) {
+    public void setHoraFin(LocalTime horaFin) {
         this.horaFin = horaFin;
     }
+
+    // Una franja vacía o invertida también se rechaza al validar el pedido
+    @JsonIgnore
+    @AssertTrue(message = "horaFin debe ser posterior a horaInicio")
+    public boolean isHorarioValido() {
+        return horaInicio == null || horaFin == null || horaInicio.isBefore(horaFin);
+    }
 }
@@ -2,6 +2,7 @@ package com.padel.backend.web.rest;
 
 import com.padel.backend.domain.Cancha;
 import com.padel.backend.repository.CanchaRepository;
+import com.padel.backend.service.CanchaModificadaEvent;
 import com.padel.backend.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -13,6 +14,7 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -36,8 +38,11 @@ public class CanchaResource {
 
     private final CanchaRepository canchaRepository;
 
-    public CanchaResource(CanchaRepository canchaRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public CanchaResource(CanchaRepository canchaRepository, ApplicationEventPublisher eventPublisher) {
         this.canchaRepository = canchaRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -54,6 +59,7 @@ public class CanchaResource {
             throw new BadRequestAlertException("A new cancha cannot already have an ID", ENTITY_NAME, "idexists");
         }
         cancha = canchaRepository.save(cancha);
+        notifyCanchaChange(cancha.getId());
         return ResponseEntity.created(new URI("/api/canchas/" + cancha.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, cancha.getId().toString()))
             .body(cancha);
@@ -87,6 +93,7 @@ public class CanchaResource {
         }
 
         cancha = canchaRepository.save(cancha);
+        notifyCanchaChange(cancha.getId());
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, cancha.getId().toString()))
             .body(cancha);
@@ -136,6 +143,7 @@ public class CanchaResource {
                 return existingCancha;
             })
             .map(canchaRepository::save);
+        result.ifPresent(updated -> notifyCanchaChange(updated.getId()));
 
         return ResponseUtil.wrapOrNotFound(
             result,
@@ -177,8 +185,19 @@ public class CanchaResource {
     public ResponseEntity<Void> deleteCancha(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete Cancha : {}", id);
         canchaRepository.deleteById(id);
+        notifyCanchaChange(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Publishes the change so that the cached availability grid of the cancha is evicted and its price table
+     * recomputed after commit.
+     *
+     * @param id the id of the cancha that changed.
+     */
+    private void notifyCanchaChange(Long id) {
+        eventPublisher.publishEvent(new CanchaModificadaEvent(id));
+    }
 }
@@ -2,6 +2,7 @@ package com.padel.backend.web.rest;
 
 import com.padel.backend.domain.Horario;
 import com.padel.backend.repository.HorarioRepository;
+import com.padel.backend.service.CanchaModificadaEvent;
 import com.padel.backend.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
@@ -13,6 +14,7 @@ import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
@@ -36,8 +38,11 @@ public class HorarioResource {
 
     private final HorarioRepository horarioRepository;
 
-    public HorarioResource(HorarioRepository horarioRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public HorarioResource(HorarioRepository horarioRepository, ApplicationEventPublisher eventPublisher) {
         this.horarioRepository = horarioRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -54,6 +59,7 @@ public class HorarioResource {
             throw new BadRequestAlertException("A new horario cannot already have an ID", ENTITY_NAME, "idexists");
         }
         horario = horarioRepository.save(horario);
+        notifyHorarioChange(horario);
         return ResponseEntity.created(new URI("/api/horarios/" + horario.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, horario.getId().toString()))
             .body(horario);
@@ -82,11 +88,13 @@ public class HorarioResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!horarioRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
-        }
+        Horario existingHorario = horarioRepository
+            .findById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        notifyHorarioChange(existingHorario);
 
         horario = horarioRepository.save(horario);
+        notifyHorarioChange(horario);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, horario.getId().toString()))
             .body(horario);
@@ -132,6 +140,10 @@ public class HorarioResource {
                 if (horario.getHoraFin() != null) {
                     existingHorario.setHoraFin(horario.getHoraFin());
                 }
+                if (horario.getMultiplicadorPrecio() != null) {
+                    existingHorario.setMultiplicadorPrecio(horario.getMultiplicadorPrecio());
+                }
+                notifyHorarioChange(existingHorario);
 
                 return existingHorario;
             })
@@ -176,9 +188,20 @@ public class HorarioResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteHorario(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete Horario : {}", id);
+        horarioRepository.findById(id).ifPresent(this::notifyHorarioChange);
         horarioRepository.deleteById(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Publishes the change so that the cached availability grid and the price table of the horario's cancha
+     * are refreshed after commit.
+     *
+     * @param horario the horario whose offered slots changed.
+     */
+    private void notifyHorarioChange(Horario horario) {
+        eventPublisher.publishEvent(new CanchaModificadaEvent(horario.getCancha() != null ? horario.getCancha().getId() : null));
+    }
 }
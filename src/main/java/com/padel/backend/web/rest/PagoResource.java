@@ -81,8 +81,15 @@ public class PagoResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!pagoRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Pago existingPago = pagoRepository
+            .findById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        // El formulario de la entidad no manda el estado ni la referencia de la pasarela: se conservan
+        if (pago.getEstado() == null) {
+            pago.setEstado(existingPago.getEstado());
+        }
+        if (pago.getReferencia() == null) {
+            pago.setReferencia(existingPago.getReferencia());
         }
 
         pago = pagoRepository.save(pago);
@@ -128,6 +135,12 @@ public class PagoResource {
                 if (pago.getMonto() != null) {
                     existingPago.setMonto(pago.getMonto());
                 }
+                if (pago.getEstado() != null) {
+                    existingPago.setEstado(pago.getEstado());
+                }
+                if (pago.getReferencia() != null) {
+                    existingPago.setReferencia(pago.getReferencia());
+                }
 
                 return existingPago;
             })
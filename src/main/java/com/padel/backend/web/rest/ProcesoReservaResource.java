@@ -1,40 +1,92 @@
 package com.padel.backend.web.rest;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.padel.backend.service.ProcesoReservaService;
+import com.padel.backend.service.RegistroIdempotencia;
+import com.padel.backend.service.dto.DisponibilidadDiaDTO;
+import com.padel.backend.service.dto.FiltroReservaDTO;
+import com.padel.backend.service.dto.ReservaLoteRequestDTO;
+import com.padel.backend.service.dto.ReservaLoteResponseDTO;
 import com.padel.backend.service.dto.ReservaRequestDTO;
 import com.padel.backend.service.dto.ReservaResponseDTO;
 import com.padel.backend.service.dto.ReservaValidacionDTO;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+import tech.jhipster.web.util.PaginationUtil;
 
 /**
  * Recurso REST para el PROCESO de Reservas.
  * Endpoints:
  * - POST /api/reservas-proceso              -> crear reserva
+ * - POST /api/reservas-proceso/lote         -> crear varias reservas (franjas y/o recurrencia semanal)
  * - POST /api/reservas-proceso/validar      -> validar disponibilidad
- * - PUT  /api/reservas-proceso/{id}/cancelar-> cancelar reserva
+ * - GET  /api/reservas-proceso/disponibilidad?fecha=AAAA-MM-DD -> grilla del día (todas las canchas)
+ * - GET  /api/reservas-proceso/canchas/{canchaId}/reservas?fecha=AAAA-MM-DD        -> reservas de la cancha ese día
+ * - GET  /api/reservas-proceso/canchas/{canchaId}/reservas/semana?fecha=AAAA-MM-DD -> reservas de la cancha esa semana
+ * - PUT  /api/reservas-proceso/{id}/cancelar-> cancelar reserva (queda CANCELADA y libera la franja)
  * - PUT  /api/reservas-proceso/{id}/pagar   -> marcar reserva como pagada
  * - GET  /api/reservas-proceso/{id}         -> obtener reserva por id
- * - GET  /api/reservas-proceso              -> listar reservas
+ * - GET  /api/reservas-proceso              -> listar reservas (paginado; filtros canchaId, usuarioId, desde, hasta, pagada)
+ * - GET  /api/reservas-proceso/exportar     -> exportar reservas filtradas (respuesta en streaming)
+ * Crear y pagar aceptan el header Idempotency-Key: un reintento con la misma clave recibe la respuesta
+ * original (con Idempotent-Replayed: true) sin volver a ejecutarse. Ver {@link RegistroIdempotencia}.
  */
 @RestController
 @RequestMapping("/api/reservas-proceso")
 public class ProcesoReservaResource {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final ProcesoReservaService service;
+    private final RegistroIdempotencia registroIdempotencia;
+    private final ObjectMapper objectMapper;
 
-    public ProcesoReservaResource(ProcesoReservaService service) {
+    public ProcesoReservaResource(ProcesoReservaService service, RegistroIdempotencia registroIdempotencia, ObjectMapper objectMapper) {
         this.service = service;
+        this.registroIdempotencia = registroIdempotencia;
+        this.objectMapper = objectMapper;
     }
 
     // ---------------------------------------------------------
     // CREAR RESERVA
     // ---------------------------------------------------------
     @PostMapping
-    public ResponseEntity<ReservaResponseDTO> crear(@Valid @RequestBody ReservaRequestDTO req) {
-        ReservaResponseDTO dto = service.registrar(req);
+    public ResponseEntity<ReservaResponseDTO> crear(
+        @Valid @RequestBody ReservaRequestDTO req,
+        @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String claveIdempotencia
+    ) {
+        RegistroIdempotencia.Resultado<ReservaResponseDTO> resultado = registroIdempotencia.ejecutar(
+            claveIdempotencia,
+            "POST /api/reservas-proceso",
+            req,
+            ReservaResponseDTO.class,
+            () -> service.registrar(req)
+        );
+        return responder(resultado);
+    }
+
+    // ---------------------------------------------------------
+    // CREAR RESERVAS EN LOTE (resultado por franja)
+    // ---------------------------------------------------------
+    @PostMapping("/lote")
+    public ResponseEntity<ReservaLoteResponseDTO> crearLote(@Valid @RequestBody ReservaLoteRequestDTO req) {
+        ReservaLoteResponseDTO dto = service.registrarLote(req);
         return ResponseEntity.ok(dto);
     }
 
@@ -47,6 +99,34 @@ public class ProcesoReservaResource {
         return ResponseEntity.ok(disponible);
     }
 
+    // ---------------------------------------------------------
+    // GRILLA DE DISPONIBILIDAD (una sola llamada por día)
+    // ---------------------------------------------------------
+    @GetMapping("/disponibilidad")
+    public ResponseEntity<DisponibilidadDiaDTO> disponibilidad(@RequestParam("fecha") LocalDate fecha) {
+        DisponibilidadDiaDTO dto = service.disponibilidad(fecha);
+        return ResponseEntity.ok(dto);
+    }
+
+    // ---------------------------------------------------------
+    // RESERVAS DE UNA CANCHA (por día o por semana de lunes a domingo)
+    // ---------------------------------------------------------
+    @GetMapping("/canchas/{canchaId}/reservas")
+    public ResponseEntity<List<ReservaResponseDTO>> reservasDeCanchaEnDia(
+        @PathVariable Long canchaId,
+        @RequestParam("fecha") LocalDate fecha
+    ) {
+        return ResponseEntity.ok(service.reservasDeCanchaEnDia(canchaId, fecha));
+    }
+
+    @GetMapping("/canchas/{canchaId}/reservas/semana")
+    public ResponseEntity<List<ReservaResponseDTO>> reservasDeCanchaEnSemana(
+        @PathVariable Long canchaId,
+        @RequestParam("fecha") LocalDate fecha
+    ) {
+        return ResponseEntity.ok(service.reservasDeCanchaEnSemana(canchaId, fecha));
+    }
+
     // ---------------------------------------------------------
     // CANCELAR RESERVA
     // ---------------------------------------------------------
@@ -60,9 +140,18 @@ public class ProcesoReservaResource {
     // ✅ MARCAR COMO PAGADA
     // ---------------------------------------------------------
     @PutMapping("/{id}/pagar")
-    public ResponseEntity<ReservaResponseDTO> pagar(@PathVariable Long id) {
-        ReservaResponseDTO dto = service.pagar(id);
-        return ResponseEntity.ok(dto);
+    public ResponseEntity<ReservaResponseDTO> pagar(
+        @PathVariable Long id,
+        @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String claveIdempotencia
+    ) {
+        RegistroIdempotencia.Resultado<ReservaResponseDTO> resultado = registroIdempotencia.ejecutar(
+            claveIdempotencia,
+            "PUT /api/reservas-proceso/{id}/pagar",
+            id,
+            ReservaResponseDTO.class,
+            () -> service.pagar(id)
+        );
+        return responder(resultado);
     }
 
     // ---------------------------------------------------------
@@ -75,11 +164,43 @@ public class ProcesoReservaResource {
     }
 
     // ---------------------------------------------------------
-    // LISTAR TODAS
+    // LISTAR (paginado y filtrado; total en X-Total-Count)
     // ---------------------------------------------------------
     @GetMapping
-    public ResponseEntity<List<ReservaResponseDTO>> listar() {
-        List<ReservaResponseDTO> lista = service.listar();
-        return ResponseEntity.ok(lista);
+    public ResponseEntity<List<ReservaResponseDTO>> listar(
+        @ParameterObject FiltroReservaDTO filtro,
+        @ParameterObject @PageableDefault(sort = { "fecha", "horaInicio" }, direction = Sort.Direction.DESC) Pageable pageable
+    ) {
+        Page<ReservaResponseDTO> page = service.listar(filtro, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), page);
+        return ResponseEntity.ok().headers(headers).body(page.getContent());
+    }
+
+    // ---------------------------------------------------------
+    // EXPORTAR (array JSON escrito a medida que se leen las filas)
+    // ---------------------------------------------------------
+    @GetMapping("/exportar")
+    public ResponseEntity<StreamingResponseBody> exportar(@ParameterObject FiltroReservaDTO filtro) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator gen = objectMapper.getFactory().createGenerator(out)) {
+                gen.writeStartArray();
+                service.exportar(filtro, dto -> {
+                    try {
+                        gen.writeObject(dto);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                gen.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    private static <T> ResponseEntity<T> responder(RegistroIdempotencia.Resultado<T> resultado) {
+        if (resultado.repetida()) {
+            return ResponseEntity.ok().header(IDEMPOTENT_REPLAYED, "true").body(resultado.respuesta());
+        }
+        return ResponseEntity.ok(resultado.respuesta());
     }
 }
@@ -2,21 +2,30 @@ package com.padel.backend.web.rest;
 
 import com.padel.backend.domain.Reserva;
 import com.padel.backend.repository.ReservaRepository;
+import com.padel.backend.service.ReservaModificadaEvent;
 import com.padel.backend.web.rest.errors.BadRequestAlertException;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springdoc.core.annotations.ParameterObject;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import tech.jhipster.web.util.HeaderUtil;
+import tech.jhipster.web.util.PaginationUtil;
 import tech.jhipster.web.util.ResponseUtil;
 
 /**
@@ -36,8 +45,11 @@ public class ReservaResource {
 
     private final ReservaRepository reservaRepository;
 
-    public ReservaResource(ReservaRepository reservaRepository) {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ReservaResource(ReservaRepository reservaRepository, ApplicationEventPublisher eventPublisher) {
         this.reservaRepository = reservaRepository;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -54,6 +66,7 @@ public class ReservaResource {
             throw new BadRequestAlertException("A new reserva cannot already have an ID", ENTITY_NAME, "idexists");
         }
         reserva = reservaRepository.save(reserva);
+        notifyOcupacionChange(reserva);
         return ResponseEntity.created(new URI("/api/reservas/" + reserva.getId()))
             .headers(HeaderUtil.createEntityCreationAlert(applicationName, false, ENTITY_NAME, reserva.getId().toString()))
             .body(reserva);
@@ -82,11 +95,17 @@ public class ReservaResource {
             throw new BadRequestAlertException("Invalid ID", ENTITY_NAME, "idinvalid");
         }
 
-        if (!reservaRepository.existsById(id)) {
-            throw new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound");
+        Reserva existingReserva = reservaRepository
+            .findById(id)
+            .orElseThrow(() -> new BadRequestAlertException("Entity not found", ENTITY_NAME, "idnotfound"));
+        notifyOcupacionChange(existingReserva);
+        // El formulario de la entidad no manda el estado: se conserva el que tenía
+        if (reserva.getEstado() == null) {
+            reserva.setEstado(existingReserva.getEstado());
         }
 
         reserva = reservaRepository.save(reserva);
+        notifyOcupacionChange(reserva);
         return ResponseEntity.ok()
             .headers(HeaderUtil.createEntityUpdateAlert(applicationName, false, ENTITY_NAME, reserva.getId().toString()))
             .body(reserva);
@@ -123,6 +142,7 @@ public class ReservaResource {
         Optional<Reserva> result = reservaRepository
             .findById(reserva.getId())
             .map(existingReserva -> {
+                notifyOcupacionChange(existingReserva);
                 if (reserva.getFecha() != null) {
                     existingReserva.setFecha(reserva.getFecha());
                 }
@@ -132,7 +152,14 @@ public class ReservaResource {
                 if (reserva.getHoraFin() != null) {
                     existingReserva.setHoraFin(reserva.getHoraFin());
                 }
+                if (reserva.getEstado() != null) {
+                    existingReserva.setEstado(reserva.getEstado());
+                }
+                if (reserva.getExpiraEn() != null) {
+                    existingReserva.setExpiraEn(reserva.getExpiraEn());
+                }
 
+                notifyOcupacionChange(existingReserva);
                 return existingReserva;
             })
             .map(reservaRepository::save);
@@ -144,14 +171,40 @@ public class ReservaResource {
     }
 
     /**
-     * {@code GET  /reservas} : get all the reservas.
+     * {@code GET  /reservas} : get the reservas, optionally filtered. The response is paginated only when a
+     * {@code page} or {@code size} parameter is given; otherwise the whole (sorted) list is returned, as the
+     * entity list page expects.
      *
+     * @param canchaId only reservas of this cancha, if present.
+     * @param usuarioId only reservas of this usuario, if present.
+     * @param desde only reservas on or after this date, if present.
+     * @param hasta only reservas on or before this date, if present.
+     * @param pagada only paid ({@code true}) or unpaid ({@code false}) reservas, if present.
+     * @param page the requested page, if the response should be paginated.
+     * @param size the page size, if the response should be paginated.
+     * @param pageable the pagination information.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of reservas in body.
      */
     @GetMapping("")
-    public List<Reserva> getAllReservas() {
-        LOG.debug("REST request to get all Reservas");
-        return reservaRepository.findAll();
+    public ResponseEntity<List<Reserva>> getAllReservas(
+        @RequestParam(name = "canchaId", required = false) Long canchaId,
+        @RequestParam(name = "usuarioId", required = false) Long usuarioId,
+        @RequestParam(name = "desde", required = false) LocalDate desde,
+        @RequestParam(name = "hasta", required = false) LocalDate hasta,
+        @RequestParam(name = "pagada", required = false) Boolean pagada,
+        @RequestParam(name = "page", required = false) Integer page,
+        @RequestParam(name = "size", required = false) Integer size,
+        @ParameterObject Pageable pageable
+    ) {
+        if (page == null && size == null) {
+            LOG.debug("REST request to get all Reservas");
+            Pageable todas = Pageable.unpaged(pageable.getSort());
+            return ResponseEntity.ok(reservaRepository.buscar(canchaId, usuarioId, desde, hasta, pagada, todas).getContent());
+        }
+        LOG.debug("REST request to get a page of Reservas");
+        Page<Reserva> pagina = reservaRepository.buscar(canchaId, usuarioId, desde, hasta, pagada, pageable);
+        HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(ServletUriComponentsBuilder.fromCurrentRequest(), pagina);
+        return ResponseEntity.ok().headers(headers).body(pagina.getContent());
     }
 
     /**
@@ -176,9 +229,20 @@ public class ReservaResource {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteReserva(@PathVariable("id") Long id) {
         LOG.debug("REST request to delete Reserva : {}", id);
+        reservaRepository.findById(id).ifPresent(this::notifyOcupacionChange);
         reservaRepository.deleteById(id);
         return ResponseEntity.noContent()
             .headers(HeaderUtil.createEntityDeletionAlert(applicationName, false, ENTITY_NAME, id.toString()))
             .build();
     }
+
+    /**
+     * Publishes the change so that the in-memory occupancy index reloads the affected day after commit.
+     *
+     * @param reserva the reserva whose court/day occupancy changed.
+     */
+    private void notifyOcupacionChange(Reserva reserva) {
+        Long canchaId = reserva.getCancha() != null ? reserva.getCancha().getId() : null;
+        eventPublisher.publishEvent(ReservaModificadaEvent.modificada(reserva.getId(), canchaId, reserva.getFecha()));
+    }
 }
@@ -2,14 +2,22 @@ package com.padel.backend.web.rest.errors;
 
 import static org.springframework.core.annotation.AnnotatedElementUtils.findMergedAnnotation;
 
+import com.padel.backend.service.ClaveIdempotenciaReutilizadaException;
+import com.padel.backend.service.EstadoReservaInvalidoException;
+import com.padel.backend.service.LoteReservaInvalidoException;
+import com.padel.backend.service.PedidoIdempotenteEnCursoException;
+import com.padel.backend.service.ReservaNoDisponibleException;
+import com.padel.backend.service.RetencionVencidaException;
 import jakarta.servlet.http.HttpServletRequest;
 import java.net.URI;
+import java.sql.SQLTransientConnectionException;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
@@ -49,6 +57,8 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     private static final String MESSAGE_KEY = "message";
     private static final String PATH_KEY = "path";
     private static final boolean CASUAL_CHAIN_ENABLED = false;
+    private static final String POOL_EXHAUSTED_DETAIL = "Server overloaded: no database connection became available in time";
+    private static final String POOL_EXHAUSTED_RETRY_AFTER_SECONDS = "1";
 
     private static final Logger LOG = LoggerFactory.getLogger(ExceptionTranslator.class);
 
@@ -64,6 +74,7 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     @ExceptionHandler
     public ResponseEntity<Object> handleAnyException(Throwable ex, NativeWebRequest request) {
         LOG.debug("Converting Exception to Problem Details:", ex);
+        if (isConnectionPoolExhausted(ex)) LOG.warn("No database connection available: {}", ExceptionUtils.getRootCauseMessage(ex));
         ProblemDetailWithCause pdCause = wrapAndCustomizeProblem(ex, request);
         return handleExceptionInternal((Exception) ex, pdCause, buildHeaders(ex), HttpStatusCode.valueOf(pdCause.getStatus()), request);
     }
@@ -203,6 +214,7 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
     }
 
     private String getCustomizedErrorDetails(Throwable err) {
+        if (isConnectionPoolExhausted(err)) return POOL_EXHAUSTED_DETAIL;
         Collection<String> activeProfiles = Arrays.asList(env.getActiveProfiles());
         if (activeProfiles.contains(JHipsterConstants.SPRING_PROFILE_PRODUCTION)) {
             if (err instanceof HttpMessageConversionException) return "Unable to convert http message";
@@ -216,16 +228,33 @@ public class ExceptionTranslator extends ResponseEntityExceptionHandler {
         // Where we disagree with Spring defaults
         if (err instanceof AccessDeniedException) return HttpStatus.FORBIDDEN;
         if (err instanceof ConcurrencyFailureException) return HttpStatus.CONFLICT;
+        if (err instanceof ReservaNoDisponibleException) return HttpStatus.CONFLICT;
+        if (err instanceof EstadoReservaInvalidoException) return HttpStatus.CONFLICT;
+        if (err instanceof RetencionVencidaException) return HttpStatus.CONFLICT;
+        if (err instanceof PedidoIdempotenteEnCursoException) return HttpStatus.CONFLICT;
+        if (err instanceof ClaveIdempotenciaReutilizadaException) return HttpStatus.UNPROCESSABLE_ENTITY;
+        if (err instanceof LoteReservaInvalidoException) return HttpStatus.BAD_REQUEST;
         if (err instanceof BadCredentialsException) return HttpStatus.UNAUTHORIZED;
+        if (isConnectionPoolExhausted(err)) return HttpStatus.SERVICE_UNAVAILABLE;
         return null;
     }
 
+    private static boolean isConnectionPoolExhausted(Throwable err) {
+        // Hikari timing out on getConnection(), usually wrapped in a CannotCreateTransactionException
+        return ExceptionUtils.indexOfType(err, SQLTransientConnectionException.class) >= 0;
+    }
+
     private URI getPathValue(NativeWebRequest request) {
         if (request == null) return URI.create("about:blank");
         return URI.create(extractURI(request));
     }
 
     private HttpHeaders buildHeaders(Throwable err) {
+        if (isConnectionPoolExhausted(err)) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, POOL_EXHAUSTED_RETRY_AFTER_SECONDS);
+            return headers;
+        }
         return err instanceof BadRequestAlertException badRequestAlertException
             ? HeaderUtil.createFailureAlert(
                 applicationName,
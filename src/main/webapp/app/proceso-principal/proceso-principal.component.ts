@@ -25,7 +25,10 @@ interface ReservaApi {
   usuarioId?: number;
   canchaId?: number;
 
-  // ✅ viene del backend (si pagó)
+  // ✅ viene del backend: sólo PAGADA significa que la pasarela aprobó el cobro
+  estado?: 'PENDIENTE' | 'CONFIRMADA' | 'PAGADA' | 'CANCELADA';
+
+  // ✅ viene del backend (si se registró el pago)
   pagoId?: number;
 
   usuarioNombre?: string;
@@ -37,11 +40,19 @@ interface ReservaTabla {
   fecha: string;
   cancha: string;
   horario: string;
-  estado: 'Confirmada' | 'Pendiente' | 'Cancelada';
+  estado: 'Pagada' | 'Confirmada' | 'Pendiente' | 'Cancelada';
   cliente?: string;
   pagado: boolean; // ✅ para columna "Pagó"
+  pagoEnCurso: boolean; // ✅ pago registrado, esperando a la pasarela
 }
 
+const ETIQUETAS_ESTADO: Record<NonNullable<ReservaApi['estado']>, ReservaTabla['estado']> = {
+  PENDIENTE: 'Pendiente',
+  CONFIRMADA: 'Confirmada',
+  PAGADA: 'Pagada',
+  CANCELADA: 'Cancelada',
+};
+
 @Component({
   standalone: true,
   selector: 'jhi-proceso-principal',
@@ -90,52 +101,61 @@ export class ProcesoPrincipalComponent implements OnInit {
   }
 
   private cargarReservas(): void {
-    this.http.get<ReservaApi[]>('/api/reservas-proceso').subscribe({
+    // El listado es paginado: sólo pedimos las últimas reservas que muestra la tabla
+    this.http.get<ReservaApi[]>('/api/reservas-proceso', { params: { sort: 'id,desc', size: 10 } }).subscribe({
       next: data => {
         this.reservasApi = data ?? [];
         this.mapearReservasATabla();
-        this.actualizarTarjetas();
       },
       error: err => {
         console.error('Error cargando reservas', err);
         alert('No se pudo cargar el listado de reservas.');
       },
     });
+    this.actualizarTarjetas();
   }
 
   private mapearReservasATabla(): void {
     const mapUsuarios = new Map<number, UsuarioCliente>();
     for (const u of this.usuarios) mapUsuarios.set(u.id, u);
 
-    this.ultimasReservas = (this.reservasApi ?? [])
-      .slice()
-      .reverse()
-      .slice(0, 10)
-      .map(r => {
-        const cliente =
-          r.usuarioNombre ||
-          (r.usuarioId ? (mapUsuarios.get(r.usuarioId)?.nombre ?? `Usuario #${r.usuarioId}`) : 'Sin cliente');
+    this.ultimasReservas = (this.reservasApi ?? []).map(r => {
+      const cliente =
+        r.usuarioNombre ||
+        (r.usuarioId ? (mapUsuarios.get(r.usuarioId)?.nombre ?? `Usuario #${r.usuarioId}`) : 'Sin cliente');
 
-        const cancha = r.canchaNombre || (r.canchaId ? `Cancha #${r.canchaId}` : 'Sin cancha');
+      const cancha = r.canchaNombre || (r.canchaId ? `Cancha #${r.canchaId}` : 'Sin cancha');
 
-        const fecha = r.fecha ? this.formatearFecha(r.fecha) : '-';
-        const horario = `${r.horaInicio ?? '--:--'} - ${r.horaFin ?? '--:--'}`;
+      const fecha = r.fecha ? this.formatearFecha(r.fecha) : '-';
+      const horario = `${r.horaInicio ?? '--:--'} - ${r.horaFin ?? '--:--'}`;
 
-        const pagado = !!r.pagoId;
-        const estado: ReservaTabla['estado'] = pagado ? 'Confirmada' : 'Pendiente';
+      // El pago se registra enseguida, pero la reserva pasa a PAGADA recién cuando la pasarela lo aprueba
+      const estado = ETIQUETAS_ESTADO[r.estado ?? 'PENDIENTE'];
+      const pagado = r.estado === 'PAGADA';
+      const pagoEnCurso = !pagado && !!r.pagoId && r.estado !== 'CANCELADA';
 
-        return { id: r.id, fecha, cancha, horario, estado, cliente, pagado };
-      });
+      return { id: r.id, fecha, cancha, horario, estado, cliente, pagado, pagoEnCurso };
+    });
   }
 
   private actualizarTarjetas(): void {
     const hoy = new Date().toISOString().slice(0, 10);
-    const reservasHoy = this.reservasApi.filter(r => r.fecha === hoy).length;
 
-    this.tarjetas = this.tarjetas.map(t => {
-      if (t.titulo === 'Reservas de Hoy') return { ...t, valor: String(reservasHoy) };
-      return t;
-    });
+    // El total del día viene en X-Total-Count: no hace falta traer las reservas
+    this.http
+      .get<ReservaApi[]>('/api/reservas-proceso', { params: { desde: hoy, hasta: hoy, size: 1 }, observe: 'response' })
+      .subscribe({
+        next: res => {
+          const reservasHoy = Number(res.headers.get('X-Total-Count') ?? 0);
+          this.tarjetas = this.tarjetas.map(t => {
+            if (t.titulo === 'Reservas de Hoy') return { ...t, valor: String(reservasHoy) };
+            return t;
+          });
+        },
+        error: err => {
+          console.error('Error contando reservas de hoy', err);
+        },
+      });
   }
 
   private formatearFecha(yyyyMmDd: string): string {
@@ -146,7 +166,7 @@ export class ProcesoPrincipalComponent implements OnInit {
 
   // ✅ botón de pagar (lo usaremos desde el HTML)
   abrirPago(r: ReservaTabla): void {
-    if (r.pagado) return;
+    if (r.pagado || r.pagoEnCurso || r.estado === 'Cancelada') return;
 
     const montoStr = prompt('Monto a cobrar (solo números):', '150000');
     if (!montoStr) return;
@@ -17,7 +17,10 @@ export interface ReservaApi {
   usuarioId?: number;
   canchaId?: number;
 
-  // ✅ NUEVO: si viene pagoId, está pagada
+  // ✅ estado de la reserva: sólo PAGADA significa que la pasarela aprobó el cobro
+  estado?: 'PENDIENTE' | 'CONFIRMADA' | 'PAGADA' | 'CANCELADA';
+
+  // ✅ si viene pagoId, el pago se registró (puede estar esperando a la pasarela)
   pagoId?: number;
 
   usuarioNombre?: string;
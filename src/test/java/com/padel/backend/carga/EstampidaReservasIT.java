@@ -0,0 +1,380 @@
+package com.padel.backend.carga;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.padel.backend.ReservasPadelApp;
+import com.padel.backend.config.EmbeddedSQL;
+import com.padel.backend.config.JacksonConfiguration;
+import com.padel.backend.domain.Cancha;
+import com.padel.backend.domain.Reserva;
+import com.padel.backend.domain.User;
+import com.padel.backend.domain.Usuario;
+import com.padel.backend.repository.CanchaRepository;
+import com.padel.backend.repository.ReservaRepository;
+import com.padel.backend.repository.UserRepository;
+import com.padel.backend.repository.UsuarioRepository;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Prueba de carga de la apertura de turnos: muchos jugadores se autentican, validan una franja
+ * y la reservan casi al mismo tiempo, compitiendo por pocas franjas populares.
+ * <p>
+ * No corre en el build normal. Para ejecutarla:
+ * <pre>
+ * ./mvnw verify -Dskip.npm -Dtest=NoSuch -Dsurefire.failIfNoSpecifiedTests=false -Dit.test=EstampidaReservasIT -Dcarga=true
+ * </pre>
+ * Parámetros opcionales: {@code -Dcarga.jugadores=300 -Dcarga.concurrencia=100 -Dcarga.canchas=6}.
+ * Informa p50/p99, throughput y errores por endpoint, y la cantidad de reservas superpuestas
+ * (que tiene que ser cero). El informe también queda en {@code target/carga/estampida.json}.
+ */
+@EmbeddedSQL
+@SpringBootTest(
+    classes = { ReservasPadelApp.class, JacksonConfiguration.class },
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT
+)
+@EnabledIfSystemProperty(named = "carga", matches = "true")
+class EstampidaReservasIT {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EstampidaReservasIT.class);
+
+    private static final String CLAVE = "carga-clave";
+
+    private static final String PREFIJO_LOGIN = "carga-";
+
+    // Las franjas más pedidas: el lunes siguiente a la noche
+    private static final List<LocalTime> FRANJAS_POPULARES = List.of(LocalTime.of(19, 0), LocalTime.of(20, 0), LocalTime.of(21, 0));
+
+    private static final int INTENTOS_POR_JUGADOR = 3;
+
+    private final int jugadores = Integer.getInteger("carga.jugadores", 300);
+
+    private final int concurrencia = Integer.getInteger("carga.concurrencia", 100);
+
+    private final int cantidadCanchas = Integer.getInteger("carga.canchas", 6);
+
+    private final LocalDate fecha = LocalDate.now().with(TemporalAdjusters.next(DayOfWeek.MONDAY)).plusWeeks(1);
+
+    @LocalServerPort
+    private int puerto;
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private CanchaRepository canchaRepository;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final List<Long> canchaIds = new ArrayList<>();
+
+    private final List<Long> usuarioIds = new ArrayList<>();
+
+    private final List<Long> userIds = new ArrayList<>();
+
+    private HttpClient http;
+
+    @BeforeEach
+    @Timeout(value = 2, unit = TimeUnit.MINUTES)
+    void sembrar() {
+        for (int i = 0; i < cantidadCanchas; i++) {
+            canchaIds.add(canchaRepository.save(new Cancha().nombre("Cancha carga " + i).precio(BigDecimal.TEN)).getId());
+        }
+        // El hash es caro: se calcula una vez y se comparte entre todos los jugadores
+        String hash = passwordEncoder.encode(CLAVE);
+        List<User> users = new ArrayList<>();
+        List<Usuario> usuarios = new ArrayList<>();
+        for (int i = 0; i < jugadores; i++) {
+            User user = new User();
+            user.setLogin(PREFIJO_LOGIN + i);
+            user.setEmail(PREFIJO_LOGIN + i + "@padel.test");
+            user.setPassword(hash);
+            user.setActivated(true);
+            user.setLangKey("es");
+            users.add(user);
+            usuarios.add(new Usuario().nombre("Jugador " + i).email(PREFIJO_LOGIN + i + "@padel.test"));
+        }
+        userRepository.saveAll(users).forEach(u -> userIds.add(u.getId()));
+        usuarioRepository.saveAll(usuarios).forEach(u -> usuarioIds.add(u.getId()));
+        http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    }
+
+    @AfterEach
+    void limpiar() {
+        reservaRepository.deleteAll(reservasSembradas());
+        usuarioRepository.deleteAllById(usuarioIds);
+        userRepository.deleteAllById(userIds);
+        canchaRepository.deleteAllById(canchaIds);
+    }
+
+    @Test
+    @Timeout(value = 10, unit = TimeUnit.MINUTES)
+    void aperturaDeTurnos() throws Exception {
+        Map<String, Medicion> mediciones = new LinkedHashMap<>();
+        mediciones.put("POST /api/authenticate", new Medicion());
+        mediciones.put("POST /api/reservas-proceso/validar", new Medicion());
+        mediciones.put("POST /api/reservas-proceso", new Medicion());
+        AtomicInteger conseguidas = new AtomicInteger();
+
+        ExecutorService executor = Executors.newFixedThreadPool(concurrencia);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        long inicio;
+        try {
+            for (int i = 0; i < jugadores; i++) {
+                int jugador = i;
+                futures.add(
+                    executor.submit(() -> {
+                        largada.await();
+                        if (jugar(jugador, mediciones)) {
+                            conseguidas.incrementAndGet();
+                        }
+                        return null;
+                    })
+                );
+            }
+            inicio = System.nanoTime();
+            largada.countDown();
+            for (Future<?> future : futures) {
+                future.get(5, TimeUnit.MINUTES);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        double segundos = (System.nanoTime() - inicio) / 1e9;
+
+        List<Reserva> reservas = reservasSembradas();
+        // Una franja liberada (retención vencida) se puede volver a reservar: sólo cuentan las que la ocupan
+        List<Reserva> activas = reservas.stream().filter(r -> r.getEstado().ocupaFranja()).toList();
+        int superpuestas = contarSuperpuestas(activas);
+        informar(mediciones, segundos, conseguidas.get(), activas.size(), superpuestas);
+
+        assertThat(superpuestas).isZero();
+        assertThat(reservas).hasSize(conseguidas.get());
+        assertThat(activas.size()).isLessThanOrEqualTo(cantidadCanchas * FRANJAS_POPULARES.size());
+    }
+
+    /**
+     * Un jugador: se autentica y prueba franjas populares al azar hasta conseguir una o agotar sus intentos.
+     */
+    private boolean jugar(int jugador, Map<String, Medicion> mediciones) throws Exception {
+        HttpResponse<String> auth = enviar(
+            mediciones.get("POST /api/authenticate"),
+            HttpRequest.newBuilder(uri("/api/authenticate")),
+            Map.of("username", PREFIJO_LOGIN + jugador, "password", CLAVE)
+        );
+        if (auth.statusCode() != 200) {
+            return false;
+        }
+        String token = om.readTree(auth.body()).path("id_token").asText();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int intento = 0; intento < INTENTOS_POR_JUGADOR; intento++) {
+            Map<String, Object> franja = new LinkedHashMap<>();
+            franja.put("canchaId", canchaIds.get(random.nextInt(canchaIds.size())));
+            franja.put("usuarioId", usuarioIds.get(jugador));
+            LocalTime hora = FRANJAS_POPULARES.get(random.nextInt(FRANJAS_POPULARES.size()));
+            franja.put("fecha", fecha.toString());
+            franja.put("horaInicio", hora.toString());
+            franja.put("horaFin", hora.plusHours(1).toString());
+
+            HttpResponse<String> validar = enviar(
+                mediciones.get("POST /api/reservas-proceso/validar"),
+                HttpRequest.newBuilder(uri("/api/reservas-proceso/validar")).header("Authorization", "Bearer " + token),
+                franja
+            );
+            if (validar.statusCode() != 200 || !Boolean.parseBoolean(validar.body())) {
+                continue;
+            }
+            HttpResponse<String> reservar = enviar(
+                mediciones.get("POST /api/reservas-proceso"),
+                HttpRequest.newBuilder(uri("/api/reservas-proceso")).header("Authorization", "Bearer " + token),
+                franja
+            );
+            if (reservar.statusCode() == 200) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private HttpResponse<String> enviar(Medicion medicion, HttpRequest.Builder request, Object body)
+        throws IOException, InterruptedException {
+        HttpRequest req = request
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofByteArray(om.writeValueAsBytes(body)))
+            .build();
+        long t0 = System.nanoTime();
+        HttpResponse<String> response = http.send(req, HttpResponse.BodyHandlers.ofString());
+        medicion.registrar(t0, System.nanoTime(), response.statusCode());
+        return response;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + puerto + path);
+    }
+
+    private List<Reserva> reservasSembradas() {
+        List<Reserva> reservas = new ArrayList<>();
+        for (Long canchaId : canchaIds) {
+            reservas.addAll(reservaRepository.findAllByCanchaIdAndFecha(canchaId, fecha));
+        }
+        return reservas;
+    }
+
+    /**
+     * Pares de reservas de la misma cancha cuyas franjas se superponen (dobles reservas).
+     */
+    private static int contarSuperpuestas(List<Reserva> reservas) {
+        int superpuestas = 0;
+        for (int i = 0; i < reservas.size(); i++) {
+            for (int j = i + 1; j < reservas.size(); j++) {
+                Reserva a = reservas.get(i);
+                Reserva b = reservas.get(j);
+                if (
+                    a.getCancha().getId().equals(b.getCancha().getId()) &&
+                    a.getHoraInicio().isBefore(b.getHoraFin()) &&
+                    b.getHoraInicio().isBefore(a.getHoraFin())
+                ) {
+                    superpuestas++;
+                }
+            }
+        }
+        return superpuestas;
+    }
+
+    private void informar(Map<String, Medicion> mediciones, double segundos, int conseguidas, int guardadas, int superpuestas)
+        throws IOException {
+        Map<String, Object> informe = new LinkedHashMap<>();
+        informe.put("jugadores", jugadores);
+        informe.put("concurrencia", concurrencia);
+        informe.put("segundos", segundos);
+        informe.put("reservasConseguidas", conseguidas);
+        informe.put("reservasGuardadas", guardadas);
+        informe.put("reservasSuperpuestas", superpuestas);
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        StringBuilder tabla = new StringBuilder(
+            String.format("%n%-36s %8s %10s %10s %10s %8s%n", "endpoint", "pedidos", "p50 ms", "p99 ms", "req/s", "no 2xx")
+        );
+        mediciones.forEach((endpoint, medicion) -> {
+            Map<String, Object> resumen = medicion.resumen();
+            endpoints.put(endpoint, resumen);
+            tabla.append(
+                String.format(
+                    "%-36s %8d %10.1f %10.1f %10.1f %8d%n",
+                    endpoint,
+                    resumen.get("pedidos"),
+                    resumen.get("p50Ms"),
+                    resumen.get("p99Ms"),
+                    resumen.get("throughput"),
+                    resumen.get("no2xx")
+                )
+            );
+        });
+        informe.put("endpoints", endpoints);
+        tabla.append(
+            String.format("reservas: %d conseguidas, %d guardadas, %d superpuestas (%.1f s)", conseguidas, guardadas, superpuestas, segundos)
+        );
+        LOG.info("Estampida de reservas:{}", tabla);
+
+        Path destino = Path.of("target", "carga", "estampida.json");
+        Files.createDirectories(destino.getParent());
+        om.writerWithDefaultPrettyPrinter().writeValue(destino.toFile(), informe);
+    }
+
+    /**
+     * Latencias y códigos de estado de un endpoint.
+     */
+    private static final class Medicion {
+
+        private final List<Long> latencias = Collections.synchronizedList(new ArrayList<>());
+
+        private final Map<Integer, AtomicInteger> estados = new ConcurrentHashMap<>();
+
+        private final AtomicLong primerInicio = new AtomicLong(Long.MAX_VALUE);
+
+        private final AtomicLong ultimoFin = new AtomicLong(Long.MIN_VALUE);
+
+        void registrar(long inicio, long fin, int estado) {
+            latencias.add(fin - inicio);
+            estados.computeIfAbsent(estado, e -> new AtomicInteger()).incrementAndGet();
+            primerInicio.accumulateAndGet(inicio, Math::min);
+            ultimoFin.accumulateAndGet(fin, Math::max);
+        }
+
+        Map<String, Object> resumen() {
+            long[] ordenadas;
+            synchronized (latencias) {
+                ordenadas = latencias.stream().mapToLong(Long::longValue).toArray();
+            }
+            Arrays.sort(ordenadas);
+            double ventana = Math.max(1, ultimoFin.get() - primerInicio.get()) / 1e9;
+            Map<String, Object> resumen = new LinkedHashMap<>();
+            resumen.put("pedidos", ordenadas.length);
+            resumen.put("p50Ms", percentil(ordenadas, 0.50));
+            resumen.put("p99Ms", percentil(ordenadas, 0.99));
+            resumen.put("throughput", ordenadas.length == 0 ? 0.0 : ordenadas.length / ventana);
+            resumen.put("no2xx", estados.entrySet().stream().filter(e -> e.getKey() / 100 != 2).mapToInt(e -> e.getValue().get()).sum());
+            Map<String, Integer> porEstado = new LinkedHashMap<>();
+            estados.forEach((estado, cantidad) -> porEstado.put(String.valueOf(estado), cantidad.get()));
+            resumen.put("estados", porEstado);
+            return resumen;
+        }
+
+        // Percentil por rango más cercano, en milisegundos
+        private static double percentil(long[] ordenadas, double p) {
+            if (ordenadas.length == 0) {
+                return 0.0;
+            }
+            int rango = (int) Math.ceil(p * ordenadas.length) - 1;
+            return ordenadas[Math.max(0, rango)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.padel.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.boot.autoconfigure.task.TaskExecutionProperties;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit tests for the {@link AsyncConfiguration} executor.
+ */
+class AsyncConfigurationTest {
+
+    @Test
+    void runsOnThePlatformThreadPoolByDefault() throws Exception {
+        Thread thread = runOnExecutor(new MockEnvironment());
+
+        assertThat(thread.getName()).startsWith("test-task-");
+        assertThat(isVirtual(thread)).isFalse();
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void runsOnVirtualThreadsWhenEnabled() throws Exception {
+        Thread thread = runOnExecutor(new MockEnvironment().withProperty("spring.threads.virtual.enabled", "true"));
+
+        assertThat(thread.getName()).startsWith("test-task-");
+        assertThat(isVirtual(thread)).isTrue();
+    }
+
+    private static Thread runOnExecutor(MockEnvironment environment) throws Exception {
+        TaskExecutionProperties properties = new TaskExecutionProperties();
+        properties.setThreadNamePrefix("test-task-");
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("meterRegistry", new SimpleMeterRegistry());
+        AsyncConfiguration configuration = new AsyncConfiguration(
+            properties,
+            environment,
+            new ApplicationProperties(),
+            beans.getBeanProvider(MeterRegistry.class)
+        );
+        AsyncTaskExecutor executor = (AsyncTaskExecutor) configuration.getAsyncExecutor();
+        ((InitializingBean) executor).afterPropertiesSet();
+        try {
+            CompletableFuture<Thread> thread = executor.submitCompletable(Thread::currentThread);
+            return thread.get(5, TimeUnit.SECONDS);
+        } finally {
+            ((DisposableBean) executor).destroy();
+        }
+    }
+
+    // Thread.isVirtual() only exists from Java 21 on, and the default build targets Java 17
+    private static boolean isVirtual(Thread thread) throws Exception {
+        if (Runtime.version().feature() < 21) {
+            return false;
+        }
+        return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+    }
+}
@@ -0,0 +1,146 @@
+package com.padel.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import com.padel.backend.config.ApplicationProperties.Async.RejectionPolicy;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Unit tests for {@link AsyncExecutorMetrics} and {@link AsyncTaskMetricsAspect}.
+ */
+class AsyncExecutorMetricsTest {
+
+    private SimpleMeterRegistry registry;
+
+    private AsyncExecutorMetrics metrics;
+
+    private ThreadPoolTaskExecutor executor;
+
+    private CountDownLatch release;
+
+    private CountDownLatch running;
+
+    @BeforeEach
+    void setup() {
+        registry = new SimpleMeterRegistry();
+        metrics = new AsyncExecutorMetrics(registry, "test");
+        release = new CountDownLatch(1);
+        running = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void cleanup() {
+        release.countDown();
+        executor.shutdown();
+    }
+
+    @Test
+    void failPolicyRejectsAndCountsWhenPoolAndQueueAreFull() throws Exception {
+        startSaturated(RejectionPolicy.FAIL);
+
+        assertThat(gauge("executor.active")).isEqualTo(1);
+        assertThat(gauge("executor.queued")).isEqualTo(1);
+        assertThat(gauge("executor.queue.remaining")).isZero();
+        assertThatExceptionOfType(TaskRejectedException.class).isThrownBy(() -> executor.execute(() -> {}));
+        assertThat(registry.get("executor.rejected").tag("name", "test").tag("policy", "fail").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void callerRunsPolicyRunsTheTaskOnTheSubmittingThread() throws Exception {
+        startSaturated(RejectionPolicy.CALLER_RUNS);
+
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        executor.execute(() -> threads.add(Thread.currentThread()));
+
+        assertThat(threads).containsExactly(Thread.currentThread());
+        assertThat(registry.get("executor.rejected").tag("policy", "caller_runs").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void dropOldestPolicyDiscardsTheQueuedTask() throws Exception {
+        List<String> ran = new CopyOnWriteArrayList<>();
+        startSaturated(RejectionPolicy.DROP_OLDEST, () -> ran.add("oldest"));
+        CountDownLatch newest = new CountDownLatch(1);
+
+        executor.execute(() -> {
+            ran.add("newest");
+            newest.countDown();
+        });
+        release.countDown();
+
+        assertThat(newest.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(ran).containsExactly("newest");
+        assertThat(registry.get("executor.rejected").tag("policy", "drop_oldest").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void recordsQueueAndExecutionTimesPerAsyncMethod() throws Exception {
+        startSaturated(RejectionPolicy.FAIL);
+        release.countDown();
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Mailer());
+        factory.addAspect(new AsyncTaskMetricsAspect(registry));
+        Mailer mailer = factory.getProxy();
+        CountDownLatch sent = new CountDownLatch(1);
+
+        // Submitted through the instrumented executor, as the async interceptor would do
+        executor.execute(() -> {
+            mailer.send();
+            sent.countDown();
+        });
+
+        assertThat(sent.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(registry.get("async.task").tag("task", "Mailer.send").tag("outcome", "success").timer().count()).isEqualTo(1);
+        assertThat(registry.get("async.task.queued").tag("task", "Mailer.send").timer().count()).isEqualTo(1);
+        assertThat(registry.get("executor").tag("name", "test").timer().count()).isGreaterThanOrEqualTo(2);
+    }
+
+    /**
+     * One thread busy until {@link #release} and a one-slot queue holding {@code queued}.
+     */
+    private void startSaturated(RejectionPolicy policy, Runnable queued) throws InterruptedException {
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setRejectedExecutionHandler(metrics.rejectionHandler(policy));
+        executor.setTaskDecorator(metrics);
+        metrics.bindTo(executor, 1);
+        executor.initialize();
+        executor.execute(() -> {
+            running.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        executor.execute(queued);
+    }
+
+    private void startSaturated(RejectionPolicy policy) throws InterruptedException {
+        startSaturated(policy, () -> {});
+    }
+
+    private double gauge(String name) {
+        return registry.get(name).tag("name", "test").gauge().value();
+    }
+
+    static class Mailer {
+
+        @Async
+        public void send() {}
+    }
+}
@@ -0,0 +1,78 @@
+package com.padel.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.padel.backend.IntegrationTest;
+import com.padel.backend.service.CacheDisponibilidad;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.util.ArrayList;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+/**
+ * Integration tests for the per-region settings of {@link CacheConfiguration}.
+ */
+@IntegrationTest
+class CacheConfigurationIT {
+
+    @Autowired
+    private javax.cache.CacheManager jCacheManager;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void configuredRegionOverridesTheGlobalSettings() {
+        CacheRuntimeConfiguration<?, ?> grilla = runtimeConfiguration(CacheDisponibilidad.GRILLA_CACHE);
+        assertThat(grilla.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(50);
+        assertThat(grilla.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(EntryUnit.ENTRIES);
+        assertThat(grilla.getExpiryPolicy().getExpiryForAccess(null, null)).isEqualTo(Duration.ofSeconds(600));
+
+        // Sin región configurada se usan jhipster.cache.ehcache.max-entries (100 por defecto) y el TTL global
+        CacheRuntimeConfiguration<?, ?> pago = runtimeConfiguration(com.padel.backend.domain.Pago.class.getName());
+        assertThat(pago.getResourcePools().getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100);
+        assertThat(pago.getExpiryPolicy().getExpiryForAccess(null, null)).isNull();
+    }
+
+    @Test
+    void regionHitsAndMissesArePublishedToMicrometer() {
+        Cache cache = cacheManager.getCache(CacheDisponibilidad.HORARIOS_DEL_DIA_CACHE);
+        cache.clear();
+        double hits = gets("hit");
+        double misses = gets("miss");
+
+        cache.get(DayOfWeek.MONDAY);
+        cache.put(DayOfWeek.MONDAY, new ArrayList<>());
+        cache.get(DayOfWeek.MONDAY);
+        cache.get(DayOfWeek.MONDAY);
+
+        assertThat(gets("hit")).isEqualTo(hits + 2);
+        assertThat(gets("miss")).isEqualTo(misses + 1);
+    }
+
+    private CacheRuntimeConfiguration<?, ?> runtimeConfiguration(String cacheName) {
+        @SuppressWarnings("unchecked")
+        Eh107Configuration<Object, Object> configuration = jCacheManager.getCache(cacheName).getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class);
+    }
+
+    private double gets(String result) {
+        return meterRegistry
+            .get("cache.gets")
+            .tag("cache", CacheDisponibilidad.HORARIOS_DEL_DIA_CACHE)
+            .tag("result", result)
+            .functionCounter()
+            .count();
+    }
+}
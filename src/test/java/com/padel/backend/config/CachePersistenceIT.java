@@ -0,0 +1,74 @@
+package com.padel.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.padel.backend.IntegrationTest;
+import com.padel.backend.service.CacheDisponibilidad;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.builders.ConfigurationBuilder;
+import org.ehcache.impl.config.persistence.CacheManagerPersistenceConfiguration;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for the disk tier of {@link CacheConfiguration}.
+ */
+@IntegrationTest
+@TestPropertySource(
+    properties = {
+        "application.cache.persistence.directory=" + CachePersistenceIT.DIRECTORIO,
+        "application.cache.persistence.warm-restart=true",
+        "application.cache.regions.[" + CacheDisponibilidad.RESERVAS_DEL_DIA_CACHE + "].disk-mb=8",
+    }
+)
+@DirtiesContext
+class CachePersistenceIT {
+
+    static final String DIRECTORIO = "target/cache-persistence-it";
+
+    @Autowired
+    private javax.cache.CacheManager jCacheManager;
+
+    @Test
+    void warmRestartKeepsTheDiskTierAcrossCacheManagers() {
+        javax.cache.Cache<Object, Object> cache = jCacheManager.getCache(CacheDisponibilidad.RESERVAS_DEL_DIA_CACHE);
+        CacheRuntimeConfiguration<Object, Object> configuracion = runtimeConfiguration(cache);
+        assertThat(configuracion.getResourcePools().getPoolForResource(ResourceType.Core.DISK).isPersistent()).isTrue();
+
+        cache.put("clave", new ArrayList<>(List.of("valor")));
+        // Un cierre ordenado es lo que deja el tier de disco listo para el próximo arranque
+        jCacheManager.close();
+
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) javax.cache.Caching.getCachingProvider(
+            EhcacheCachingProvider.class.getName()
+        );
+        try (
+            javax.cache.CacheManager reiniciado = provider.getCacheManager(
+                Path.of(DIRECTORIO).toUri(),
+                ConfigurationBuilder.newConfigurationBuilder()
+                    .withService(new CacheManagerPersistenceConfiguration(Path.of(DIRECTORIO).toFile()))
+                    .build()
+            )
+        ) {
+            javax.cache.Cache<Object, Object> recuperada = reiniciado.createCache(
+                CacheDisponibilidad.RESERVAS_DEL_DIA_CACHE,
+                Eh107Configuration.fromEhcacheCacheConfiguration(configuracion)
+            );
+            assertThat(recuperada.get("clave")).isEqualTo(List.of("valor"));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CacheRuntimeConfiguration<Object, Object> runtimeConfiguration(javax.cache.Cache<Object, Object> cache) {
+        Eh107Configuration<Object, Object> configuration = cache.getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class);
+    }
+}
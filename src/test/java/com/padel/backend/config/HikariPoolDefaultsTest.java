@@ -0,0 +1,83 @@
+package com.padel.backend.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+/**
+ * Unit tests for {@link HikariPoolDefaults}.
+ */
+class HikariPoolDefaultsTest {
+
+    @Test
+    void sizesThePoolFromTheDatabaseCores() {
+        HikariDataSource dataSource = apply(new MockEnvironment().withProperty("application.database.pool.database-cores", "8"));
+
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(17);
+        assertThat(dataSource.getMinimumIdle()).isEqualTo(17);
+        assertThat(dataSource.getConnectionTimeout()).isEqualTo(5000);
+        assertThat(dataSource.getLeakDetectionThreshold()).isEqualTo(60000);
+    }
+
+    @Test
+    void capsThePoolAtTheExpectedConcurrencyAndKeepsTheMinimum() {
+        ApplicationProperties.Database.Pool pool = new ApplicationProperties.Database.Pool();
+        pool.setDatabaseCores(32);
+        pool.setExpectedConcurrency(20);
+
+        assertThat(HikariPoolDefaults.poolSize(pool, 1)).isEqualTo(20);
+
+        pool.setDatabaseCores(0);
+        assertThat(HikariPoolDefaults.poolSize(pool, 1)).isEqualTo(4);
+        assertThat(HikariPoolDefaults.poolSize(pool, 6)).isEqualTo(13);
+    }
+
+    @Test
+    void keepsWhatIsSetExplicitlyUnderSpringDatasourceHikari() {
+        MockEnvironment environment = new MockEnvironment()
+            .withProperty("application.database.pool.database-cores", "8")
+            .withProperty("spring.datasource.hikari.maximumPoolSize", "3")
+            .withProperty("spring.datasource.hikari.connection-timeout", "250");
+        // As bound by Spring Boot before the post-processor runs
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setMaximumPoolSize(3);
+        dataSource.setConnectionTimeout(250);
+
+        apply(environment, dataSource);
+
+        assertThat(dataSource.getMaximumPoolSize()).isEqualTo(3);
+        assertThat(dataSource.getConnectionTimeout()).isEqualTo(250);
+        assertThat(dataSource.getLeakDetectionThreshold()).isEqualTo(60000);
+    }
+
+    @Test
+    void setsTheStatementCacheOnPostgresqlOnly() {
+        HikariDataSource postgresql = new HikariDataSource();
+        postgresql.setJdbcUrl("jdbc:postgresql://localhost:5432/ReservasPadel");
+        // As bound from spring.datasource.hikari.data-source-properties
+        postgresql.addDataSourceProperty("prepareThreshold", "0");
+
+        apply(new MockEnvironment(), postgresql);
+
+        assertThat(postgresql.getDataSourceProperties())
+            .containsEntry("prepareThreshold", "0")
+            .containsEntry("preparedStatementCacheQueries", "512")
+            .containsEntry("preparedStatementCacheSizeMiB", "10");
+
+        HikariDataSource h2 = new HikariDataSource();
+        h2.setJdbcUrl("jdbc:h2:mem:reservaspadel");
+        apply(new MockEnvironment(), h2);
+        assertThat(h2.getDataSourceProperties()).isEmpty();
+    }
+
+    private static HikariDataSource apply(MockEnvironment environment) {
+        return apply(environment, new HikariDataSource());
+    }
+
+    private static HikariDataSource apply(MockEnvironment environment, HikariDataSource dataSource) {
+        new HikariPoolDefaults(environment).postProcessAfterInitialization(dataSource, "dataSource");
+        return dataSource;
+    }
+}
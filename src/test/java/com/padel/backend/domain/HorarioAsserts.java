@@ -1,5 +1,6 @@
 package com.padel.backend.domain;
 
+import static com.padel.backend.domain.AssertUtils.bigDecimalCompareTo;
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class HorarioAsserts {
@@ -49,7 +50,13 @@ public class HorarioAsserts {
             .as("Verify Horario relevant properties")
             .satisfies(a -> assertThat(a.getDia()).as("check dia").isEqualTo(expected.getDia()))
             .satisfies(a -> assertThat(a.getHoraInicio()).as("check horaInicio").isEqualTo(expected.getHoraInicio()))
-            .satisfies(a -> assertThat(a.getHoraFin()).as("check horaFin").isEqualTo(expected.getHoraFin()));
+            .satisfies(a -> assertThat(a.getHoraFin()).as("check horaFin").isEqualTo(expected.getHoraFin()))
+            .satisfies(a ->
+                assertThat(a.getMultiplicadorPrecio())
+                    .as("check multiplicadorPrecio")
+                    .usingComparator(bigDecimalCompareTo)
+                    .isEqualTo(expected.getMultiplicadorPrecio())
+            );
     }
 
     /**
@@ -1,6 +1,7 @@
 package com.padel.backend.domain;
 
 import java.util.Random;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicLong;
 
 public class PagoTestSamples {
@@ -9,14 +10,14 @@ public class PagoTestSamples {
     private static final AtomicLong longCount = new AtomicLong(random.nextInt() + (2 * Integer.MAX_VALUE));
 
     public static Pago getPagoSample1() {
-        return new Pago().id(1L);
+        return new Pago().id(1L).referencia("referencia1");
     }
 
     public static Pago getPagoSample2() {
-        return new Pago().id(2L);
+        return new Pago().id(2L).referencia("referencia2");
     }
 
     public static Pago getPagoRandomSampleGenerator() {
-        return new Pago().id(longCount.incrementAndGet());
+        return new Pago().id(longCount.incrementAndGet()).referencia(UUID.randomUUID().toString());
     }
 }
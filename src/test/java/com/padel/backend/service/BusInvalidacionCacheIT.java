@@ -0,0 +1,163 @@
+package com.padel.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.padel.backend.IntegrationTest;
+import com.padel.backend.domain.Cancha;
+import com.padel.backend.domain.Reserva;
+import com.padel.backend.domain.User;
+import com.padel.backend.repository.CanchaRepository;
+import com.padel.backend.repository.ReservaRepository;
+import com.padel.backend.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+import javax.sql.DataSource;
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Integration tests for {@link BusInvalidacionCache}. They need PostgreSQL, so they only run with
+ * the prod profile (Testcontainers).
+ */
+@IntegrationTest
+@EnabledIfSystemProperty(named = "spring.profiles.active", matches = ".*testprod.*")
+@TestPropertySource(properties = "application.cache.cluster.enabled=true")
+class BusInvalidacionCacheIT {
+
+    private static final String CANAL = "cache_invalidacion";
+
+    private static final String OTRO_NODO = "otro-nodo";
+
+    private static final Duration ESPERA = Duration.ofSeconds(10);
+
+    @Autowired
+    private BusInvalidacionCache bus;
+
+    @Autowired
+    private CanchaRepository canchaRepository;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cancha cancha;
+
+    @BeforeEach
+    void init() throws Exception {
+        esperar(bus::conectado);
+        cancha = canchaRepository.saveAndFlush(new Cancha().nombre("Cancha bus").precio(BigDecimal.TEN));
+    }
+
+    @AfterEach
+    void cleanup() {
+        reservaRepository.deleteAll(reservaRepository.findAllByCanchaIdAndFecha(cancha.getId(), LocalDate.of(2030, 1, 7)));
+        canchaRepository.deleteById(cancha.getId());
+    }
+
+    @Test
+    void committedChangeIsBroadcastToTheOtherNodes() throws Exception {
+        try (Connection escucha = dataSource.getConnection(); Statement statement = escucha.createStatement()) {
+            escucha.setAutoCommit(true);
+            statement.execute("LISTEN " + CANAL);
+
+            canchaRepository.saveAndFlush(cancha.nombre("Cancha bus renombrada"));
+
+            List<MensajeInvalidacion> mensajes = new ArrayList<>();
+            MensajeInvalidacion esperado = MensajeInvalidacion.entidad(bus.nodo(), Cancha.class.getName(), cancha.getId());
+            PGConnection pg = escucha.unwrap(PGConnection.class);
+            long limite = System.nanoTime() + ESPERA.toNanos();
+            while (!mensajes.contains(esperado) && System.nanoTime() < limite) {
+                PGNotification[] notificaciones = pg.getNotifications(100);
+                if (notificaciones != null) {
+                    for (PGNotification notificacion : notificaciones) {
+                        mensajes.add(MensajeInvalidacion.decodificar(notificacion.getParameter()));
+                    }
+                }
+            }
+            assertThat(mensajes).contains(esperado);
+        }
+    }
+
+    @Test
+    void messageFromAnotherNodeEvictsTheLocalCopies() throws Exception {
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        canchaRepository.findById(cancha.getId());
+        assertThat(sessionFactory.getCache().containsEntity(Cancha.class, cancha.getId())).isTrue();
+        User admin = userRepository.findOneWithAuthoritiesByLogin("admin").orElseThrow();
+        assertThat(cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("admin")).isNotNull();
+
+        notificar(MensajeInvalidacion.entidad(OTRO_NODO, Cancha.class.getName(), cancha.getId()));
+        notificar(MensajeInvalidacion.cache(OTRO_NODO, UserRepository.USERS_BY_LOGIN_CACHE, admin.getLogin()));
+
+        esperar(
+            () ->
+                !sessionFactory.getCache().containsEntity(Cancha.class, cancha.getId()) &&
+                cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).get("admin") == null
+        );
+    }
+
+    @Test
+    void reservaMessageFromAnotherNodeEvictsTheCachedReserva() throws Exception {
+        // Cancelar, pagar y vencer retenciones cambian la reserva con updates por lote: sólo viaja el RESERVA
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        Reserva reserva = reservaRepository.saveAndFlush(
+            new Reserva().fecha(LocalDate.of(2030, 1, 7)).horaInicio(LocalTime.of(10, 0)).horaFin(LocalTime.of(11, 0)).cancha(cancha)
+        );
+        reservaRepository.findById(reserva.getId());
+        assertThat(sessionFactory.getCache().containsEntity(Reserva.class, reserva.getId())).isTrue();
+
+        ReservaModificadaEvent pagada = ReservaModificadaEvent.pagada(reserva.getId(), cancha.getId(), reserva.getFecha());
+        notificar(MensajeInvalidacion.reserva(OTRO_NODO, pagada));
+
+        esperar(() -> !sessionFactory.getCache().containsEntity(Reserva.class, reserva.getId()));
+    }
+
+    private static void esperar(BooleanSupplier condicion) throws InterruptedException {
+        long limite = System.nanoTime() + ESPERA.toNanos();
+        while (!condicion.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("tiempo de espera agotado").isLessThan(limite);
+            Thread.sleep(50);
+        }
+    }
+
+    private void notificar(MensajeInvalidacion mensaje) throws SQLException {
+        try (
+            Connection conexion = dataSource.getConnection();
+            PreparedStatement notify = conexion.prepareStatement("select pg_notify(?, ?)")
+        ) {
+            conexion.setAutoCommit(true);
+            notify.setString(1, CANAL);
+            notify.setString(2, mensaje.codificar());
+            notify.executeQuery().close();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.padel.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.padel.backend.service.dto.ReservaResponseDTO;
+import java.time.LocalDate;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+/**
+ * Test class for {@link CacheDisponibilidad}.
+ */
+class CacheDisponibilidadTest {
+
+    private static final Long CANCHA_ID = 1L;
+
+    private static final LocalDate FECHA = LocalDate.of(2026, 10, 20);
+
+    private Runnable antesDePut;
+
+    private CacheDisponibilidad cache;
+
+    @BeforeEach
+    void setup() {
+        antesDePut = null;
+        cache = new CacheDisponibilidad(
+            new ConcurrentMapCacheManager() {
+                @Override
+                protected Cache createConcurrentMapCache(String name) {
+                    return new ConcurrentMapCache(name) {
+                        @Override
+                        public void put(Object key, Object value) {
+                            if (antesDePut != null) {
+                                antesDePut.run();
+                            }
+                            super.put(key, value);
+                        }
+                    };
+                }
+            }
+        );
+    }
+
+    @Test
+    void guardaSiNingunCambioSeConfirmoEnElMedio() {
+        long generacion = cache.generacion();
+
+        cache.guardarReservasDelDia(CANCHA_ID, FECHA, List.of(new ReservaResponseDTO()), generacion);
+
+        assertThat(cache.obtenerReservasDelDia(CANCHA_ID, FECHA)).hasSize(1);
+    }
+
+    @Test
+    void noGuardaSiUnCambioSeConfirmoAntesDeGuardar() {
+        long generacion = cache.generacion();
+        cache.onReservaModificada(ReservaModificadaEvent.modificada(10L, CANCHA_ID, FECHA));
+
+        cache.guardarReservasDelDia(CANCHA_ID, FECHA, List.of(new ReservaResponseDTO()), generacion);
+
+        assertThat(cache.obtenerReservasDelDia(CANCHA_ID, FECHA)).isNull();
+    }
+
+    @Test
+    void descartaLaEntradaSiUnCambioSeConfirmaEntreElChequeoYElPut() {
+        long generacion = cache.generacion();
+        // La invalidación corre completa después del chequeo y antes de que la entrada llegue a la región
+        antesDePut = () -> {
+            antesDePut = null;
+            cache.onReservaModificada(ReservaModificadaEvent.modificada(10L, CANCHA_ID, FECHA));
+        };
+
+        cache.guardarReservasDelDia(CANCHA_ID, FECHA, List.of(new ReservaResponseDTO()), generacion);
+
+        assertThat(cache.obtenerReservasDelDia(CANCHA_ID, FECHA)).isNull();
+    }
+}
@@ -0,0 +1,105 @@
+package com.padel.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.padel.backend.IntegrationTest;
+import com.padel.backend.domain.Cancha;
+import com.padel.backend.domain.Horario;
+import com.padel.backend.repository.CanchaRepository;
+import com.padel.backend.repository.HorarioRepository;
+import com.padel.backend.service.dto.ReservaValidacionDTO;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Integration tests for {@link CalentamientoCache}.
+ */
+@IntegrationTest
+class CalentamientoCacheIT {
+
+    @Autowired
+    private CalentamientoCache calentamientoCache;
+
+    @Autowired
+    private ProcesoReservaService procesoReservaService;
+
+    @Autowired
+    private CanchaRepository canchaRepository;
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private CacheDisponibilidad cacheDisponibilidad;
+
+    @Autowired
+    private IndiceOcupacion indiceOcupacion;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cancha cancha;
+
+    private Horario horario;
+
+    @BeforeEach
+    void init() {
+        cancha = canchaRepository.saveAndFlush(new Cancha().nombre("Cancha calentamiento").precio(BigDecimal.TEN));
+        // Horario.dia también acepta el nombre del día en inglés
+        horario = horarioRepository.saveAndFlush(
+            new Horario()
+                .dia(LocalDate.now().getDayOfWeek().name())
+                .horaInicio(LocalTime.of(9, 0))
+                .horaFin(LocalTime.of(10, 0))
+                .cancha(cancha)
+        );
+        cacheDisponibilidad.limpiar();
+        indiceOcupacion.limpiar();
+    }
+
+    @AfterEach
+    void cleanup() {
+        statistics().setStatisticsEnabled(false);
+        horarioRepository.deleteById(horario.getId());
+        canchaRepository.deleteById(cancha.getId());
+        cacheDisponibilidad.limpiar();
+        indiceOcupacion.limpiar();
+    }
+
+    @Test
+    void afterWarmingUpTodaysGridAndOccupancyDoNotReachTheDatabase() {
+        // En los tests el taskExecutor es sincrónico: al volver, el calentamiento ya terminó
+        calentamientoCache.calentar().join();
+        assertThat(calentamientoCache.health().getStatus()).isEqualTo(Status.UP);
+        assertThat(calentamientoCache.health().getDetails()).containsEntry("estado", "listo");
+
+        Statistics stats = statistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+
+        assertThat(procesoReservaService.disponibilidad(LocalDate.now()).getCanchas()).anySatisfy(c ->
+            assertThat(c.getCanchaId()).isEqualTo(cancha.getId())
+        );
+        ReservaValidacionDTO validacion = new ReservaValidacionDTO();
+        validacion.setCanchaId(cancha.getId());
+        validacion.setFecha(LocalDate.now().plusDays(6));
+        validacion.setHoraInicio(LocalTime.of(9, 0));
+        validacion.setHoraFin(LocalTime.of(10, 0));
+        assertThat(procesoReservaService.validarDisponibilidad(validacion)).isTrue();
+
+        assertThat(stats.getPrepareStatementCount()).isZero();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+}
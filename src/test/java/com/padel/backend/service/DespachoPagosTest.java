@@ -0,0 +1,200 @@
+package com.padel.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.padel.backend.config.ApplicationProperties;
+import com.padel.backend.domain.Pago;
+import com.padel.backend.domain.PagoEvento;
+import com.padel.backend.domain.enumeration.EstadoPago;
+import com.padel.backend.domain.enumeration.EstadoPagoEvento;
+import com.padel.backend.domain.enumeration.EstadoReserva;
+import com.padel.backend.repository.PagoEventoRepository;
+import com.padel.backend.repository.PagoRepository;
+import com.padel.backend.repository.ReservaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+
+/**
+ * Test class for {@link DespachoPagos}.
+ */
+class DespachoPagosTest {
+
+    private PagoEventoRepository pagoEventoRepository;
+
+    private PagoRepository pagoRepository;
+
+    private ReservaRepository reservaRepository;
+
+    private ProcesoReservaService procesoReservaService;
+
+    private PasarelaPago pasarela;
+
+    private PlatformTransactionManager transactionManager;
+
+    private ApplicationProperties properties;
+
+    private SimpleMeterRegistry registry;
+
+    private DespachoPagos despacho;
+
+    private Pago pago;
+
+    private PagoEvento evento;
+
+    @BeforeEach
+    void setup() {
+        pagoEventoRepository = mock(PagoEventoRepository.class);
+        pagoRepository = mock(PagoRepository.class);
+        reservaRepository = mock(ReservaRepository.class);
+        procesoReservaService = mock(ProcesoReservaService.class);
+        pasarela = mock(PasarelaPago.class);
+        transactionManager = mock(PlatformTransactionManager.class);
+        registry = new SimpleMeterRegistry();
+        properties = new ApplicationProperties();
+        properties.getPayment().setBatchSize(10);
+        despacho = new DespachoPagos(
+            pagoEventoRepository,
+            pagoRepository,
+            reservaRepository,
+            procesoReservaService,
+            pasarela,
+            transactionManager,
+            Runnable::run,
+            new DefaultListableBeanFactory().getBeanProvider(TaskScheduler.class),
+            properties,
+            registry
+        );
+
+        pago = new Pago().id(7L).fecha(Instant.now()).monto(new BigDecimal("10.00")).estado(EstadoPago.PENDIENTE);
+        evento = PagoEvento.de(pago, 3L);
+        evento.setId(1L);
+        when(pagoEventoRepository.findParaDespacharForUpdate(any(), any())).thenReturn(List.of(evento));
+        when(pagoEventoRepository.findById(1L)).thenReturn(Optional.of(evento));
+        when(pagoRepository.findById(7L)).thenReturn(Optional.of(pago));
+    }
+
+    @Test
+    void approvedPaymentsAreMarkedWithTheGatewayReference() {
+        when(pasarela.cobrar(any())).thenReturn(PasarelaPago.ResultadoCobro.aprobado("ref-1"));
+        when(procesoReservaService.confirmarPago(3L, 7L)).thenReturn(true);
+
+        assertThat(despacho.despachar()).isEqualTo(1);
+
+        verify(pasarela).cobrar(new PasarelaPago.SolicitudCobro(7L, 3L, new BigDecimal("10.00"), "pago-7"));
+        assertThat(pago.getEstado()).isEqualTo(EstadoPago.APROBADO);
+        assertThat(pago.getReferencia()).isEqualTo("ref-1");
+        assertThat(evento.getEstado()).isEqualTo(EstadoPagoEvento.PROCESADO);
+        assertThat(evento.getIntentos()).isEqualTo(1);
+        assertThat(contador("aprobado")).isEqualTo(1);
+        assertThat(registry.get("pago.pasarela").tag("resultado", "ok").timer().count()).isEqualTo(1);
+        verify(procesoReservaService).confirmarPago(3L, 7L);
+        verify(procesoReservaService, never()).cancelar(any());
+    }
+
+    @Test
+    void resultsAreCountedOnlyOnceTheyAreCommitted() {
+        when(pasarela.cobrar(any())).thenReturn(PasarelaPago.ResultadoCobro.aprobado("ref-1"));
+        when(procesoReservaService.confirmarPago(3L, 7L)).thenReturn(true);
+        // Se confirma la toma del lote, pero no el resultado
+        doNothing().doThrow(new TransactionSystemException("se cortó la conexión")).when(transactionManager).commit(any());
+
+        despacho.despachar();
+
+        assertThat(contador("aprobado")).isZero();
+    }
+
+    @Test
+    void aRejectedPaymentCancelsItsReservation() {
+        when(pasarela.cobrar(any())).thenReturn(PasarelaPago.ResultadoCobro.rechazado("ref-2", "fondos insuficientes"));
+        ReservaRepository.ReservaResumen reserva = mock(ReservaRepository.ReservaResumen.class);
+        when(reserva.getEstado()).thenReturn(EstadoReserva.PENDIENTE);
+        when(reservaRepository.findResumenById(3L)).thenReturn(Optional.of(reserva));
+
+        despacho.despachar();
+
+        assertThat(pago.getEstado()).isEqualTo(EstadoPago.RECHAZADO);
+        assertThat(evento.getEstado()).isEqualTo(EstadoPagoEvento.PROCESADO);
+        assertThat(evento.getUltimoError()).isEqualTo("fondos insuficientes");
+        assertThat(contador("rechazado")).isEqualTo(1);
+        verify(procesoReservaService).cancelar(3L);
+        verify(procesoReservaService, never()).confirmarPago(any(), any());
+    }
+
+    @Test
+    void failedCallsAreRetriedWithBackoffUntilTheAttemptsRunOut() {
+        properties.getPayment().setMaxAttempts(2);
+        when(pasarela.cobrar(any())).thenThrow(new IllegalStateException("timeout"));
+        ReservaRepository.ReservaResumen reserva = mock(ReservaRepository.ReservaResumen.class);
+        when(reserva.getEstado()).thenReturn(EstadoReserva.PENDIENTE);
+        when(reservaRepository.findResumenById(3L)).thenReturn(Optional.of(reserva));
+
+        Instant antes = Instant.now();
+        despacho.despachar();
+
+        // 5 s, menos hasta un 20 % de azar
+        assertThat(evento.getEstado()).isEqualTo(EstadoPagoEvento.PENDIENTE);
+        assertThat(evento.getProximoIntento()).isAfterOrEqualTo(antes.plusSeconds(4)).isBeforeOrEqualTo(Instant.now().plusSeconds(5));
+        assertThat(evento.getUltimoError()).contains("timeout");
+        assertThat(contador("reintento")).isEqualTo(1);
+        verify(procesoReservaService, never()).cancelar(any());
+
+        despacho.despachar();
+
+        // Agotados los intentos, el pago se da por rechazado y la franja se libera
+        assertThat(evento.getEstado()).isEqualTo(EstadoPagoEvento.FALLIDO);
+        assertThat(evento.getIntentos()).isEqualTo(2);
+        assertThat(pago.getEstado()).isEqualTo(EstadoPago.RECHAZADO);
+        assertThat(contador("agotado")).isEqualTo(1);
+        assertThat(registry.get("pago.pasarela").tag("resultado", "error").timer().count()).isEqualTo(2);
+        verify(procesoReservaService).cancelar(3L);
+        verify(procesoReservaService, never()).confirmarPago(any(), any());
+    }
+
+    @Test
+    void aFailedPaymentDoesNotCancelAReservationThatIsNoLongerActive() {
+        properties.getPayment().setMaxAttempts(1);
+        when(pasarela.cobrar(any())).thenThrow(new IllegalStateException("timeout"));
+        ReservaRepository.ReservaResumen reserva = mock(ReservaRepository.ReservaResumen.class);
+        when(reserva.getEstado()).thenReturn(EstadoReserva.CANCELADA);
+        when(reservaRepository.findResumenById(3L)).thenReturn(Optional.of(reserva));
+
+        despacho.despachar();
+
+        assertThat(evento.getEstado()).isEqualTo(EstadoPagoEvento.FALLIDO);
+        assertThat(pago.getEstado()).isEqualTo(EstadoPago.RECHAZADO);
+        verify(procesoReservaService, never()).cancelar(any());
+    }
+
+    @Test
+    void theBackoffDoublesOnEveryAttemptUpToTheMaximum() {
+        Duration inicial = Duration.ofSeconds(5);
+        Duration maxima = Duration.ofMinutes(10);
+
+        assertThat(DespachoPagos.espera(1, inicial, maxima)).isEqualTo(Duration.ofSeconds(5));
+        assertThat(DespachoPagos.espera(2, inicial, maxima)).isEqualTo(Duration.ofSeconds(10));
+        assertThat(DespachoPagos.espera(5, inicial, maxima)).isEqualTo(Duration.ofSeconds(80));
+        assertThat(DespachoPagos.espera(8, inicial, maxima)).isEqualTo(maxima);
+        assertThat(DespachoPagos.espera(100, inicial, maxima)).isEqualTo(maxima);
+    }
+
+    private double contador(String resultado) {
+        return registry.get("pago.despachos").tag("resultado", resultado).counter().count();
+    }
+}
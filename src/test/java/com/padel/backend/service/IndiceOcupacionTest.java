@@ -0,0 +1,123 @@
+package com.padel.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.padel.backend.domain.Reserva;
+import com.padel.backend.repository.ReservaRepository;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link IndiceOcupacion} in-memory index.
+ */
+class IndiceOcupacionTest {
+
+    private static final Long CANCHA_ID = 1L;
+    private static final LocalDate FECHA = LocalDate.of(2025, 11, 24);
+
+    private ReservaRepository reservaRepository;
+
+    private IndiceOcupacion indice;
+
+    @BeforeEach
+    void setup() {
+        reservaRepository = mock(ReservaRepository.class);
+        indice = new IndiceOcupacion(reservaRepository);
+    }
+
+    @Test
+    void detectsPartialOverlapsAndAllowsAdjacentSlots() {
+        when(reservaRepository.findActivasByCanchaIdAndFecha(CANCHA_ID, FECHA)).thenReturn(
+            List.of(reserva(10L, "18:00", "19:30"), reserva(11L, "10:00", "11:00"))
+        );
+
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("10:30"), hora("11:30"))).isFalse();
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("09:00"), hora("10:30"))).isFalse();
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("17:00"), hora("21:00"))).isFalse();
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("18:30"), hora("19:00"))).isFalse();
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("11:00"), hora("12:00"))).isTrue();
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("09:00"), hora("10:00"))).isTrue();
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("19:30"), hora("21:00"))).isTrue();
+    }
+
+    @Test
+    void handlesOverlappingReservationsAlreadyStored() {
+        when(reservaRepository.findActivasByCanchaIdAndFecha(CANCHA_ID, FECHA)).thenReturn(
+            List.of(reserva(1L, "08:00", "20:00"), reserva(2L, "09:00", "10:00"))
+        );
+
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("12:00"), hora("13:00"))).isFalse();
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("20:00"), hora("21:00"))).isTrue();
+    }
+
+    @Test
+    void loadsEachDayOnceAndAppliesCommittedBookings() {
+        when(reservaRepository.findActivasByCanchaIdAndFecha(CANCHA_ID, FECHA)).thenReturn(List.of());
+
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("10:00"), hora("11:00"))).isTrue();
+
+        indice.onReservaModificada(ReservaModificadaEvent.creada(5L, CANCHA_ID, FECHA, hora("10:00"), hora("11:00")));
+        indice.onReservaModificada(ReservaModificadaEvent.creada(5L, CANCHA_ID, FECHA, hora("10:00"), hora("11:00")));
+
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("10:30"), hora("11:30"))).isFalse();
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("11:00"), hora("12:00"))).isTrue();
+        verify(reservaRepository, times(1)).findActivasByCanchaIdAndFecha(anyLong(), any());
+    }
+
+    @Test
+    void reloadsWhenABookingIsCommittedWhileTheDayIsLoading() {
+        // La carga lee la base vacía y, antes de que entre al índice, se confirma una reserva
+        when(reservaRepository.findActivasByCanchaIdAndFecha(CANCHA_ID, FECHA))
+            .thenAnswer(invocation -> {
+                indice.onReservaModificada(ReservaModificadaEvent.creada(5L, CANCHA_ID, FECHA, hora("10:00"), hora("11:00")));
+                return List.of();
+            })
+            .thenReturn(List.of(reserva(5L, "10:00", "11:00")));
+
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("10:00"), hora("11:00"))).isFalse();
+        verify(reservaRepository, times(2)).findActivasByCanchaIdAndFecha(anyLong(), any());
+    }
+
+    @Test
+    void reloadsDayAfterModification() {
+        when(reservaRepository.findActivasByCanchaIdAndFecha(CANCHA_ID, FECHA)).thenReturn(List.of(reserva(1L, "10:00", "11:00")));
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("10:00"), hora("11:00"))).isFalse();
+
+        when(reservaRepository.findActivasByCanchaIdAndFecha(CANCHA_ID, FECHA)).thenReturn(List.of());
+        indice.onReservaModificada(ReservaModificadaEvent.modificada(1L, CANCHA_ID, FECHA));
+
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("10:00"), hora("11:00"))).isTrue();
+        verify(reservaRepository, times(2)).findActivasByCanchaIdAndFecha(CANCHA_ID, FECHA);
+    }
+
+    @Test
+    void releasesTheSlotOfACancelledReservationWithoutReloading() {
+        when(reservaRepository.findActivasByCanchaIdAndFecha(CANCHA_ID, FECHA)).thenReturn(
+            List.of(reserva(1L, "10:00", "11:00"), reserva(2L, "11:00", "12:00"))
+        );
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("10:00"), hora("11:00"))).isFalse();
+
+        indice.onReservaModificada(ReservaModificadaEvent.cancelada(1L, CANCHA_ID, FECHA, hora("10:00"), hora("11:00")));
+
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("10:00"), hora("11:00"))).isTrue();
+        assertThat(indice.estaLibre(CANCHA_ID, FECHA, hora("10:30"), hora("11:30"))).isFalse();
+        verify(reservaRepository, times(1)).findActivasByCanchaIdAndFecha(CANCHA_ID, FECHA);
+    }
+
+    private static Reserva reserva(Long id, String inicio, String fin) {
+        return new Reserva().id(id).fecha(FECHA).horaInicio(hora(inicio)).horaFin(hora(fin));
+    }
+
+    private static LocalTime hora(String valor) {
+        return LocalTime.parse(valor);
+    }
+}
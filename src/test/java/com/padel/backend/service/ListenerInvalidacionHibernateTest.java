@@ -0,0 +1,79 @@
+package com.padel.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.metamodel.mapping.CollectionPart;
+import org.hibernate.metamodel.mapping.EntityMappingType;
+import org.hibernate.metamodel.mapping.PluralAttributeMapping;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.persister.collection.CollectionPersister;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for {@link ListenerInvalidacionHibernate}.
+ */
+class ListenerInvalidacionHibernateTest {
+
+    private static final String HORARIO = "com.padel.backend.domain.Horario";
+
+    private final List<MensajeInvalidacion> mensajes = new ArrayList<>();
+
+    private ListenerInvalidacionHibernate listener;
+
+    @BeforeEach
+    void setup() {
+        MappingMetamodelImplementor metamodelo = mock(MappingMetamodelImplementor.class);
+        List<CollectionPersister> colecciones = List.of(
+            coleccion("com.padel.backend.domain.Cancha.horarios", true, HORARIO),
+            coleccion("com.padel.backend.domain.Club.horarios", false, HORARIO),
+            coleccion("com.padel.backend.domain.User.etiquetas", true, null)
+        );
+        doAnswer(invocacion -> {
+            Consumer<CollectionPersister> accion = invocacion.getArgument(0);
+            colecciones.forEach(accion);
+            return null;
+        })
+            .when(metamodelo)
+            .forEachCollectionDescriptor(any());
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class);
+        when(sessionFactory.getMappingMetamodel()).thenReturn(metamodelo);
+        listener = new ListenerInvalidacionHibernate(sessionFactory, "nodo", mensajes::add);
+    }
+
+    @Test
+    void unElementoNuevoDescartaLasColeccionesCacheadasQueLoContienen() {
+        EntityPersister horario = mock(EntityPersister.class);
+        when(horario.getEntityName()).thenReturn(HORARIO);
+
+        listener.onPostInsert(new PostInsertEvent(new Object(), 1L, new Object[0], horario, null));
+
+        assertThat(mensajes).containsExactly(MensajeInvalidacion.coleccion("nodo", "com.padel.backend.domain.Cancha.horarios", null));
+    }
+
+    private static CollectionPersister coleccion(String rol, boolean cacheada, String entidadElemento) {
+        CollectionPart elemento = mock(CollectionPart.class);
+        if (entidadElemento != null) {
+            EntityMappingType tipo = mock(EntityMappingType.class);
+            when(tipo.getEntityName()).thenReturn(entidadElemento);
+            when(elemento.asEntityMappingType()).thenReturn(tipo);
+        }
+        PluralAttributeMapping atributo = mock(PluralAttributeMapping.class);
+        when(atributo.getElementDescriptor()).thenReturn(elemento);
+        CollectionPersister persister = mock(CollectionPersister.class);
+        when(persister.getRole()).thenReturn(rol);
+        when(persister.hasCache()).thenReturn(cacheada);
+        when(persister.getAttributeMapping()).thenReturn(atributo);
+        return persister;
+    }
+}
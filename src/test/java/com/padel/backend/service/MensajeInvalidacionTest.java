@@ -0,0 +1,57 @@
+package com.padel.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link MensajeInvalidacion} wire format.
+ */
+class MensajeInvalidacionTest {
+
+    private static final String NODO = "nodo-a";
+
+    @Test
+    void bookingEventSurvivesTheRoundTrip() {
+        ReservaModificadaEvent event = ReservaModificadaEvent.creada(
+            7L,
+            3L,
+            LocalDate.of(2025, 11, 24),
+            LocalTime.of(18, 0),
+            LocalTime.of(19, 30)
+        );
+
+        MensajeInvalidacion mensaje = MensajeInvalidacion.decodificar(MensajeInvalidacion.reserva(NODO, event).codificar());
+
+        assertThat(mensaje.nodo()).isEqualTo(NODO);
+        assertThat(mensaje.tipo()).isEqualTo(MensajeInvalidacion.Tipo.RESERVA);
+        assertThat(mensaje.comoReserva()).isEqualTo(event);
+    }
+
+    @Test
+    void missingValuesComeBackAsNull() {
+        ReservaModificadaEvent event = ReservaModificadaEvent.modificada(7L, null, LocalDate.of(2025, 11, 24));
+        assertThat(MensajeInvalidacion.decodificar(MensajeInvalidacion.reserva(NODO, event).codificar()).comoReserva()).isEqualTo(event);
+
+        CanchaModificadaEvent cancha = new CanchaModificadaEvent(null);
+        assertThat(MensajeInvalidacion.decodificar(MensajeInvalidacion.cancha(NODO, cancha).codificar()).comoCancha()).isEqualTo(cancha);
+    }
+
+    @Test
+    void separatorInsideAValueIsEscaped() {
+        MensajeInvalidacion mensaje = MensajeInvalidacion.cache(NODO, "usersByEmail", "a|b%c@example.com");
+
+        assertThat(MensajeInvalidacion.decodificar(mensaje.codificar())).isEqualTo(mensaje);
+        assertThat(MensajeInvalidacion.decodificar(mensaje.codificar()).datos()).isEqualTo(List.of("usersByEmail", "a|b%c@example.com"));
+    }
+
+    @Test
+    void malformedPayloadIsRejected() {
+        assertThatIllegalArgumentException().isThrownBy(() -> MensajeInvalidacion.decodificar("solo-un-campo"));
+        assertThatIllegalArgumentException().isThrownBy(() -> MensajeInvalidacion.decodificar("nodo|DESCONOCIDO"));
+    }
+}
@@ -0,0 +1,503 @@
+package com.padel.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+
+import com.padel.backend.IntegrationTest;
+import com.padel.backend.config.ApplicationProperties;
+import com.padel.backend.domain.Cancha;
+import com.padel.backend.domain.Horario;
+import com.padel.backend.domain.Pago;
+import com.padel.backend.domain.Reserva;
+import com.padel.backend.domain.Usuario;
+import com.padel.backend.domain.enumeration.EstadoPago;
+import com.padel.backend.domain.enumeration.EstadoPagoEvento;
+import com.padel.backend.domain.enumeration.EstadoReserva;
+import com.padel.backend.repository.CanchaRepository;
+import com.padel.backend.repository.HorarioRepository;
+import com.padel.backend.repository.PagoEventoRepository;
+import com.padel.backend.repository.PagoRepository;
+import com.padel.backend.repository.ReservaRepository;
+import com.padel.backend.repository.UsuarioRepository;
+import com.padel.backend.service.dto.DisponibilidadCanchaDTO;
+import com.padel.backend.service.dto.FiltroReservaDTO;
+import com.padel.backend.service.dto.ReservaRequestDTO;
+import com.padel.backend.service.dto.ReservaResponseDTO;
+import com.padel.backend.service.dto.ReservaValidacionDTO;
+import jakarta.persistence.EntityManagerFactory;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+/**
+ * Integration tests for {@link ProcesoReservaService}.
+ */
+@IntegrationTest
+class ProcesoReservaServiceIT {
+
+    private static final LocalDate FECHA = LocalDate.of(2030, 5, 20);
+
+    private static final int INTENTOS_SIMULTANEOS = 200;
+
+    private static final int HILOS = 32;
+
+    @Autowired
+    private ProcesoReservaService procesoReservaService;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private CanchaRepository canchaRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private PagoRepository pagoRepository;
+
+    @Autowired
+    private PagoEventoRepository pagoEventoRepository;
+
+    @Autowired
+    private HorarioRepository horarioRepository;
+
+    @Autowired
+    private DespachoPagos despachoPagos;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @MockitoSpyBean
+    private PasarelaPago pasarelaPago;
+
+    @Autowired
+    private CacheDisponibilidad cacheDisponibilidad;
+
+    @Autowired
+    private TarifaCanchas tarifaCanchas;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Cancha cancha;
+
+    private Usuario usuario;
+
+    private final List<Horario> horarios = new ArrayList<>();
+
+    @BeforeEach
+    void init() {
+        cancha = canchaRepository.saveAndFlush(new Cancha().nombre("Cancha concurrencia").precio(BigDecimal.TEN));
+        usuario = usuarioRepository.saveAndFlush(new Usuario().nombre("Jugador").email("jugador@padel.test"));
+        // La cancha se guarda directo en el repositorio, sin el evento que actualiza la tabla de precios
+        tarifaCanchas.recargar();
+    }
+
+    @AfterEach
+    void cleanup() {
+        statistics().setStatisticsEnabled(false);
+        List<Reserva> reservas = reservaRepository.findAllByCanchaIdAndFecha(cancha.getId(), FECHA);
+        reservaRepository.deleteAll(reservas);
+        reservas.stream().filter(r -> r.getPago() != null).forEach(r -> pagoRepository.deleteById(r.getPago().getId()));
+        horarioRepository.deleteAll(horarios);
+        horarios.clear();
+        cacheDisponibilidad.limpiar();
+        canchaRepository.deleteById(cancha.getId());
+        usuarioRepository.deleteById(usuario.getId());
+    }
+
+    @Test
+    void readOperationsRunASingleStatementWithoutLoadingAssociations() {
+        Long id = reservaRepository.saveAndFlush(reserva(LocalTime.of(10, 0), LocalTime.of(11, 0))).getId();
+        FiltroReservaDTO filtro = new FiltroReservaDTO();
+        filtro.setCanchaId(cancha.getId());
+        Statistics stats = statistics();
+        stats.setStatisticsEnabled(true);
+
+        stats.clear();
+        assertThat(procesoReservaService.obtener(id).getCanchaId()).isEqualTo(cancha.getId());
+        assertSingleStatementWithoutEntityLoads(stats);
+
+        stats.clear();
+        // Una página incompleta no necesita la consulta de conteo
+        assertThat(procesoReservaService.listar(filtro, PageRequest.of(0, 20)).getContent()).hasSize(1);
+        assertSingleStatementWithoutEntityLoads(stats);
+    }
+
+    @Test
+    void payingInsertsThePaymentAndLinksItWithoutLoadingEntities() {
+        Long id = reservaRepository.saveAndFlush(reserva(LocalTime.of(10, 0), LocalTime.of(11, 0))).getId();
+        Statistics stats = statistics();
+        stats.setStatisticsEnabled(true);
+
+        stats.clear();
+        Long pagoId = procesoReservaService.pagar(id).getPagoId();
+        assertThat(pagoId).isNotNull();
+        // Lectura de la proyección + insert del pago + update condicional + insert del evento para la pasarela;
+        // el monto sale de la tabla en memoria (más el nextval de cada secuencia cuando se agota el bloque de ids)
+        assertThat(stats.getPrepareStatementCount()).isBetween(4L, 6L);
+        assertThat(stats.getQueryExecutionCount()).isEqualTo(1);
+        assertThat(stats.getEntityInsertCount()).isEqualTo(2);
+        assertThat(stats.getEntityLoadCount()).isZero();
+        assertThat(stats.getEntityFetchCount()).isZero();
+
+        stats.clear();
+        // Pagar otra vez no crea otro pago
+        assertThat(procesoReservaService.pagar(id).getPagoId()).isEqualTo(pagoId);
+        assertSingleStatementWithoutEntityLoads(stats);
+
+        // Una hora a BigDecimal.TEN por hora
+        assertThat(pagoRepository.findById(pagoId)).get().extracting(Pago::getMonto).isEqualTo(new BigDecimal("10.00"));
+    }
+
+    @Test
+    void paymentsAreChargedByTheGatewayAfterTheRequestCommits() {
+        Long id = reservaRepository.saveAndFlush(reserva(LocalTime.of(10, 0), LocalTime.of(11, 0))).getId();
+
+        ReservaResponseDTO pagada = procesoReservaService.pagar(id);
+        Long pagoId = pagada.getPagoId();
+
+        // La pasarela todavía no se llamó: el pago espera en el outbox y la reserva no cambia de estado
+        assertThat(pagada.getEstado()).isEqualTo(EstadoReserva.CONFIRMADA.name());
+        assertThat(estadoDe(id)).isEqualTo(EstadoReserva.CONFIRMADA);
+        assertThat(pagoRepository.findById(pagoId)).get().extracting(Pago::getEstado).isEqualTo(EstadoPago.PENDIENTE);
+        assertThat(pagoEventoRepository.findAllByPagoId(pagoId))
+            .singleElement()
+            .satisfies(e -> assertThat(e.getEstado()).isEqualTo(EstadoPagoEvento.PENDIENTE))
+            .satisfies(e -> assertThat(e.getMonto()).isEqualByComparingTo("10.00"));
+
+        assertThat(despachoPagos.despachar()).isPositive();
+
+        assertThat(pagoRepository.findById(pagoId))
+            .get()
+            .satisfies(p -> assertThat(p.getEstado()).isEqualTo(EstadoPago.APROBADO))
+            .satisfies(p -> assertThat(p.getReferencia()).isEqualTo("local-pago-" + pagoId));
+        assertThat(pagoEventoRepository.findAllByPagoId(pagoId))
+            .singleElement()
+            .satisfies(e -> assertThat(e.getEstado()).isEqualTo(EstadoPagoEvento.PROCESADO))
+            .satisfies(e -> assertThat(e.getIntentos()).isEqualTo(1))
+            .satisfies(e -> assertThat(e.getProcesadoEn()).isNotNull());
+        assertThat(estadoDe(id)).isEqualTo(EstadoReserva.PAGADA);
+    }
+
+    @Test
+    void aPaymentRejectedByTheGatewayCancelsTheReservation() {
+        Long id = reservaRepository.saveAndFlush(reserva(LocalTime.of(10, 0), LocalTime.of(11, 0))).getId();
+        doReturn(PasarelaPago.ResultadoCobro.rechazado("ref-rechazo", "fondos insuficientes")).when(pasarelaPago).cobrar(any());
+
+        Long pagoId = procesoReservaService.pagar(id).getPagoId();
+        assertThat(despachoPagos.despachar()).isPositive();
+
+        assertThat(pagoRepository.findById(pagoId)).get().extracting(Pago::getEstado).isEqualTo(EstadoPago.RECHAZADO);
+        assertThat(estadoDe(id)).isEqualTo(EstadoReserva.CANCELADA);
+        // La franja vuelve a estar libre
+        assertThat(procesoReservaService.validarDisponibilidad(validacion("10:00", "11:00"))).isTrue();
+    }
+
+    @Test
+    void aPaymentTheGatewayNeverAnswersCancelsTheReservationOnceTheAttemptsRunOut() {
+        Long id = reservaRepository.saveAndFlush(reserva(LocalTime.of(10, 0), LocalTime.of(11, 0))).getId();
+        doThrow(new IllegalStateException("pasarela caída")).when(pasarelaPago).cobrar(any());
+        int maxAttempts = applicationProperties.getPayment().getMaxAttempts();
+        applicationProperties.getPayment().setMaxAttempts(1);
+        try {
+            Long pagoId = procesoReservaService.pagar(id).getPagoId();
+            assertThat(despachoPagos.despachar()).isPositive();
+
+            assertThat(pagoEventoRepository.findAllByPagoId(pagoId))
+                .singleElement()
+                .satisfies(e -> assertThat(e.getEstado()).isEqualTo(EstadoPagoEvento.FALLIDO));
+            assertThat(pagoRepository.findById(pagoId)).get().extracting(Pago::getEstado).isEqualTo(EstadoPago.RECHAZADO);
+            assertThat(estadoDe(id)).isEqualTo(EstadoReserva.CANCELADA);
+            // La franja no queda tomada por un cobro que nunca se resolvió
+            assertThat(procesoReservaService.validarDisponibilidad(validacion("10:00", "11:00"))).isTrue();
+        } finally {
+            applicationProperties.getPayment().setMaxAttempts(maxAttempts);
+        }
+    }
+
+    @Test
+    void peakSlotsArePricedWithTheirMultiplier() {
+        horarios.addAll(
+            horarioRepository.saveAllAndFlush(
+                List.of(horario("10:00", "11:00"), horario("11:00", "12:00").multiplicadorPrecio(new BigDecimal("1.5")))
+            )
+        );
+        tarifaCanchas.recargar();
+        Long id = reservaRepository.saveAndFlush(reserva(LocalTime.of(10, 30), LocalTime.of(12, 0))).getId();
+
+        Long pagoId = procesoReservaService.pagar(id).getPagoId();
+
+        // Media hora a 10 + una hora a 15
+        assertThat(pagoRepository.findById(pagoId)).get().extracting(Pago::getMonto).isEqualTo(new BigDecimal("20.00"));
+    }
+
+    @Test
+    void simultaneousPaymentsOfTheSameReservationLeaveASinglePago() throws Exception {
+        Long id = reservaRepository.saveAndFlush(reserva(LocalTime.of(10, 0), LocalTime.of(11, 0))).getId();
+        long pagosAntes = pagoRepository.count();
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<Long>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < HILOS; i++) {
+                futures.add(
+                    executor.submit(() -> {
+                        largada.await();
+                        return procesoReservaService.pagar(id).getPagoId();
+                    })
+                );
+            }
+            largada.countDown();
+            Set<Long> pagoIds = new HashSet<>();
+            for (Future<Long> future : futures) {
+                pagoIds.add(future.get(60, TimeUnit.SECONDS));
+            }
+            // Todos reciben el mismo pago, el único que quedó
+            assertThat(pagoIds).singleElement().isEqualTo(reservaRepository.findResumenById(id).orElseThrow().getPagoId());
+        } finally {
+            executor.shutdownNow();
+        }
+        assertThat(pagoRepository.count()).isEqualTo(pagosAntes + 1);
+    }
+
+    @Test
+    void cancellingUpdatesTheStateAndReleasesTheSlotAfterCommit() {
+        horarios.addAll(horarioRepository.saveAllAndFlush(List.of(horario("10:00", "11:00"), horario("11:00", "12:00"))));
+        cacheDisponibilidad.limpiar();
+        Long id = procesoReservaService.registrar(request("10:00", "11:00")).getId();
+        assertThat(libresDeLaCancha()).containsExactly(false, true);
+        assertThat(procesoReservaService.validarDisponibilidad(validacion("10:00", "11:00"))).isFalse();
+        assertThat(procesoReservaService.reservasDeCanchaEnDia(cancha.getId(), FECHA)).hasSize(1);
+        Statistics stats = statistics();
+        stats.setStatisticsEnabled(true);
+
+        stats.clear();
+        assertThat(procesoReservaService.cancelar(id).getEstado()).isEqualTo(EstadoReserva.CANCELADA.name());
+        // Lectura de la proyección + update condicional del estado: no se borra ni se cargan entidades
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(stats.getEntityDeleteCount()).isZero();
+        assertThat(stats.getEntityLoadCount()).isZero();
+
+        // La fila queda para el historial, pero la franja ya está libre en la grilla, el índice y la vista del día
+        assertThat(reservaRepository.findResumenById(id)).get().extracting(ReservaRepository.ReservaResumen::getEstado).isEqualTo(
+            EstadoReserva.CANCELADA
+        );
+        assertThat(libresDeLaCancha()).containsExactly(true, true);
+        assertThat(procesoReservaService.validarDisponibilidad(validacion("10:00", "11:00"))).isTrue();
+        assertThat(procesoReservaService.reservasDeCanchaEnDia(cancha.getId(), FECHA)).isEmpty();
+
+        // Cancelar otra vez no cambia nada; pagarla ya no se puede
+        assertThat(procesoReservaService.cancelar(id).getEstado()).isEqualTo(EstadoReserva.CANCELADA.name());
+        assertThatThrownBy(() -> procesoReservaService.pagar(id)).isInstanceOf(EstadoReservaInvalidoException.class);
+
+        // Y la franja se puede volver a reservar
+        assertThat(procesoReservaService.registrar(request("10:00", "11:00")).getEstado()).isEqualTo(EstadoReserva.PENDIENTE.name());
+    }
+
+    @Test
+    void unpaidHoldsExpireInOneBatchAndReleaseTheirSlots() {
+        horarios.addAll(horarioRepository.saveAllAndFlush(List.of(horario("10:00", "11:00"), horario("11:00", "12:00"))));
+        cacheDisponibilidad.limpiar();
+        ReservaResponseDTO retenida = procesoReservaService.registrar(request("10:00", "11:00"));
+        ReservaResponseDTO pagada = procesoReservaService.registrar(request("11:00", "12:00"));
+        assertThat(retenida.getEstado()).isEqualTo(EstadoReserva.PENDIENTE.name());
+        assertThat(retenida.getExpiraEn()).isAfter(Instant.now());
+        procesoReservaService.pagar(pagada.getId());
+        assertThat(procesoReservaService.validarDisponibilidad(validacion("10:00", "11:00"))).isFalse();
+
+        // Antes de vencer no se toca ninguna
+        assertThat(procesoReservaService.vencerRetenciones(List.of(retenida.getId(), pagada.getId()), Instant.now())).isEmpty();
+
+        // Vencida: sólo la que no tiene pago (la pagada sigue PENDIENTE hasta que aprueba la pasarela, pero ya no vence),
+        // con un select que la bloquea y un update
+        Statistics stats = statistics();
+        stats.setStatisticsEnabled(true);
+        stats.clear();
+        Instant despues = retenida.getExpiraEn().plusSeconds(1);
+        assertThat(procesoReservaService.vencerRetenciones(List.of(retenida.getId(), pagada.getId()), despues)).containsExactly(
+            retenida.getId()
+        );
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(2);
+
+        assertThat(reservaRepository.findResumenById(retenida.getId()))
+            .get()
+            .extracting(ReservaRepository.ReservaResumen::getEstado)
+            .isEqualTo(EstadoReserva.CANCELADA);
+        assertThat(libresDeLaCancha()).containsExactly(true, false);
+        assertThat(procesoReservaService.validarDisponibilidad(validacion("10:00", "11:00"))).isTrue();
+        assertThatThrownBy(() -> procesoReservaService.pagar(retenida.getId())).isInstanceOf(EstadoReservaInvalidoException.class);
+    }
+
+    @Test
+    void anExpiredHoldCannotBePaidEvenBeforeItIsSwept() {
+        Reserva vencida = reserva(LocalTime.of(10, 0), LocalTime.of(11, 0))
+            .estado(EstadoReserva.PENDIENTE)
+            .expiraEn(Instant.now().minusSeconds(1));
+        Long id = reservaRepository.saveAndFlush(vencida).getId();
+
+        assertThatThrownBy(() -> procesoReservaService.pagar(id)).isInstanceOf(RetencionVencidaException.class);
+        assertThat(reservaRepository.findResumenById(id)).get().extracting(ReservaRepository.ReservaResumen::getPagoId).isNull();
+    }
+
+    @Test
+    void repeatedGridViewsAreServedFromTheCacheUntilABookingCommits() {
+        // FECHA es lunes
+        horarios.addAll(horarioRepository.saveAllAndFlush(List.of(horario("10:00", "11:00"), horario("11:00", "12:00"))));
+        cacheDisponibilidad.limpiar();
+        Statistics stats = statistics();
+        stats.setStatisticsEnabled(true);
+
+        assertThat(libresDeLaCancha()).containsExactly(true, true);
+
+        stats.clear();
+        assertThat(libresDeLaCancha()).containsExactly(true, true);
+        assertThat(stats.getPrepareStatementCount()).isZero();
+
+        procesoReservaService.registrar(request("10:00", "11:00"));
+
+        stats.clear();
+        assertThat(libresDeLaCancha()).containsExactly(false, true);
+        // Sólo se vuelve a leer la ocupación del día: los horarios siguen en cache
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void courtDayViewIsCachedAndRefreshedWhenABookingIsPaid() {
+        Long id = reservaRepository.saveAndFlush(reserva(LocalTime.of(10, 0), LocalTime.of(11, 0))).getId();
+        cacheDisponibilidad.limpiar();
+        Statistics stats = statistics();
+        stats.setStatisticsEnabled(true);
+
+        // La semana entera sale de una sola consulta y deja cacheados sus siete días
+        assertThat(procesoReservaService.reservasDeCanchaEnSemana(cancha.getId(), FECHA.plusDays(3))).hasSize(1);
+        assertSingleStatementWithoutEntityLoads(stats);
+
+        stats.clear();
+        assertThat(procesoReservaService.reservasDeCanchaEnDia(cancha.getId(), FECHA)).singleElement().satisfies(r ->
+            assertThat(r.getPagoId()).isNull()
+        );
+        assertThat(stats.getPrepareStatementCount()).isZero();
+
+        Long pagoId = procesoReservaService.pagar(id).getPagoId();
+
+        stats.clear();
+        assertThat(procesoReservaService.reservasDeCanchaEnDia(cancha.getId(), FECHA)).singleElement().satisfies(r ->
+            assertThat(r.getPagoId()).isEqualTo(pagoId)
+        );
+        assertSingleStatementWithoutEntityLoads(stats);
+    }
+
+    @Test
+    void onlyOneOfManySimultaneousBookingsForTheSameSlotWins() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(HILOS);
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicInteger exitosas = new AtomicInteger();
+        AtomicInteger rechazadas = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < INTENTOS_SIMULTANEOS; i++) {
+                // Algunos pedidos se solapan parcialmente con el resto, no sólo la misma franja exacta
+                String inicio = i % 2 == 0 ? "18:00" : "18:30";
+                String fin = i % 2 == 0 ? "19:00" : "19:30";
+                futures.add(
+                    executor.submit(() -> {
+                        largada.await();
+                        try {
+                            procesoReservaService.registrar(request(inicio, fin));
+                            exitosas.incrementAndGet();
+                        } catch (ReservaNoDisponibleException e) {
+                            rechazadas.incrementAndGet();
+                        }
+                        return null;
+                    })
+                );
+            }
+            largada.countDown();
+            for (Future<?> future : futures) {
+                future.get(60, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(exitosas.get()).isEqualTo(1);
+        assertThat(rechazadas.get()).isEqualTo(INTENTOS_SIMULTANEOS - 1);
+        assertThat(reservaRepository.findAllByCanchaIdAndFecha(cancha.getId(), FECHA)).hasSize(1);
+    }
+
+    private static void assertSingleStatementWithoutEntityLoads(Statistics stats) {
+        assertThat(stats.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(stats.getEntityLoadCount()).isZero();
+        assertThat(stats.getEntityFetchCount()).isZero();
+    }
+
+    private EstadoReserva estadoDe(Long id) {
+        return reservaRepository.findResumenById(id).map(ReservaRepository.ReservaResumen::getEstado).orElseThrow();
+    }
+
+    private Reserva reserva(LocalTime inicio, LocalTime fin) {
+        return new Reserva().fecha(FECHA).horaInicio(inicio).horaFin(fin).cancha(cancha).usuario(usuario);
+    }
+
+    private Horario horario(String inicio, String fin) {
+        return new Horario().dia("Lunes").horaInicio(LocalTime.parse(inicio)).horaFin(LocalTime.parse(fin)).cancha(cancha);
+    }
+
+    private boolean[] libresDeLaCancha() {
+        DisponibilidadCanchaDTO grilla = procesoReservaService
+            .disponibilidad(FECHA)
+            .getCanchas()
+            .stream()
+            .filter(c -> c.getCanchaId().equals(cancha.getId()))
+            .findFirst()
+            .orElseThrow();
+        return grilla.getLibres();
+    }
+
+    private Statistics statistics() {
+        return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private ReservaValidacionDTO validacion(String inicio, String fin) {
+        ReservaValidacionDTO req = new ReservaValidacionDTO();
+        req.setCanchaId(cancha.getId());
+        req.setFecha(FECHA);
+        req.setHoraInicio(LocalTime.parse(inicio));
+        req.setHoraFin(LocalTime.parse(fin));
+        return req;
+    }
+
+    private ReservaRequestDTO request(String inicio, String fin) {
+        ReservaRequestDTO req = new ReservaRequestDTO();
+        req.setCanchaId(cancha.getId());
+        req.setUsuarioId(usuario.getId());
+        req.setFecha(FECHA);
+        req.setHoraInicio(LocalTime.parse(inicio));
+        req.setHoraFin(LocalTime.parse(fin));
+        return req;
+    }
+}
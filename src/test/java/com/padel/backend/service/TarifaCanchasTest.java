@@ -0,0 +1,126 @@
+package com.padel.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.padel.backend.domain.Cancha;
+import com.padel.backend.domain.Horario;
+import com.padel.backend.repository.CanchaRepository;
+import com.padel.backend.repository.HorarioRepository;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Test class for the {@link TarifaCanchas} price table.
+ */
+class TarifaCanchasTest {
+
+    private static final LocalDate LUNES = LocalDate.of(2025, 11, 24);
+
+    private CanchaRepository canchaRepository;
+
+    private HorarioRepository horarioRepository;
+
+    private Cancha cancha;
+
+    private TarifaCanchas tarifas;
+
+    @BeforeEach
+    void setup() {
+        canchaRepository = mock(CanchaRepository.class);
+        horarioRepository = mock(HorarioRepository.class);
+        cancha = new Cancha().nombre("Central").precio(new BigDecimal("6000"));
+        cancha.setId(1L);
+        when(canchaRepository.findAll()).thenReturn(List.of(cancha));
+        tarifas = new TarifaCanchas(canchaRepository, horarioRepository);
+    }
+
+    @Test
+    void chargesThePricePerHourTimesTheDuration() {
+        when(horarioRepository.findAllConCanchaOrdenados()).thenReturn(List.of());
+        tarifas.recargar();
+
+        assertThat(tarifas.calcularMonto(1L, LUNES, hora("10:00"), hora("11:30"))).isEqualByComparingTo("9000.00");
+        assertThat(tarifas.calcularMonto(1L, LUNES, hora("10:00"), hora("10:20"))).isEqualByComparingTo("2000.00");
+    }
+
+    @Test
+    void appliesTheMultiplierOnlyToThePartInsideThePeakWindow() {
+        when(horarioRepository.findAllConCanchaOrdenados()).thenReturn(
+            List.of(
+                horario("Lunes", "08:00", "10:00", "0.5"),
+                horario("Lunes", "19:00", "21:00", "1.5"),
+                horario("Lunes", "21:00", "22:00", null),
+                horario("Martes", "10:00", "23:00", "2")
+            )
+        );
+        tarifas.recargar();
+
+        // 18:30-19:30: media hora base + media hora pico
+        assertThat(tarifas.calcularMonto(1L, LUNES, hora("18:30"), hora("19:30"))).isEqualByComparingTo("7500.00");
+        // 09:00-11:00: una hora valle + una base
+        assertThat(tarifas.calcularMonto(1L, LUNES, hora("09:00"), hora("11:00"))).isEqualByComparingTo("9000.00");
+        // 20:00-22:00: una hora pico + una de un horario sin multiplicador
+        assertThat(tarifas.calcularMonto(1L, LUNES, hora("20:00"), hora("22:00"))).isEqualByComparingTo("15000.00");
+        // El martes tiene otra tarifa
+        assertThat(tarifas.calcularMonto(1L, LUNES.plusDays(1), hora("10:00"), hora("11:00"))).isEqualByComparingTo("12000.00");
+    }
+
+    @Test
+    void theFirstOfTwoOverlappingWindowsWins() {
+        when(horarioRepository.findAllConCanchaOrdenados()).thenReturn(
+            List.of(horario("lunes", "18:00", "20:00", "2"), horario("MONDAY", "19:00", "21:00", "3"))
+        );
+        tarifas.recargar();
+
+        // 19:00-21:00: una hora al doble (primer horario) + una al triple (lo que sobra del segundo)
+        assertThat(tarifas.calcularMonto(1L, LUNES, hora("19:00"), hora("21:00"))).isEqualByComparingTo("30000.00");
+    }
+
+    @Test
+    void pricesComeFromMemoryAndAreRebuiltWhenACourtChanges() {
+        when(horarioRepository.findAllConCanchaOrdenados()).thenReturn(List.of());
+        tarifas.recargar();
+
+        tarifas.calcularMonto(1L, LUNES, hora("10:00"), hora("11:00"));
+        tarifas.calcularMonto(1L, LUNES, hora("11:00"), hora("12:00"));
+        verify(canchaRepository, times(1)).findAll();
+
+        cancha.setPrecio(new BigDecimal("8000"));
+        tarifas.onCanchaModificada(new CanchaModificadaEvent(1L));
+
+        assertThat(tarifas.calcularMonto(1L, LUNES, hora("10:00"), hora("11:00"))).isEqualByComparingTo("8000.00");
+        verify(canchaRepository, times(2)).findAll();
+    }
+
+    @Test
+    void anUnknownCourtReloadsTheTableOnce() {
+        when(horarioRepository.findAllConCanchaOrdenados()).thenReturn(List.of());
+
+        assertThat(tarifas.calcularMonto(1L, LUNES, hora("10:00"), hora("11:00"))).isEqualByComparingTo("6000.00");
+        assertThat(tarifas.calcularMonto(null, LUNES, hora("10:00"), hora("11:00"))).isEqualByComparingTo("0.00");
+        verify(canchaRepository, times(1)).findAll();
+        verify(horarioRepository, never()).findAll();
+    }
+
+    private Horario horario(String dia, String inicio, String fin, String multiplicador) {
+        return new Horario()
+            .dia(dia)
+            .horaInicio(hora(inicio))
+            .horaFin(hora(fin))
+            .multiplicadorPrecio(multiplicador != null ? new BigDecimal(multiplicador) : null)
+            .cancha(cancha);
+    }
+
+    private static LocalTime hora(String hora) {
+        return LocalTime.parse(hora);
+    }
+}
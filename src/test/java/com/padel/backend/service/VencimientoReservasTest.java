@@ -0,0 +1,157 @@
+package com.padel.backend.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.padel.backend.config.ApplicationProperties;
+import com.padel.backend.repository.ReservaRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.scheduling.TaskScheduler;
+
+/**
+ * Test class for {@link VencimientoReservas}.
+ */
+class VencimientoReservasTest {
+
+    private static final LocalDate FECHA = LocalDate.of(2025, 11, 24);
+
+    private ProcesoReservaService procesoReservaService;
+
+    private ReservaRepository reservaRepository;
+
+    private SimpleMeterRegistry registry;
+
+    private VencimientoReservas vencimiento;
+
+    @BeforeEach
+    void setup() {
+        procesoReservaService = mock(ProcesoReservaService.class);
+        reservaRepository = mock(ReservaRepository.class);
+        registry = new SimpleMeterRegistry();
+        ApplicationProperties properties = new ApplicationProperties();
+        properties.getHold().setBatchSize(2);
+        DefaultListableBeanFactory beans = new DefaultListableBeanFactory();
+        beans.registerSingleton("taskScheduler", mock(TaskScheduler.class));
+        vencimiento = new VencimientoReservas(
+            procesoReservaService,
+            reservaRepository,
+            properties,
+            beans.getBeanProvider(TaskScheduler.class),
+            registry
+        );
+    }
+
+    @Test
+    void expiresOnlyTheHoldsWhoseTimeHasComeInBatches() {
+        Instant vencida = Instant.now().minusSeconds(1);
+        vencimiento.onReservaRetenida(new ReservaRetenidaEvent(1L, vencida));
+        vencimiento.onReservaRetenida(new ReservaRetenidaEvent(2L, vencida));
+        vencimiento.onReservaRetenida(new ReservaRetenidaEvent(3L, vencida));
+        vencimiento.onReservaRetenida(new ReservaRetenidaEvent(4L, Instant.now().plusSeconds(600)));
+        when(procesoReservaService.vencerRetenciones(anyCollection(), any())).thenAnswer(inv -> List.copyOf(inv.getArgument(0)));
+
+        vencimiento.barrer();
+
+        // De a dos por lote; la que vence dentro de diez minutos sigue en la cola
+        verify(procesoReservaService).vencerRetenciones(eq(List.of(1L, 2L)), any());
+        verify(procesoReservaService).vencerRetenciones(eq(List.of(3L)), any());
+        assertThat(contador("vencida")).isEqualTo(3);
+        assertThat(vencimiento.activas()).isEqualTo(1);
+        assertThat(registry.get("reserva.retenciones.activas").gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void paidOrCancelledHoldsAreSkippedWhenTheyComeOffTheQueue() {
+        Instant vencida = Instant.now().minusSeconds(1);
+        vencimiento.onReservaRetenida(new ReservaRetenidaEvent(1L, vencida));
+        vencimiento.onReservaRetenida(new ReservaRetenidaEvent(2L, vencida));
+
+        vencimiento.onReservaModificada(ReservaModificadaEvent.pagoRegistrado(1L, 10L, FECHA));
+        vencimiento.onReservaModificada(ReservaModificadaEvent.cancelada(2L, 10L, FECHA, LocalTime.NOON, LocalTime.MAX));
+        vencimiento.barrer();
+
+        verify(procesoReservaService, never()).vencerRetenciones(anyCollection(), any());
+        assertThat(contador("creada")).isEqualTo(2);
+        assertThat(contador("cancelada")).isEqualTo(1);
+        assertThat(vencimiento.activas()).isZero();
+    }
+
+    @Test
+    void aHoldCountsAsPaidOnlyOnceTheGatewayApprovesThePayment() {
+        vencimiento.onReservaRetenida(new ReservaRetenidaEvent(1L, Instant.now().plusSeconds(60)));
+        vencimiento.onReservaRetenida(new ReservaRetenidaEvent(2L, Instant.now().plusSeconds(60)));
+
+        vencimiento.onReservaModificada(ReservaModificadaEvent.pagoRegistrado(1L, 10L, FECHA));
+        vencimiento.onReservaModificada(ReservaModificadaEvent.pagoRegistrado(2L, 10L, FECHA));
+
+        // Con el pago registrado dejan de vencer, pero la pasarela todavía no respondió
+        assertThat(vencimiento.activas()).isZero();
+        assertThat(contador("pagada")).isZero();
+
+        vencimiento.onReservaModificada(ReservaModificadaEvent.pagada(1L, 10L, FECHA));
+        vencimiento.onReservaModificada(ReservaModificadaEvent.cancelada(2L, 10L, FECHA, LocalTime.NOON, LocalTime.MAX));
+
+        assertThat(contador("pagada")).isEqualTo(1);
+        assertThat(contador("cancelada")).isEqualTo(1);
+    }
+
+    @Test
+    void failedBatchesAreRetriedOnTheNextTick() {
+        vencimiento.onReservaRetenida(new ReservaRetenidaEvent(1L, Instant.now().minusSeconds(1)));
+        when(procesoReservaService.vencerRetenciones(anyCollection(), any()))
+            .thenThrow(new IllegalStateException("sin conexión"))
+            .thenReturn(List.of(1L));
+
+        vencimiento.barrer();
+        assertThat(vencimiento.activas()).isEqualTo(1);
+
+        vencimiento.barrer();
+
+        assertThat(contador("vencida")).isEqualTo(1);
+        assertThat(vencimiento.activas()).isZero();
+    }
+
+    @Test
+    void recoversThePendingHoldsItDoesNotTrackYet() {
+        Instant expiraEn = Instant.now().plusSeconds(60);
+        vencimiento.onReservaRetenida(new ReservaRetenidaEvent(1L, expiraEn));
+        when(reservaRepository.findRetencionesPendientes()).thenReturn(List.of(retencion(1L, expiraEn), retencion(2L, expiraEn)));
+
+        vencimiento.recuperar();
+
+        assertThat(vencimiento.activas()).isEqualTo(2);
+        // Las recuperadas no cuentan como creadas
+        assertThat(contador("creada")).isEqualTo(1);
+    }
+
+    private double contador(String resultado) {
+        return registry.get("reserva.retenciones").tag("resultado", resultado).counter().count();
+    }
+
+    private static ReservaRepository.RetencionPendiente retencion(Long id, Instant expiraEn) {
+        return new ReservaRepository.RetencionPendiente() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Instant getExpiraEn() {
+                return expiraEn;
+            }
+        };
+    }
+}
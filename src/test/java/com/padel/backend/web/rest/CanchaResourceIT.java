@@ -200,7 +200,8 @@ class CanchaResourceIT {
             .andExpect(jsonPath("$.id").value(cancha.getId().intValue()))
             .andExpect(jsonPath("$.nombre").value(DEFAULT_NOMBRE))
             .andExpect(jsonPath("$.tipo").value(DEFAULT_TIPO))
-            .andExpect(jsonPath("$.precio").value(sameNumber(DEFAULT_PRECIO)));
+            .andExpect(jsonPath("$.precio").value(sameNumber(DEFAULT_PRECIO)))
+            .andExpect(jsonPath("$.reservas").doesNotExist());
     }
 
     @Test
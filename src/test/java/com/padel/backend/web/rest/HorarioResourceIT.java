@@ -2,6 +2,7 @@ package com.padel.backend.web.rest;
 
 import static com.padel.backend.domain.HorarioAsserts.*;
 import static com.padel.backend.web.rest.TestUtil.createUpdateProxyForBean;
+import static com.padel.backend.web.rest.TestUtil.sameNumber;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -12,6 +13,7 @@ import com.padel.backend.IntegrationTest;
 import com.padel.backend.domain.Horario;
 import com.padel.backend.repository.HorarioRepository;
 import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
 import java.time.LocalTime;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
@@ -42,6 +44,9 @@ class HorarioResourceIT {
     private static final LocalTime DEFAULT_HORA_FIN = LocalTime.NOON;
     private static final LocalTime UPDATED_HORA_FIN = LocalTime.MAX.withNano(0);
 
+    private static final BigDecimal DEFAULT_MULTIPLICADOR_PRECIO = new BigDecimal(0);
+    private static final BigDecimal UPDATED_MULTIPLICADOR_PRECIO = new BigDecimal(1);
+
     private static final String ENTITY_API_URL = "/api/horarios";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
@@ -71,7 +76,11 @@ class HorarioResourceIT {
      * if they test an entity which requires the current entity.
      */
     public static Horario createEntity() {
-        return new Horario().dia(DEFAULT_DIA).horaInicio(DEFAULT_HORA_INICIO).horaFin(DEFAULT_HORA_FIN);
+        return new Horario()
+            .dia(DEFAULT_DIA)
+            .horaInicio(DEFAULT_HORA_INICIO)
+            .horaFin(DEFAULT_HORA_FIN)
+            .multiplicadorPrecio(DEFAULT_MULTIPLICADOR_PRECIO);
     }
 
     /**
@@ -81,7 +90,11 @@ class HorarioResourceIT {
      * if they test an entity which requires the current entity.
      */
     public static Horario createUpdatedEntity() {
-        return new Horario().dia(UPDATED_DIA).horaInicio(UPDATED_HORA_INICIO).horaFin(UPDATED_HORA_FIN);
+        return new Horario()
+            .dia(UPDATED_DIA)
+            .horaInicio(UPDATED_HORA_INICIO)
+            .horaFin(UPDATED_HORA_FIN)
+            .multiplicadorPrecio(UPDATED_MULTIPLICADOR_PRECIO);
     }
 
     @BeforeEach
@@ -198,7 +211,8 @@ class HorarioResourceIT {
             .andExpect(jsonPath("$.[*].id").value(hasItem(horario.getId().intValue())))
             .andExpect(jsonPath("$.[*].dia").value(hasItem(DEFAULT_DIA)))
             .andExpect(jsonPath("$.[*].horaInicio").value(hasItem(DEFAULT_HORA_INICIO.toString())))
-            .andExpect(jsonPath("$.[*].horaFin").value(hasItem(DEFAULT_HORA_FIN.toString())));
+            .andExpect(jsonPath("$.[*].horaFin").value(hasItem(DEFAULT_HORA_FIN.toString())))
+            .andExpect(jsonPath("$.[*].multiplicadorPrecio").value(hasItem(sameNumber(DEFAULT_MULTIPLICADOR_PRECIO))));
     }
 
     @Test
@@ -215,7 +229,8 @@ class HorarioResourceIT {
             .andExpect(jsonPath("$.id").value(horario.getId().intValue()))
             .andExpect(jsonPath("$.dia").value(DEFAULT_DIA))
             .andExpect(jsonPath("$.horaInicio").value(DEFAULT_HORA_INICIO.toString()))
-            .andExpect(jsonPath("$.horaFin").value(DEFAULT_HORA_FIN.toString()));
+            .andExpect(jsonPath("$.horaFin").value(DEFAULT_HORA_FIN.toString()))
+            .andExpect(jsonPath("$.multiplicadorPrecio").value(sameNumber(DEFAULT_MULTIPLICADOR_PRECIO)));
     }
 
     @Test
@@ -237,7 +252,11 @@ class HorarioResourceIT {
         Horario updatedHorario = horarioRepository.findById(horario.getId()).orElseThrow();
         // Disconnect from session so that the updates on updatedHorario are not directly saved in db
         em.detach(updatedHorario);
-        updatedHorario.dia(UPDATED_DIA).horaInicio(UPDATED_HORA_INICIO).horaFin(UPDATED_HORA_FIN);
+        updatedHorario
+            .dia(UPDATED_DIA)
+            .horaInicio(UPDATED_HORA_INICIO)
+            .horaFin(UPDATED_HORA_FIN)
+            .multiplicadorPrecio(UPDATED_MULTIPLICADOR_PRECIO);
 
         restHorarioMockMvc
             .perform(
@@ -313,7 +332,7 @@ class HorarioResourceIT {
         Horario partialUpdatedHorario = new Horario();
         partialUpdatedHorario.setId(horario.getId());
 
-        partialUpdatedHorario.horaInicio(UPDATED_HORA_INICIO).horaFin(UPDATED_HORA_FIN);
+        partialUpdatedHorario.horaInicio(UPDATED_HORA_INICIO).horaFin(UPDATED_HORA_FIN).multiplicadorPrecio(UPDATED_MULTIPLICADOR_PRECIO);
 
         restHorarioMockMvc
             .perform(
@@ -341,7 +360,11 @@ class HorarioResourceIT {
         Horario partialUpdatedHorario = new Horario();
         partialUpdatedHorario.setId(horario.getId());
 
-        partialUpdatedHorario.dia(UPDATED_DIA).horaInicio(UPDATED_HORA_INICIO).horaFin(UPDATED_HORA_FIN);
+        partialUpdatedHorario
+            .dia(UPDATED_DIA)
+            .horaInicio(UPDATED_HORA_INICIO)
+            .horaFin(UPDATED_HORA_FIN)
+            .multiplicadorPrecio(UPDATED_MULTIPLICADOR_PRECIO);
 
         restHorarioMockMvc
             .perform(
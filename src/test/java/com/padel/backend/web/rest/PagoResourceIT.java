@@ -11,6 +11,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.padel.backend.IntegrationTest;
 import com.padel.backend.domain.Pago;
+import com.padel.backend.domain.enumeration.EstadoPago;
 import com.padel.backend.repository.PagoRepository;
 import jakarta.persistence.EntityManager;
 import java.math.BigDecimal;
@@ -42,6 +43,12 @@ class PagoResourceIT {
     private static final BigDecimal DEFAULT_MONTO = new BigDecimal(1);
     private static final BigDecimal UPDATED_MONTO = new BigDecimal(2);
 
+    private static final EstadoPago DEFAULT_ESTADO = EstadoPago.PENDIENTE;
+    private static final EstadoPago UPDATED_ESTADO = EstadoPago.APROBADO;
+
+    private static final String DEFAULT_REFERENCIA = "AAAAAAAAAA";
+    private static final String UPDATED_REFERENCIA = "BBBBBBBBBB";
+
     private static final String ENTITY_API_URL = "/api/pagos";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
@@ -71,7 +78,7 @@ class PagoResourceIT {
      * if they test an entity which requires the current entity.
      */
     public static Pago createEntity(EntityManager em) {
-        Pago pago = new Pago().fecha(DEFAULT_FECHA).monto(DEFAULT_MONTO);
+        Pago pago = new Pago().fecha(DEFAULT_FECHA).monto(DEFAULT_MONTO).estado(DEFAULT_ESTADO).referencia(DEFAULT_REFERENCIA);
         return pago;
     }
 
@@ -82,7 +89,7 @@ class PagoResourceIT {
      * if they test an entity which requires the current entity.
      */
     public static Pago createUpdatedEntity(EntityManager em) {
-        Pago updatedPago = new Pago().fecha(UPDATED_FECHA).monto(UPDATED_MONTO);
+        Pago updatedPago = new Pago().fecha(UPDATED_FECHA).monto(UPDATED_MONTO).estado(UPDATED_ESTADO).referencia(UPDATED_REFERENCIA);
         return updatedPago;
     }
 
@@ -121,6 +128,30 @@ class PagoResourceIT {
         insertedPago = returnedPago;
     }
 
+    @Test
+    @Transactional
+    void createPagoWithoutEstadoIsApproved() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        // The entity form never sends estado
+        pago.setEstado(null);
+
+        var returnedPago = om.readValue(
+            restPagoMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(pago)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.estado").value(EstadoPago.APROBADO.toString()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            Pago.class
+        );
+
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+        assertThat(getPersistedPago(returnedPago).getEstado()).isEqualTo(EstadoPago.APROBADO);
+
+        insertedPago = returnedPago;
+    }
+
     @Test
     @Transactional
     void createPagoWithExistingId() throws Exception {
@@ -183,7 +214,9 @@ class PagoResourceIT {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.[*].id").value(hasItem(pago.getId().intValue())))
             .andExpect(jsonPath("$.[*].fecha").value(hasItem(DEFAULT_FECHA.toString())))
-            .andExpect(jsonPath("$.[*].monto").value(hasItem(sameNumber(DEFAULT_MONTO))));
+            .andExpect(jsonPath("$.[*].monto").value(hasItem(sameNumber(DEFAULT_MONTO))))
+            .andExpect(jsonPath("$.[*].estado").value(hasItem(DEFAULT_ESTADO.toString())))
+            .andExpect(jsonPath("$.[*].referencia").value(hasItem(DEFAULT_REFERENCIA)));
     }
 
     @Test
@@ -199,7 +232,9 @@ class PagoResourceIT {
             .andExpect(content().contentType(MediaType.APPLICATION_JSON_VALUE))
             .andExpect(jsonPath("$.id").value(pago.getId().intValue()))
             .andExpect(jsonPath("$.fecha").value(DEFAULT_FECHA.toString()))
-            .andExpect(jsonPath("$.monto").value(sameNumber(DEFAULT_MONTO)));
+            .andExpect(jsonPath("$.monto").value(sameNumber(DEFAULT_MONTO)))
+            .andExpect(jsonPath("$.estado").value(DEFAULT_ESTADO.toString()))
+            .andExpect(jsonPath("$.referencia").value(DEFAULT_REFERENCIA));
     }
 
     @Test
@@ -221,7 +256,7 @@ class PagoResourceIT {
         Pago updatedPago = pagoRepository.findById(pago.getId()).orElseThrow();
         // Disconnect from session so that the updates on updatedPago are not directly saved in db
         em.detach(updatedPago);
-        updatedPago.fecha(UPDATED_FECHA).monto(UPDATED_MONTO);
+        updatedPago.fecha(UPDATED_FECHA).monto(UPDATED_MONTO).estado(UPDATED_ESTADO).referencia(UPDATED_REFERENCIA);
 
         restPagoMockMvc
             .perform(
@@ -236,6 +271,32 @@ class PagoResourceIT {
         assertPersistedPagoToMatchAllProperties(updatedPago);
     }
 
+    @Test
+    @Transactional
+    void putExistingPagoWithoutEstadoKeepsIt() throws Exception {
+        // Initialize the database
+        insertedPago = pagoRepository.saveAndFlush(pago);
+
+        Pago updatedPago = pagoRepository.findById(pago.getId()).orElseThrow();
+        em.detach(updatedPago);
+        // The entity form never sends estado nor referencia
+        updatedPago.monto(UPDATED_MONTO).estado(null).referencia(null);
+
+        restPagoMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedPago.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedPago))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.estado").value(DEFAULT_ESTADO.toString()));
+
+        Pago persistedPago = getPersistedPago(updatedPago);
+        assertThat(persistedPago.getMonto()).isEqualByComparingTo(UPDATED_MONTO);
+        assertThat(persistedPago.getEstado()).isEqualTo(DEFAULT_ESTADO);
+        assertThat(persistedPago.getReferencia()).isEqualTo(DEFAULT_REFERENCIA);
+    }
+
     @Test
     @Transactional
     void putNonExistingPago() throws Exception {
@@ -323,7 +384,7 @@ class PagoResourceIT {
         Pago partialUpdatedPago = new Pago();
         partialUpdatedPago.setId(pago.getId());
 
-        partialUpdatedPago.fecha(UPDATED_FECHA).monto(UPDATED_MONTO);
+        partialUpdatedPago.fecha(UPDATED_FECHA).monto(UPDATED_MONTO).estado(UPDATED_ESTADO).referencia(UPDATED_REFERENCIA);
 
         restPagoMockMvc
             .perform(
@@ -0,0 +1,508 @@
+package com.padel.backend.web.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.padel.backend.IntegrationTest;
+import com.padel.backend.domain.Cancha;
+import com.padel.backend.domain.Horario;
+import com.padel.backend.domain.Pago;
+import com.padel.backend.domain.Reserva;
+import com.padel.backend.domain.Usuario;
+import com.padel.backend.domain.enumeration.EstadoReserva;
+import com.padel.backend.repository.CanchaRepository;
+import com.padel.backend.repository.PagoRepository;
+import com.padel.backend.repository.ReservaRepository;
+import com.padel.backend.repository.UsuarioRepository;
+import com.padel.backend.service.CacheDisponibilidad;
+import com.padel.backend.service.dto.ReservaLoteRequestDTO;
+import com.padel.backend.service.dto.ReservaRequestDTO;
+import jakarta.persistence.EntityManager;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Integration tests for the {@link ProcesoReservaResource} REST controller.
+ */
+@IntegrationTest
+@AutoConfigureMockMvc
+@WithMockUser
+class ProcesoReservaResourceIT {
+
+    private static final LocalDate FECHA = LocalDate.of(2030, 3, 12);
+
+    private static final String API_URL = "/api/reservas-proceso";
+
+    @Autowired
+    private ObjectMapper om;
+
+    @Autowired
+    private ReservaRepository reservaRepository;
+
+    @Autowired
+    private CanchaRepository canchaRepository;
+
+    @Autowired
+    private PagoRepository pagoRepository;
+
+    @Autowired
+    private UsuarioRepository usuarioRepository;
+
+    @Autowired
+    private EntityManager em;
+
+    @Autowired
+    private MockMvc restProcesoReservaMockMvc;
+
+    @Autowired
+    private CacheDisponibilidad cacheDisponibilidad;
+
+    private Cancha cancha;
+
+    private Usuario usuario;
+
+    @BeforeEach
+    void initTest() {
+        // Las grillas de otros tests se calcularon con datos que luego se revirtieron
+        cacheDisponibilidad.limpiar();
+        cancha = CanchaResourceIT.createEntity();
+        usuario = UsuarioResourceIT.createEntity();
+    }
+
+    @Test
+    @Transactional
+    void registrarReserva() throws Exception {
+        persistCanchaYUsuario();
+        long databaseSizeBeforeCreate = reservaRepository.count();
+
+        restProcesoReservaMockMvc
+            .perform(post(API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(request("10:00", "11:00"))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").isNumber())
+            .andExpect(jsonPath("$.canchaId").value(cancha.getId().intValue()))
+            .andExpect(jsonPath("$.usuarioId").value(usuario.getId().intValue()))
+            .andExpect(jsonPath("$.fecha").value(FECHA.toString()))
+            .andExpect(jsonPath("$.horaInicio").value("10:00"));
+
+        assertThat(reservaRepository.count()).isEqualTo(databaseSizeBeforeCreate + 1);
+    }
+
+    @Test
+    @Transactional
+    void registrarReservaRechazaSolapamientoParcial() throws Exception {
+        persistCanchaYUsuario();
+        persistReserva("10:00", "11:30");
+        long databaseSizeBeforeCreate = reservaRepository.count();
+
+        restProcesoReservaMockMvc
+            .perform(post(API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(request("11:00", "12:00"))))
+            .andExpect(status().isConflict());
+
+        assertThat(reservaRepository.count()).isEqualTo(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void registrarReservaContigua() throws Exception {
+        persistCanchaYUsuario();
+        persistReserva("10:00", "11:00");
+
+        restProcesoReservaMockMvc
+            .perform(post(API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(request("11:00", "12:00"))))
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @Transactional
+    void registrarLoteRecurrenteInformaResultadoPorFranja() throws Exception {
+        persistCanchaYUsuario();
+        // La segunda semana ya está ocupada en parte
+        Reserva ocupada = new Reserva()
+            .fecha(FECHA.plusWeeks(1))
+            .horaInicio(LocalTime.parse("20:30"))
+            .horaFin(LocalTime.parse("21:30"))
+            .cancha(cancha)
+            .usuario(usuario);
+        em.persist(ocupada);
+        em.flush();
+        long databaseSizeBeforeCreate = reservaRepository.count();
+
+        ReservaLoteRequestDTO.RecurrenciaDTO recurrencia = new ReservaLoteRequestDTO.RecurrenciaDTO();
+        recurrencia.setDesde(FECHA);
+        recurrencia.setHasta(FECHA.plusWeeks(3));
+        recurrencia.setHoraInicio(LocalTime.parse("20:00"));
+        recurrencia.setHoraFin(LocalTime.parse("21:00"));
+        // Franja explícita que choca con la primera semana del mismo lote
+        ReservaLoteRequestDTO.FranjaReservaDTO franja = new ReservaLoteRequestDTO.FranjaReservaDTO();
+        franja.setFecha(FECHA);
+        franja.setHoraInicio(LocalTime.parse("20:30"));
+        franja.setHoraFin(LocalTime.parse("21:30"));
+        ReservaLoteRequestDTO lote = new ReservaLoteRequestDTO();
+        lote.setCanchaId(cancha.getId());
+        lote.setUsuarioId(usuario.getId());
+        lote.setRecurrencia(recurrencia);
+        lote.getFranjas().add(franja);
+
+        restProcesoReservaMockMvc
+            .perform(post(API_URL + "/lote").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(lote)))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.creadas").value(3))
+            .andExpect(jsonPath("$.rechazadas").value(2))
+            .andExpect(jsonPath("$.resultados.length()").value(5))
+            .andExpect(jsonPath("$.resultados[0].reservada").value(true))
+            .andExpect(jsonPath("$.resultados[1].reservada").value(false))
+            .andExpect(jsonPath("$.resultados[1].fecha").value(FECHA.toString()))
+            .andExpect(jsonPath("$.resultados[2].reservada").value(false))
+            .andExpect(jsonPath("$.resultados[2].fecha").value(FECHA.plusWeeks(1).toString()))
+            .andExpect(jsonPath("$.resultados[3].reservada").value(true))
+            .andExpect(jsonPath("$.resultados[4].reservaId").isNumber());
+
+        assertThat(reservaRepository.count()).isEqualTo(databaseSizeBeforeCreate + 3);
+    }
+
+    @Test
+    @Transactional
+    void registrarLoteVacioEsInvalido() throws Exception {
+        persistCanchaYUsuario();
+        ReservaLoteRequestDTO lote = new ReservaLoteRequestDTO();
+        lote.setCanchaId(cancha.getId());
+        lote.setUsuarioId(usuario.getId());
+
+        restProcesoReservaMockMvc
+            .perform(post(API_URL + "/lote").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(lote)))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    void registrarReservaRechazaDatosInvalidosAlDeserializar() throws Exception {
+        persistCanchaYUsuario();
+        long databaseSizeBeforeCreate = reservaRepository.count();
+        String base = "{\"canchaId\":%d,\"usuarioId\":%d,\"fecha\":\"%s\",\"horaInicio\":\"%s\",\"horaFin\":\"%s\"}";
+
+        // Fecha inexistente
+        restProcesoReservaMockMvc
+            .perform(
+                post(API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(String.format(base, cancha.getId(), usuario.getId(), "2030-02-30", "10:00", "11:00"))
+            )
+            .andExpect(status().isBadRequest());
+
+        // Hora con formato inválido
+        restProcesoReservaMockMvc
+            .perform(
+                post(API_URL)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(String.format(base, cancha.getId(), usuario.getId(), FECHA, "25:00", "11:00"))
+            )
+            .andExpect(status().isBadRequest());
+
+        // Franja invertida
+        restProcesoReservaMockMvc
+            .perform(post(API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(request("11:00", "10:00"))))
+            .andExpect(status().isBadRequest());
+
+        assertThat(reservaRepository.count()).isEqualTo(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void validarDisponibilidad() throws Exception {
+        persistCanchaYUsuario();
+        persistReserva("18:00", "19:30");
+
+        restProcesoReservaMockMvc
+            .perform(
+                post(API_URL + "/validar").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(request("19:00", "20:00")))
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().string("false"));
+
+        restProcesoReservaMockMvc
+            .perform(
+                post(API_URL + "/validar").contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(request("19:30", "20:30")))
+            )
+            .andExpect(status().isOk())
+            .andExpect(content().string("true"));
+    }
+
+    @Test
+    @Transactional
+    void obtenerGrillaDeDisponibilidad() throws Exception {
+        persistCanchaYUsuario();
+        // FECHA es martes: el horario del lunes no forma parte de la grilla
+        persistHorario("Martes", "10:00", "11:00");
+        persistHorario("MARTES", "11:00", "12:00");
+        persistHorario("martes", "12:00", "13:00");
+        persistHorario("Lunes", "10:00", "11:00");
+        persistReserva("11:00", "12:00");
+
+        restProcesoReservaMockMvc
+            .perform(get(API_URL + "/disponibilidad").param("fecha", FECHA.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.fecha").value(FECHA.toString()))
+            .andExpect(jsonPath("$.canchas[?(@.canchaId == %d)].franjas.length()", cancha.getId()).value(3))
+            .andExpect(jsonPath("$.canchas[?(@.canchaId == %d)].franjas[0].horaInicio", cancha.getId()).value("10:00"))
+            .andExpect(jsonPath("$.canchas[?(@.canchaId == %d)].libres[*]", cancha.getId()).value(contains(true, false, true)));
+    }
+
+    @Test
+    @Transactional
+    void listarReservasDeUnaCanchaPorDiaYPorSemana() throws Exception {
+        persistCanchaYUsuario();
+        persistReserva("18:00", "19:00");
+        persistReserva("09:00", "10:00");
+        // FECHA es martes: el miércoles entra en la semana, el lunes siguiente no
+        em.persist(new Reserva().fecha(FECHA.plusDays(1)).horaInicio(LocalTime.of(8, 0)).horaFin(LocalTime.of(9, 0)).cancha(cancha));
+        em.persist(new Reserva().fecha(FECHA.plusDays(6)).horaInicio(LocalTime.of(8, 0)).horaFin(LocalTime.of(9, 0)).cancha(cancha));
+        em.flush();
+
+        restProcesoReservaMockMvc
+            .perform(get(API_URL + "/canchas/{canchaId}/reservas", cancha.getId()).param("fecha", FECHA.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$[0].horaInicio").value("09:00"))
+            .andExpect(jsonPath("$[1].horaInicio").value("18:00"));
+
+        restProcesoReservaMockMvc
+            .perform(get(API_URL + "/canchas/{canchaId}/reservas/semana", cancha.getId()).param("fecha", FECHA.toString()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(3))
+            .andExpect(jsonPath("$[2].fecha").value(FECHA.plusDays(1).toString()));
+    }
+
+    @Test
+    @Transactional
+    void listarReservasFiltradasYPaginadas() throws Exception {
+        persistCanchaYUsuario();
+        // Con el pago registrado pero sin aprobar por la pasarela todavía no cuenta como pagada
+        Reserva enCurso = persistReserva("07:00", "08:00");
+        Pago pagoEnCurso = new Pago().fecha(Instant.now()).monto(BigDecimal.TEN);
+        em.persist(pagoEnCurso);
+        enCurso.setPago(pagoEnCurso);
+        persistReserva("08:00", "09:00");
+        persistReserva("09:00", "10:00");
+        Reserva pagada = persistReserva("10:00", "11:00");
+        Pago pago = new Pago().fecha(Instant.now()).monto(BigDecimal.TEN);
+        em.persist(pago);
+        pagada.setPago(pago);
+        pagada.setEstado(EstadoReserva.PAGADA);
+        em.flush();
+
+        restProcesoReservaMockMvc
+            .perform(
+                get(API_URL)
+                    .param("canchaId", cancha.getId().toString())
+                    .param("desde", FECHA.toString())
+                    .param("hasta", FECHA.toString())
+                    .param("pagada", "false")
+                    .param("size", "1")
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "3"))
+            .andExpect(jsonPath("$.length()").value(1))
+            // Orden por defecto: más recientes primero
+            .andExpect(jsonPath("$[0].horaInicio").value("09:00"))
+            .andExpect(jsonPath("$[0].usuarioId").value(usuario.getId().intValue()))
+            .andExpect(jsonPath("$[0].pagoId").doesNotExist());
+
+        restProcesoReservaMockMvc
+            .perform(get(API_URL).param("canchaId", cancha.getId().toString()).param("pagada", "true"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "1"))
+            .andExpect(jsonPath("$[0].id").value(pagada.getId().intValue()))
+            .andExpect(jsonPath("$[0].pagoId").value(pago.getId().intValue()));
+
+        restProcesoReservaMockMvc
+            .perform(get(API_URL).param("canchaId", cancha.getId().toString()).param("desde", FECHA.plusDays(1).toString()))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", "0"));
+    }
+
+    @Test
+    void exportarReservasEnStreaming() throws Exception {
+        // La exportación corre en otro hilo: los datos tienen que estar confirmados
+        cancha = canchaRepository.saveAndFlush(cancha);
+        usuario = usuarioRepository.saveAndFlush(usuario);
+        try {
+            for (int hora = 8; hora < 20; hora++) {
+                reservaRepository.saveAndFlush(
+                    new Reserva()
+                        .fecha(FECHA)
+                        .horaInicio(LocalTime.of(hora, 0))
+                        .horaFin(LocalTime.of(hora + 1, 0))
+                        .cancha(cancha)
+                        .usuario(usuario)
+                );
+            }
+
+            MvcResult result = restProcesoReservaMockMvc
+                .perform(get(API_URL + "/exportar").param("canchaId", cancha.getId().toString()))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+            restProcesoReservaMockMvc
+                .perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(12))
+                .andExpect(jsonPath("$[0].horaInicio").value("08:00"))
+                .andExpect(jsonPath("$[11].horaInicio").value("19:00"))
+                .andExpect(jsonPath("$[11].canchaId").value(cancha.getId().intValue()));
+        } finally {
+            reservaRepository.deleteAll(reservaRepository.findAllByCanchaIdAndFecha(cancha.getId(), FECHA));
+            canchaRepository.deleteById(cancha.getId());
+            usuarioRepository.deleteById(usuario.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    void registrarReservaConIdempotencyKeyDevuelveLaMismaRespuestaAlReintentar() throws Exception {
+        persistCanchaYUsuario();
+        long databaseSizeBeforeCreate = reservaRepository.count();
+        String clave = UUID.randomUUID().toString();
+        byte[] body = om.writeValueAsBytes(request("10:00", "11:00"));
+
+        MvcResult primera = restProcesoReservaMockMvc
+            .perform(post(API_URL).header("Idempotency-Key", clave).contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("Idempotent-Replayed"))
+            .andReturn();
+        int id = om.readTree(primera.getResponse().getContentAsString()).get("id").asInt();
+
+        // El reintento no vuelve a reservar (la franja ya está tomada, daría 409): recibe la respuesta original
+        restProcesoReservaMockMvc
+            .perform(post(API_URL).header("Idempotency-Key", clave).contentType(MediaType.APPLICATION_JSON).content(body))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Idempotent-Replayed", "true"))
+            .andExpect(jsonPath("$.id").value(id));
+
+        assertThat(reservaRepository.count()).isEqualTo(databaseSizeBeforeCreate + 1);
+    }
+
+    @Test
+    @Transactional
+    void idempotencyKeyConOtroPedidoEsRechazada() throws Exception {
+        persistCanchaYUsuario();
+        String clave = UUID.randomUUID().toString();
+
+        restProcesoReservaMockMvc
+            .perform(
+                post(API_URL)
+                    .header("Idempotency-Key", clave)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(request("10:00", "11:00")))
+            )
+            .andExpect(status().isOk());
+        long databaseSizeBeforeCreate = reservaRepository.count();
+
+        restProcesoReservaMockMvc
+            .perform(
+                post(API_URL)
+                    .header("Idempotency-Key", clave)
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(request("12:00", "13:00")))
+            )
+            .andExpect(status().isUnprocessableEntity());
+
+        assertThat(reservaRepository.count()).isEqualTo(databaseSizeBeforeCreate);
+    }
+
+    @Test
+    @Transactional
+    void registrarReservaFallidaLiberaLaIdempotencyKey() throws Exception {
+        persistCanchaYUsuario();
+        persistReserva("10:00", "11:00");
+        String clave = UUID.randomUUID().toString();
+        byte[] body = om.writeValueAsBytes(request("10:30", "11:30"));
+
+        // Los errores no se guardan: el reintento se vuelve a ejecutar
+        for (int i = 0; i < 2; i++) {
+            restProcesoReservaMockMvc
+                .perform(post(API_URL).header("Idempotency-Key", clave).contentType(MediaType.APPLICATION_JSON).content(body))
+                .andExpect(status().isConflict())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"));
+        }
+    }
+
+    @Test
+    @Transactional
+    void pagarConIdempotencyKeyNoCobraDosVeces() throws Exception {
+        persistCanchaYUsuario();
+        MvcResult creada = restProcesoReservaMockMvc
+            .perform(post(API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(request("10:00", "11:00"))))
+            .andExpect(status().isOk())
+            .andReturn();
+        int id = om.readTree(creada.getResponse().getContentAsString()).get("id").asInt();
+        long pagosAntes = pagoRepository.count();
+        String clave = UUID.randomUUID().toString();
+
+        MvcResult pagada = restProcesoReservaMockMvc
+            .perform(put(API_URL + "/{id}/pagar", id).header("Idempotency-Key", clave))
+            .andExpect(status().isOk())
+            // Sigue retenida (sin vencimiento) hasta que la pasarela apruebe el pago
+            .andExpect(jsonPath("$.estado").value("PENDIENTE"))
+            .andExpect(jsonPath("$.expiraEn").doesNotExist())
+            .andReturn();
+        int pagoId = om.readTree(pagada.getResponse().getContentAsString()).get("pagoId").asInt();
+
+        restProcesoReservaMockMvc
+            .perform(put(API_URL + "/{id}/pagar", id).header("Idempotency-Key", clave))
+            .andExpect(status().isOk())
+            .andExpect(header().string("Idempotent-Replayed", "true"))
+            .andExpect(jsonPath("$.pagoId").value(pagoId));
+
+        assertThat(pagoRepository.count()).isEqualTo(pagosAntes + 1);
+    }
+
+    private void persistHorario(String dia, String inicio, String fin) {
+        em.persist(new Horario().dia(dia).horaInicio(LocalTime.parse(inicio)).horaFin(LocalTime.parse(fin)).cancha(cancha));
+        em.flush();
+    }
+
+    private void persistCanchaYUsuario() {
+        em.persist(cancha);
+        em.persist(usuario);
+        em.flush();
+    }
+
+    private Reserva persistReserva(String inicio, String fin) {
+        Reserva reserva = new Reserva()
+            .fecha(FECHA)
+            .horaInicio(LocalTime.parse(inicio))
+            .horaFin(LocalTime.parse(fin))
+            .cancha(cancha)
+            .usuario(usuario);
+        em.persist(reserva);
+        em.flush();
+        return reserva;
+    }
+
+    private ReservaRequestDTO request(String inicio, String fin) {
+        ReservaRequestDTO req = new ReservaRequestDTO();
+        req.setCanchaId(cancha.getId());
+        req.setUsuarioId(usuario.getId());
+        req.setFecha(FECHA);
+        req.setHoraInicio(LocalTime.parse(inicio));
+        req.setHoraFin(LocalTime.parse(fin));
+        return req;
+    }
+}
@@ -10,11 +10,14 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.padel.backend.IntegrationTest;
 import com.padel.backend.domain.Reserva;
+import com.padel.backend.domain.enumeration.EstadoReserva;
 import com.padel.backend.repository.ReservaRepository;
 import jakarta.persistence.EntityManager;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
 import java.util.Random;
 import java.util.concurrent.atomic.AtomicLong;
 import org.junit.jupiter.api.AfterEach;
@@ -44,6 +47,12 @@ class ReservaResourceIT {
     private static final LocalTime DEFAULT_HORA_FIN = LocalTime.NOON;
     private static final LocalTime UPDATED_HORA_FIN = LocalTime.MAX.withNano(0);
 
+    private static final EstadoReserva DEFAULT_ESTADO = EstadoReserva.PENDIENTE;
+    private static final EstadoReserva UPDATED_ESTADO = EstadoReserva.CONFIRMADA;
+
+    private static final Instant DEFAULT_EXPIRA_EN = Instant.ofEpochMilli(0L);
+    private static final Instant UPDATED_EXPIRA_EN = Instant.now().truncatedTo(ChronoUnit.MILLIS);
+
     private static final String ENTITY_API_URL = "/api/reservas";
     private static final String ENTITY_API_URL_ID = ENTITY_API_URL + "/{id}";
 
@@ -73,7 +82,12 @@ class ReservaResourceIT {
      * if they test an entity which requires the current entity.
      */
     public static Reserva createEntity() {
-        return new Reserva().fecha(DEFAULT_FECHA).horaInicio(DEFAULT_HORA_INICIO).horaFin(DEFAULT_HORA_FIN);
+        return new Reserva()
+            .fecha(DEFAULT_FECHA)
+            .horaInicio(DEFAULT_HORA_INICIO)
+            .horaFin(DEFAULT_HORA_FIN)
+            .estado(DEFAULT_ESTADO)
+            .expiraEn(DEFAULT_EXPIRA_EN);
     }
 
     /**
@@ -83,7 +97,12 @@ class ReservaResourceIT {
      * if they test an entity which requires the current entity.
      */
     public static Reserva createUpdatedEntity() {
-        return new Reserva().fecha(UPDATED_FECHA).horaInicio(UPDATED_HORA_INICIO).horaFin(UPDATED_HORA_FIN);
+        return new Reserva()
+            .fecha(UPDATED_FECHA)
+            .horaInicio(UPDATED_HORA_INICIO)
+            .horaFin(UPDATED_HORA_FIN)
+            .estado(UPDATED_ESTADO)
+            .expiraEn(UPDATED_EXPIRA_EN);
     }
 
     @BeforeEach
@@ -186,6 +205,30 @@ class ReservaResourceIT {
         assertSameRepositoryCount(databaseSizeBeforeTest);
     }
 
+    @Test
+    @Transactional
+    void createReservaWithoutEstadoIsConfirmed() throws Exception {
+        long databaseSizeBeforeCreate = getRepositoryCount();
+        // The entity form never sends estado
+        reserva.setEstado(null);
+
+        var returnedReserva = om.readValue(
+            restReservaMockMvc
+                .perform(post(ENTITY_API_URL).contentType(MediaType.APPLICATION_JSON).content(om.writeValueAsBytes(reserva)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.estado").value(EstadoReserva.CONFIRMADA.toString()))
+                .andReturn()
+                .getResponse()
+                .getContentAsString(),
+            Reserva.class
+        );
+
+        assertIncrementedRepositoryCount(databaseSizeBeforeCreate);
+        assertThat(getPersistedReserva(returnedReserva).getEstado()).isEqualTo(EstadoReserva.CONFIRMADA);
+
+        insertedReserva = returnedReserva;
+    }
+
     @Test
     @Transactional
     void getAllReservas() throws Exception {
@@ -200,7 +243,32 @@ class ReservaResourceIT {
             .andExpect(jsonPath("$.[*].id").value(hasItem(reserva.getId().intValue())))
             .andExpect(jsonPath("$.[*].fecha").value(hasItem(DEFAULT_FECHA.toString())))
             .andExpect(jsonPath("$.[*].horaInicio").value(hasItem(DEFAULT_HORA_INICIO.toString())))
-            .andExpect(jsonPath("$.[*].horaFin").value(hasItem(DEFAULT_HORA_FIN.toString())));
+            .andExpect(jsonPath("$.[*].horaFin").value(hasItem(DEFAULT_HORA_FIN.toString())))
+            .andExpect(jsonPath("$.[*].estado").value(hasItem(DEFAULT_ESTADO.toString())))
+            .andExpect(jsonPath("$.[*].expiraEn").value(hasItem(DEFAULT_EXPIRA_EN.toString())));
+    }
+
+    @Test
+    @Transactional
+    void getAllReservasIsPaginatedOnlyWhenAPageIsRequested() throws Exception {
+        // Initialize the database
+        insertedReserva = reservaRepository.saveAndFlush(reserva);
+        long total = reservaRepository.count();
+
+        // Without page/size the whole list comes back, as the entity list page expects
+        restReservaMockMvc
+            .perform(get(ENTITY_API_URL + "?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().doesNotExist("X-Total-Count"))
+            .andExpect(jsonPath("$.length()").value((int) total));
+
+        // With a page the usual pagination headers are sent
+        restReservaMockMvc
+            .perform(get(ENTITY_API_URL + "?page=0&size=1&sort=id,desc"))
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Total-Count", String.valueOf(total)))
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].id").value(reserva.getId().intValue()));
     }
 
     @Test
@@ -217,7 +285,9 @@ class ReservaResourceIT {
             .andExpect(jsonPath("$.id").value(reserva.getId().intValue()))
             .andExpect(jsonPath("$.fecha").value(DEFAULT_FECHA.toString()))
             .andExpect(jsonPath("$.horaInicio").value(DEFAULT_HORA_INICIO.toString()))
-            .andExpect(jsonPath("$.horaFin").value(DEFAULT_HORA_FIN.toString()));
+            .andExpect(jsonPath("$.horaFin").value(DEFAULT_HORA_FIN.toString()))
+            .andExpect(jsonPath("$.estado").value(DEFAULT_ESTADO.toString()))
+            .andExpect(jsonPath("$.expiraEn").value(DEFAULT_EXPIRA_EN.toString()));
     }
 
     @Test
@@ -239,7 +309,12 @@ class ReservaResourceIT {
         Reserva updatedReserva = reservaRepository.findById(reserva.getId()).orElseThrow();
         // Disconnect from session so that the updates on updatedReserva are not directly saved in db
         em.detach(updatedReserva);
-        updatedReserva.fecha(UPDATED_FECHA).horaInicio(UPDATED_HORA_INICIO).horaFin(UPDATED_HORA_FIN);
+        updatedReserva
+            .fecha(UPDATED_FECHA)
+            .horaInicio(UPDATED_HORA_INICIO)
+            .horaFin(UPDATED_HORA_FIN)
+            .estado(UPDATED_ESTADO)
+            .expiraEn(UPDATED_EXPIRA_EN);
 
         restReservaMockMvc
             .perform(
@@ -254,6 +329,31 @@ class ReservaResourceIT {
         assertPersistedReservaToMatchAllProperties(updatedReserva);
     }
 
+    @Test
+    @Transactional
+    void putExistingReservaWithoutEstadoKeepsIt() throws Exception {
+        // Initialize the database
+        insertedReserva = reservaRepository.saveAndFlush(reserva);
+
+        Reserva updatedReserva = reservaRepository.findById(reserva.getId()).orElseThrow();
+        em.detach(updatedReserva);
+        // The entity form never sends estado
+        updatedReserva.fecha(UPDATED_FECHA).estado(null);
+
+        restReservaMockMvc
+            .perform(
+                put(ENTITY_API_URL_ID, updatedReserva.getId())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(om.writeValueAsBytes(updatedReserva))
+            )
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.estado").value(DEFAULT_ESTADO.toString()));
+
+        Reserva persistedReserva = getPersistedReserva(updatedReserva);
+        assertThat(persistedReserva.getFecha()).isEqualTo(UPDATED_FECHA);
+        assertThat(persistedReserva.getEstado()).isEqualTo(DEFAULT_ESTADO);
+    }
+
     @Test
     @Transactional
     void putNonExistingReserva() throws Exception {
@@ -315,7 +415,7 @@ class ReservaResourceIT {
         Reserva partialUpdatedReserva = new Reserva();
         partialUpdatedReserva.setId(reserva.getId());
 
-        partialUpdatedReserva.fecha(UPDATED_FECHA).horaFin(UPDATED_HORA_FIN);
+        partialUpdatedReserva.fecha(UPDATED_FECHA).horaFin(UPDATED_HORA_FIN).expiraEn(UPDATED_EXPIRA_EN);
 
         restReservaMockMvc
             .perform(
@@ -343,7 +443,12 @@ class ReservaResourceIT {
         Reserva partialUpdatedReserva = new Reserva();
         partialUpdatedReserva.setId(reserva.getId());
 
-        partialUpdatedReserva.fecha(UPDATED_FECHA).horaInicio(UPDATED_HORA_INICIO).horaFin(UPDATED_HORA_FIN);
+        partialUpdatedReserva
+            .fecha(UPDATED_FECHA)
+            .horaInicio(UPDATED_HORA_INICIO)
+            .horaFin(UPDATED_HORA_FIN)
+            .estado(UPDATED_ESTADO)
+            .expiraEn(UPDATED_EXPIRA_EN);
 
         restReservaMockMvc
             .perform(
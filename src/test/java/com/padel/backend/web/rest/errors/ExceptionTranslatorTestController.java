@@ -2,10 +2,12 @@ package com.padel.backend.web.rest.errors;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotNull;
+import java.sql.SQLTransientConnectionException;
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -47,6 +49,14 @@ public class ExceptionTranslatorTestController {
         throw new TestResponseStatusException();
     }
 
+    @GetMapping("/connection-pool-exhausted")
+    public void connectionPoolExhausted() {
+        throw new CannotCreateTransactionException(
+            "Could not open JPA EntityManager for transaction",
+            new SQLTransientConnectionException("Hikari - Connection is not available, request timed out after 5000ms")
+        );
+    }
+
     @GetMapping("/internal-server-error")
     public void internalServerError() {
         throw new RuntimeException();